@@ -0,0 +1,12 @@
+package co.edu.uco.parameterservices.client;
+
+import java.util.Set;
+
+/**
+ * Aviso de cambios en la réplica local: claves agregadas, modificadas o eliminadas
+ */
+@FunctionalInterface
+public interface CatalogChangeListener {
+
+    void onChange(String catalog, Set<String> changedKeys);
+}
@@ -0,0 +1,186 @@
+package co.edu.uco.parameterservices.client;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cliente embebible del servicio de catálogos. Mantiene una réplica local de parámetros,
+ * mensajes y templates: se carga desde los endpoints getAll y se refresca con polling
+ * condicional (ETag / If-None-Match). Las búsquedas son lecturas en memoria y, si el
+ * servicio cae, se sigue respondiendo con la última copia sincronizada.
+ *
+ * <pre>
+ * try (CatalogClient client = new CatalogClient(URI.create("http://catalogs:8082"), Duration.ofSeconds(30))) {
+ *     client.start();
+ *     int retries = client.parameterAsInt("numeroMaximoReintentosEnvioCorreo", 3);
+ * }
+ * </pre>
+ */
+public class CatalogClient implements AutoCloseable {
+
+    public static final String PARAMETERS = "parameters";
+    public static final String MESSAGES = "messages";
+    public static final String NOTIFICATIONS = "notifications";
+
+    private static final System.Logger logger = System.getLogger(CatalogClient.class.getName());
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+
+    private final HttpClient http;
+    private final ObjectMapper mapper;
+    private final Duration pollInterval;
+    private final Duration requestTimeout;
+    private final ReplicatedCatalog<Parameter> parameters;
+    private final ReplicatedCatalog<Message> messages;
+    private final ReplicatedCatalog<NotificationTemplate> templates;
+    private final List<CatalogChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService scheduler;
+
+    public CatalogClient(URI baseUrl, Duration pollInterval) {
+        this(baseUrl, pollInterval, DEFAULT_TIMEOUT,
+                HttpClient.newBuilder().connectTimeout(DEFAULT_TIMEOUT).build(), new ObjectMapper());
+    }
+
+    public CatalogClient(URI baseUrl, Duration pollInterval, Duration requestTimeout,
+            HttpClient http, ObjectMapper mapper) {
+        if (pollInterval.isNegative() || pollInterval.isZero()) {
+            throw new IllegalArgumentException("El intervalo de sincronización debe ser positivo");
+        }
+        this.http = http;
+        this.mapper = mapper;
+        this.pollInterval = pollInterval;
+        this.requestTimeout = requestTimeout;
+        this.parameters = new ReplicatedCatalog<>(PARAMETERS,
+                baseUrl.resolve("/api/v1/parameters"), Parameter.class, mapper);
+        this.messages = new ReplicatedCatalog<>(MESSAGES,
+                baseUrl.resolve("/api/v1/messages"), Message.class, mapper);
+        this.templates = new ReplicatedCatalog<>(NOTIFICATIONS,
+                baseUrl.resolve("/api/v1/notifications"), NotificationTemplate.class, mapper);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-client-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Carga inicial y arranque del polling. Si el servicio no responde, las réplicas
+     * quedan vacías y se vuelven a intentar en cada ciclo
+     * @return true si los tres catálogos quedaron cargados
+     */
+    public boolean start() {
+        boolean loaded = refreshNow();
+        long delay = pollInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::refreshNow, delay, delay, TimeUnit.MILLISECONDS);
+        return loaded;
+    }
+
+    /**
+     * Sincroniza los tres catálogos; un fallo deja intacta la copia anterior
+     * @return true si todos respondieron 200 o 304
+     */
+    public boolean refreshNow() {
+        boolean ok = refresh(parameters);
+        ok &= refresh(messages);
+        ok &= refresh(templates);
+        return ok;
+    }
+
+    public void subscribe(CatalogChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void unsubscribe(CatalogChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    public Parameter parameter(String key) {
+        return parameters.get(key);
+    }
+
+    public String parameterValue(String key, String defaultValue) {
+        Parameter parameter = parameters.get(key);
+        return parameter == null || parameter.value() == null ? defaultValue : parameter.value();
+    }
+
+    public int parameterAsInt(String key, int defaultValue) {
+        Parameter parameter = parameters.get(key);
+        if (parameter == null || parameter.value() == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(parameter.value().trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public boolean parameterAsBoolean(String key, boolean defaultValue) {
+        Parameter parameter = parameters.get(key);
+        return parameter == null || parameter.value() == null
+                ? defaultValue : Boolean.parseBoolean(parameter.value().trim());
+    }
+
+    public Message message(String code) {
+        return messages.get(code);
+    }
+
+    public NotificationTemplate template(String code) {
+        return templates.get(code);
+    }
+
+    public ReplicatedCatalog<Parameter> parameters() {
+        return parameters;
+    }
+
+    public ReplicatedCatalog<Message> messages() {
+        return messages;
+    }
+
+    public ReplicatedCatalog<NotificationTemplate> templates() {
+        return templates;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private boolean refresh(ReplicatedCatalog<?> catalog) {
+        Set<String> changed;
+        try {
+            changed = catalog.refresh(http, mapper, requestTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            logger.log(System.Logger.Level.WARNING,
+                    "No se pudo sincronizar el catálogo {0}, se conserva la copia local ({1} entradas): {2}",
+                    catalog.name(), catalog.size(), e.toString());
+            return false;
+        }
+        if (!changed.isEmpty()) {
+            notifyListeners(catalog.name(), changed);
+        }
+        return true;
+    }
+
+    private void notifyListeners(String catalog, Set<String> changed) {
+        for (CatalogChangeListener listener : listeners) {
+            try {
+                listener.onChange(catalog, changed);
+            } catch (RuntimeException e) {
+                logger.log(System.Logger.Level.WARNING,
+                        "Error en suscriptor de cambios del catálogo {0}: {1}", catalog, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package co.edu.uco.parameterservices.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Copia local de un mensaje del catálogo
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record Message(String code, String type, String text, String locale) {
+}
@@ -0,0 +1,10 @@
+package co.edu.uco.parameterservices.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Copia local de un template de notificación (EMAIL o SMS)
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record NotificationTemplate(String code, String type, String subject, String body, String format) {
+}
@@ -0,0 +1,10 @@
+package co.edu.uco.parameterservices.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Copia local de un parámetro; type es null cuando el parámetro no declara tipo
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record Parameter(String key, String value, String type) {
+}
@@ -0,0 +1,111 @@
+package co.edu.uco.parameterservices.client;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Réplica local de un catálogo completo. Las lecturas van contra una instantánea
+ * inmutable y el refresco usa If-None-Match, así que un catálogo sin cambios cuesta un 304
+ */
+public final class ReplicatedCatalog<T> {
+
+    private final String name;
+    private final URI uri;
+    private final JavaType mapType;
+
+    private volatile Map<String, T> entries = Map.of();
+    private volatile String etag;
+    private volatile Instant lastSync;
+
+    ReplicatedCatalog(String name, URI uri, Class<T> entryType, ObjectMapper mapper) {
+        this.name = name;
+        this.uri = uri;
+        this.mapType = mapper.getTypeFactory().constructMapType(Map.class, String.class, entryType);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public T get(String key) {
+        return entries.get(key);
+    }
+
+    public Map<String, T> getAll() {
+        return entries;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Momento de la última sincronización exitosa (200 o 304); null si nunca se cargó
+     */
+    public Instant lastSync() {
+        return lastSync;
+    }
+
+    String etag() {
+        return etag;
+    }
+
+    /**
+     * Trae el catálogo si cambió desde el último ETag
+     * @return claves que cambiaron; vacío si el servidor respondió 304
+     */
+    Set<String> refresh(HttpClient http, ObjectMapper mapper, Duration timeout)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .GET();
+        String current = etag;
+        if (current != null) {
+            request.header("If-None-Match", current);
+        }
+
+        HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() == 304) {
+            lastSync = Instant.now();
+            return Set.of();
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("Respuesta " + response.statusCode() + " al sincronizar " + name);
+        }
+
+        Map<String, T> loaded = mapper.readValue(response.body(), mapType);
+        Set<String> changed = diff(entries, loaded);
+        entries = Map.copyOf(loaded);
+        etag = response.headers().firstValue("ETag").orElse(null);
+        lastSync = Instant.now();
+        return changed;
+    }
+
+    private static <T> Set<String> diff(Map<String, T> before, Map<String, T> after) {
+        Set<String> changed = new HashSet<>();
+        after.forEach((key, value) -> {
+            if (!Objects.equals(before.get(key), value)) {
+                changed.add(key);
+            }
+        });
+        for (String key : before.keySet()) {
+            if (!after.containsKey(key)) {
+                changed.add(key);
+            }
+        }
+        return changed;
+    }
+}
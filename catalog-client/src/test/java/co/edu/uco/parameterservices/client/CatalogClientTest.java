@@ -0,0 +1,110 @@
+package co.edu.uco.parameterservices.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para CatalogClient")
+class CatalogClientTest {
+
+    private HttpServer server;
+    private volatile String parametersJson;
+    private final AtomicInteger notModified = new AtomicInteger();
+    private CatalogClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        parametersJson = "{\"reintentos\":{\"key\":\"reintentos\",\"value\":\"5\",\"type\":\"INT\"}}";
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v1/parameters", exchange -> respond(exchange, parametersJson));
+        server.createContext("/api/v1/messages", exchange -> respond(exchange,
+                "{\"M1\":{\"code\":\"M1\",\"type\":\"INFO\",\"text\":\"Hola\"}}"));
+        server.createContext("/api/v1/notifications", exchange -> respond(exchange, "{}"));
+        server.start();
+        URI base = URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+        client = new CatalogClient(base, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    @DisplayName("Debería cargar la réplica y responder 304 sin notificar cuando no hay cambios")
+    void shouldBootstrapAndSkipUnchangedCatalogs() {
+        // Arrange
+        List<Set<String>> changes = new ArrayList<>();
+        client.subscribe((catalog, keys) -> changes.add(keys));
+
+        // Act
+        boolean loaded = client.start();
+        boolean refreshed = client.refreshNow();
+
+        // Assert
+        assertTrue(loaded);
+        assertTrue(refreshed);
+        assertEquals(5, client.parameterAsInt("reintentos", 0));
+        assertEquals("Hola", client.message("M1").text());
+        assertEquals(3, notModified.get());
+        assertEquals(2, changes.size());
+    }
+
+    @Test
+    @DisplayName("Debería notificar las claves cambiadas y conservar la copia si el servicio cae")
+    void shouldNotifyChangesAndSurviveOutage() {
+        // Arrange
+        client.start();
+        List<Set<String>> changes = new ArrayList<>();
+        client.subscribe((catalog, keys) -> changes.add(keys));
+        parametersJson = "{\"reintentos\":{\"key\":\"reintentos\",\"value\":\"7\"},"
+                + "\"nuevo\":{\"key\":\"nuevo\",\"value\":\"x\"}}";
+
+        // Act
+        client.refreshNow();
+        server.stop(0);
+        server = null;
+        boolean refreshedWhileDown = client.refreshNow();
+
+        // Assert
+        assertEquals(List.of(Set.of("reintentos", "nuevo")), changes);
+        assertFalse(refreshedWhileDown);
+        assertEquals(7, client.parameterAsInt("reintentos", 0));
+        assertEquals("x", client.parameterValue("nuevo", null));
+    }
+
+    private void respond(HttpExchange exchange, String json) throws IOException {
+        String etag = "\"" + Integer.toHexString(json.hashCode()) + "\"";
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            notModified.incrementAndGet();
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("ETag", etag);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+}
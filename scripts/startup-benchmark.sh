@@ -0,0 +1,82 @@
+#!/usr/bin/env bash
+# Compara el arranque del jar actual contra el modo AOT y AOT + AppCDS.
+# Mide "Started ... in X seconds" (log de Spring) y el tiempo hasta la primera
+# respuesta 200 de GET /api/v1/parameters desde que se lanza el proceso.
+#
+# Uso: scripts/startup-benchmark.sh [iteraciones]    (por defecto 5)
+# Requiere Redis en localhost:6379 y un JDK 21 en JAVA_HOME o en el PATH.
+# Las variantes se construyen y se ejecutan con los mismos flags de JVM;
+# no se usa el javaagent de OpenTelemetry para medir solo la aplicación.
+
+set -euo pipefail
+
+ITERATIONS="${1:-5}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+WORK="${BENCH_DIR:-${TMPDIR:-/tmp}/catalog-startup-benchmark}"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+PORT="${BENCH_PORT:-18082}"
+JVM_OPTS="-Xmx512m -Xms256m -XX:TieredStopAtLevel=1"
+MVN="$ROOT/mvnw"
+[ -x "$MVN" ] || MVN=mvn
+
+now_ms() { date +%s%3N; }
+
+build() {
+    rm -rf "$WORK" && mkdir -p "$WORK/jar" "$WORK/aot"
+    echo "==> Construyendo jar estándar"
+    (cd "$ROOT" && "$MVN" -B -q clean package -DskipTests)
+    cp "$ROOT"/target/parameters-service-*.jar "$WORK/jar/app.jar"
+
+    echo "==> Construyendo jar AOT (-Paot)"
+    (cd "$ROOT" && "$MVN" -B -q clean package -DskipTests -Paot)
+    cp "$ROOT"/target/parameters-service-*.jar "$WORK/aot/app.jar"
+    (cd "$WORK/aot" && "$JAVA" -Djarmode=tools -jar app.jar extract --destination extracted >/dev/null)
+
+    echo "==> Ejecución de entrenamiento para el archivo AppCDS"
+    (cd "$WORK/aot" && "$JAVA" $JVM_OPTS -XX:ArchiveClassesAtExit=extracted/app.jsa \
+        -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+        -jar extracted/app.jar --server.port="$PORT" > training.log 2>&1)
+}
+
+# Lanza una variante y escribe "<started_ms> <first_request_ms>"
+run_once() {
+    local log="$WORK/run.log"
+    local start pid first started
+    start=$(now_ms)
+    "$JAVA" $JVM_OPTS "$@" --server.port="$PORT" > "$log" 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "http://localhost:$PORT/api/v1/parameters"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "La aplicación terminó antes de responder, ver $log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    first=$(( $(now_ms) - start ))
+    kill "$pid" && wait "$pid" 2>/dev/null || true
+    started=$(grep -o 'Started [A-Za-z]* in [0-9.]* seconds' "$log" | grep -o '[0-9.]* seconds' | cut -d' ' -f1)
+    awk -v s="$started" -v f="$first" 'BEGIN { printf "%d %d\n", s * 1000, f }'
+}
+
+median() { sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'; }
+
+measure() {
+    local name="$1"; shift
+    local results="$WORK/$name.txt"
+    : > "$results"
+    run_once "$@" > /dev/null    # calentamiento de caché de disco, no se cuenta
+    for _ in $(seq "$ITERATIONS"); do
+        run_once "$@" >> "$results"
+    done
+    printf "%-10s %14s %20s\n" "$name" \
+        "$(cut -d' ' -f1 "$results" | median)" "$(cut -d' ' -f2 "$results" | median)"
+}
+
+build
+echo
+echo "Mediana de $ITERATIONS arranques (ms)"
+printf "%-10s %14s %20s\n" "variante" "spring-start" "primera-respuesta"
+measure jar     -jar "$WORK/jar/app.jar"
+measure aot     -Dspring.aot.enabled=true -jar "$WORK/aot/extracted/app.jar"
+measure aot-cds -XX:SharedArchiveFile="$WORK/aot/extracted/app.jsa" -Dspring.aot.enabled=true \
+                -jar "$WORK/aot/extracted/app.jar"
@@ -0,0 +1,40 @@
+package co.edu.uco.parameterservices.catalog.bundle;
+
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import co.edu.uco.parameterservices.catalog.support.CatalogResponseCache;
+
+@RestController
+@RequestMapping("/api/v1/catalogs")
+public class CatalogBundleController {
+
+    private final CatalogBundleService service;
+    private final CatalogResponseCache responseCache;
+
+    public CatalogBundleController(CatalogBundleService service, CatalogResponseCache responseCache) {
+        this.service = service;
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * GET /api/v1/catalogs/bundle?catalogs=parameters,messages
+     * Catálogos completos (todos si no se indica) de una misma foto:
+     * {"parameters": {...}, "messages": {...}, "notifications": {...}}
+     * El ETag cambia con la versión de cualquiera de ellos; con If-None-Match responde 304
+     */
+    @GetMapping("/bundle")
+    public ResponseEntity<byte[]> getBundle(@RequestParam(required = false) String catalogs,
+            @RequestHeader HttpHeaders headers) {
+        List<String> selected = service.select(catalogs);
+        return responseCache.respond("bundle:" + String.join(",", selected), service.version(selected), headers,
+                () -> service.read(selected));
+    }
+}
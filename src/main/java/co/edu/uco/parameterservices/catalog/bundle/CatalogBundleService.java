@@ -0,0 +1,73 @@
+package co.edu.uco.parameterservices.catalog.bundle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import co.edu.uco.parameterservices.catalog.message.MessageCatalog;
+import co.edu.uco.parameterservices.catalog.notification.NotificationCatalog;
+import co.edu.uco.parameterservices.catalog.parameter.ParameterCatalog;
+import co.edu.uco.parameterservices.catalog.support.CatalogSnapshot;
+import co.edu.uco.parameterservices.catalog.support.CatalogVersion;
+
+/**
+ * Varios catálogos leídos en una sola foto, para el arranque de los consumidores
+ */
+@Service
+public class CatalogBundleService {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    // Orden canónico de los catálogos en el bundle
+    private final Map<String, CatalogSnapshot.Source<?>> sources = new LinkedHashMap<>();
+
+    public CatalogBundleService(RedisTemplate<String, Object> redisTemplate, ParameterCatalog parameters,
+            MessageCatalog messages, NotificationCatalog notifications) {
+        this.redisTemplate = redisTemplate;
+        for (CatalogSnapshot.Source<?> source : List.of(parameters.snapshotSource(), messages.snapshotSource(),
+                notifications.snapshotSource())) {
+            sources.put(source.catalog(), source);
+        }
+    }
+
+    /**
+     * Catálogos pedidos ("parameters,messages") en orden canónico; vacío = todos
+     * @throws IllegalArgumentException si se pide un catálogo desconocido
+     */
+    public List<String> select(String catalogs) {
+        if (catalogs == null || catalogs.isBlank()) {
+            return List.copyOf(sources.keySet());
+        }
+        List<String> requested = Arrays.stream(catalogs.split(","))
+                .map(name -> name.trim().toLowerCase(Locale.ROOT))
+                .filter(name -> !name.isEmpty())
+                .toList();
+        for (String name : requested) {
+            if (!sources.containsKey(name)) {
+                throw new IllegalArgumentException("Catálogo desconocido: " + name
+                        + " (disponibles: " + String.join(", ", sources.keySet()) + ")");
+            }
+        }
+        return sources.keySet().stream().filter(requested::contains).toList();
+    }
+
+    /**
+     * Versión combinada de los catálogos seleccionados, leída con un solo MGET
+     */
+    public String version(List<String> catalogs) {
+        List<CatalogVersion> versions = new ArrayList<>(catalogs.size());
+        catalogs.forEach(name -> versions.add(sources.get(name).version()));
+        return String.join(";", CatalogVersion.current(redisTemplate, versions));
+    }
+
+    public Map<String, Map<String, ?>> read(List<String> catalogs) {
+        List<CatalogSnapshot.Source<?>> selected = new ArrayList<>(catalogs.size());
+        catalogs.forEach(name -> selected.add(sources.get(name)));
+        return CatalogSnapshot.read(redisTemplate, selected);
+    }
+}
@@ -0,0 +1,128 @@
+package co.edu.uco.parameterservices.catalog.message;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import co.edu.uco.parameterservices.catalog.message.domain.Message;
+import co.edu.uco.parameterservices.catalog.support.CompactStore;
+
+/**
+ * Mensajes localizados en memoria y bundles resueltos por locale
+ * La cadena de resolución (es-co -> es -> por defecto) se calcula una sola vez por locale
+ * y el bundle resuelto se cachea mientras no cambie la versión compartida del catálogo
+ * (escrituras de cualquier réplica) y por a lo sumo MAX_AGE, para ver también los mensajes
+ * que vencieron en Redis. Como el locale viene del cliente, ambas cachés son LRU acotadas
+ */
+class MessageBundles {
+
+    // Locales distintos recordados; los pedidos fuera de ellos solo cuestan recalcular
+    static final int MAX_CACHED_LOCALES = 256;
+    // Vigencia de un bundle resuelto aunque la versión no cambie (vencimientos en Redis)
+    static final long MAX_AGE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    // Bundle junto a la versión del catálogo con la que se construyó
+    private record Resolved(String version, long builtAt, Map<String, Message> bundle) {
+    }
+
+    private final Map<String, Map<String, Message>> localized = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> chains = lru(MAX_CACHED_LOCALES);
+    private final Map<String, Resolved> resolved = lru(MAX_CACHED_LOCALES);
+    private final Supplier<String> version;
+
+    /**
+     * @param version versión vigente del catálogo (CatalogVersion.current)
+     */
+    MessageBundles(Supplier<String> version) {
+        this.version = version;
+    }
+
+    private static <V> Map<String, V> lru(int capacity) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    /**
+     * Normaliza un tag de idioma: "es_CO" / "es-co" -> "es-co"
+     */
+    static String normalize(String tag) {
+        return Locale.forLanguageTag(tag.trim().replace('_', '-')).toLanguageTag().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Cadena de resolución del más específico al más general, sin el idioma por defecto
+     */
+    List<String> chain(String tag) {
+        return chains.computeIfAbsent(tag, t -> {
+            List<String> chain = new ArrayList<>();
+            String current = t;
+            while (!current.isEmpty() && !"und".equals(current)) {
+                chain.add(current);
+                int dash = current.lastIndexOf('-');
+                current = dash < 0 ? "" : current.substring(0, dash);
+            }
+            return List.copyOf(chain);
+        });
+    }
+
+    /**
+     * Bundle resuelto para el locale: cada código con su texto más específico disponible
+     * @param loader carga los mensajes de un tag concreto (Redis o memoria local)
+     */
+    Map<String, Message> bundle(String tag, Function<String, Map<String, Message>> loader) {
+        String current = version.get();
+        long now = System.nanoTime();
+        Resolved cached = resolved.get(tag);
+        if (cached != null && cached.version().equals(current) && now - cached.builtAt() < MAX_AGE_NANOS) {
+            return cached.bundle();
+        }
+        List<String> chain = chain(tag);
+        Map<String, Message> merged = new HashMap<>();
+        for (int i = chain.size() - 1; i >= 0; i--) {
+            merged.putAll(loader.apply(chain.get(i)));
+        }
+        Map<String, Message> bundle = Collections.unmodifiableMap(merged);
+        // Un bundle construido durante un cambio queda con la versión vieja y ya no se sirve
+        resolved.put(tag, new Resolved(current, now, bundle));
+        return bundle;
+    }
+
+    Map<String, Message> local(String tag) {
+        return localized.getOrDefault(tag, Map.of());
+    }
+
+    void put(String tag, Message message) {
+        localized.computeIfAbsent(tag, t -> new CompactStore<>(MessageCodec.INSTANCE))
+                .put(message.getCode(), message);
+        invalidate();
+    }
+
+    void remove(String tag, String code) {
+        Map<String, Message> messages = localized.get(tag);
+        if (messages != null) {
+            messages.remove(code);
+        }
+        invalidate();
+    }
+
+    void clear() {
+        localized.clear();
+        invalidate();
+    }
+
+    private void invalidate() {
+        resolved.clear();
+    }
+}
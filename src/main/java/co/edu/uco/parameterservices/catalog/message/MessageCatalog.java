@@ -1,62 +1,170 @@
 package co.edu.uco.parameterservices.catalog.message;
 
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
+import io.micrometer.observation.Observation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
 
 import co.edu.uco.parameterservices.catalog.message.domain.Message;
+import co.edu.uco.parameterservices.catalog.support.AccessTracker;
+import co.edu.uco.parameterservices.catalog.support.CatalogChangedEvent;
+import co.edu.uco.parameterservices.catalog.support.CatalogImportTarget;
+import co.edu.uco.parameterservices.catalog.support.CatalogObservations;
+import co.edu.uco.parameterservices.catalog.support.CatalogPage;
+import co.edu.uco.parameterservices.catalog.support.CatalogPager;
+import co.edu.uco.parameterservices.catalog.support.CatalogSearchIndex;
+import co.edu.uco.parameterservices.catalog.support.CatalogSnapshot;
+import co.edu.uco.parameterservices.catalog.support.CatalogStreamWriter;
+import co.edu.uco.parameterservices.catalog.support.CatalogTtlPolicy;
+import co.edu.uco.parameterservices.catalog.support.CompactStore;
+import co.edu.uco.parameterservices.catalog.support.CatalogVersion;
+import co.edu.uco.parameterservices.catalog.support.HedgedReads;
+import co.edu.uco.parameterservices.catalog.support.HotKeyTelemetry;
+import co.edu.uco.parameterservices.catalog.support.KnownKeys;
+import co.edu.uco.parameterservices.catalog.support.KnownKeysFilter;
+import co.edu.uco.parameterservices.catalog.support.LocalWrites;
+import co.edu.uco.parameterservices.catalog.support.RedisBulkWriter;
+import co.edu.uco.parameterservices.catalog.support.RefreshAheadCatalog;
+import co.edu.uco.parameterservices.catalog.support.SearchPage;
+import co.edu.uco.parameterservices.catalog.support.WriteBehindJournal;
+import co.edu.uco.parameterservices.config.CatalogProperties;
 
 @Component
-public class MessageCatalog {
+public class MessageCatalog implements RefreshAheadCatalog, CatalogImportTarget<Message>,
+        ApplicationEventPublisherAware {
 
     private static final Logger logger = LoggerFactory.getLogger(MessageCatalog.class);
     private static final String PREFIX = "message:";
+    // Mensajes localizados: message-locale:{locale}:{code}, fuera de PREFIX
+    private static final String LOCALE_PREFIX = "message-locale:";
     private final RedisTemplate<String, Object> redisTemplate;
-    private final Map<String, Message> fallbackMemory = new HashMap<>();
+    private final CatalogTtlPolicy ttlPolicy;
+    private final AccessTracker accessTracker;
+    private final HotKeyTelemetry telemetry;
+    private final CatalogVersion version;
+    private final WriteBehindJournal journal;
+    private final CatalogObservations observations;
+    private final HedgedReads hedgedReads;
+    private final KnownKeysFilter knownKeys;
+    private ApplicationEventPublisher events = event -> { };
+    private final Map<String, Message> fallbackMemory = new CompactStore<>(MessageCodec.INSTANCE);
+    private final LocalWrites localWrites = new LocalWrites();
+    private final CatalogPager<Message> pager;
+    private final CatalogSearchIndex searchIndex = new CatalogSearchIndex();
+    private final MessageBundles bundles;
 
-    public MessageCatalog(RedisTemplate<String, Object> redisTemplate) {
+    public MessageCatalog(RedisTemplate<String, Object> redisTemplate, CatalogProperties properties,
+            HotKeyTelemetry telemetry, WriteBehindJournal journal, CatalogObservations observations,
+            HedgedReads hedgedReads, KnownKeys knownKeys) {
         this.redisTemplate = redisTemplate;
+        this.journal = journal;
+        this.observations = observations;
+        this.hedgedReads = hedgedReads;
+        this.ttlPolicy = new CatalogTtlPolicy(
+                properties.getMessages().getTtl(),
+                properties.getTtlJitter(),
+                properties.getRefreshAhead().getWindow());
+        this.accessTracker = new AccessTracker(properties.getRefreshAhead().getMaxTrackedKeys());
+        this.telemetry = telemetry;
+        this.pager = new CatalogPager<>(redisTemplate, PREFIX, Message.class, () -> fallbackMemory);
+        this.version = new CatalogVersion(redisTemplate, HotKeyTelemetry.MESSAGES);
+        this.bundles = new MessageBundles(version::current);
+        this.knownKeys = knownKeys.register(HotKeyTelemetry.MESSAGES, pager,
+                fallbackMemory::keySet, version::current);
 
         // Carga inicial de fallback local
-        fallbackMemory.put("MSG_OK", new Message("MSG_OK", "INFO", "Operación exitosa"));
-        fallbackMemory.put("MSG_ERR", new Message("MSG_ERR", "ERROR", "Ocurrió un error inesperado"));
-        fallbackMemory.put("USR_001", new Message("USR_001", "SUCCESS", "Usuario registrado correctamente"));
-        fallbackMemory.put("USR_002", new Message("USR_002", "ERROR", "El usuario ya existe en el sistema"));
+        putLocal(new Message("MSG_OK", "INFO", "Operación exitosa"));
+        putLocal(new Message("MSG_ERR", "ERROR", "Ocurrió un error inesperado"));
+        putLocal(new Message("USR_001", "SUCCESS", "Usuario registrado correctamente"));
+        putLocal(new Message("USR_002", "ERROR", "El usuario ya existe en el sistema"));
     }
 
     public Message getMessage(String code) {
+        if (!knownKeys.mightContain(code)) {
+            return null;
+        }
+        accessTracker.record(code);
+        telemetry.record(HotKeyTelemetry.MESSAGES, code);
+        Observation observation = observations.startLookup(catalogName(), code);
+        boolean hasLocal = fallbackMemory.containsKey(code);
+        long mark = localWrites.mark();
         try {
-            Object cached = redisTemplate.opsForValue().get(PREFIX + code);
-            if (cached instanceof Message) {
-                return (Message) cached;
+            Message message = hedgedReads.read(catalogName(),
+                    () -> redisTemplate.opsForValue().get(PREFIX + code) instanceof Message m ? m : null,
+                    hasLocal, late -> putLocalIfUnchanged(late, mark));
+            if (message != null) {
+                if (!hasLocal) {
+                    putLocalIfUnchanged(message, mark);
+                }
+                observations.stopLookup(observation, CatalogObservations.TIER_REDIS,
+                        CatalogObservations.sizeOf(message.getText()));
+                return message;
             }
+        } catch (QueryTimeoutException e) {
+            logger.debug("Lectura del código '{}' respondida desde fallback local: {}", code, e.getMessage());
         } catch (Exception e) {
             logger.warn("Redis no disponible para código '{}', usando fallback local: {}", code, e.getMessage());
         }
-        return fallbackMemory.get(code);
+        Message local = fallbackMemory.get(code);
+        observations.stopLookup(observation,
+                local == null ? CatalogObservations.TIER_NONE : CatalogObservations.TIER_MEMORY,
+                local == null ? -1 : CatalogObservations.sizeOf(local.getText()));
+        return local;
+    }
+
+    /**
+     * Obtiene un mensaje en el idioma pedido resolviendo la cadena es-CO -> es -> por defecto
+     * La búsqueda es O(1) sobre el bundle ya resuelto del locale
+     */
+    public Message getMessage(String code, String locale) {
+        if (locale == null || locale.isBlank()) {
+            return getMessage(code);
+        }
+        Observation observation = observations.startLookup(catalogName(), code);
+        Message localized = resolvedBundle(locale).get(code);
+        if (localized != null) {
+            accessTracker.record(code);
+            telemetry.record(HotKeyTelemetry.MESSAGES, code);
+            observation.highCardinalityKeyValue("locale", locale);
+            observations.stopLookup(observation, CatalogObservations.TIER_BUNDLE,
+                    CatalogObservations.sizeOf(localized.getText()));
+            return localized;
+        }
+        observations.stopLookup(observation, CatalogObservations.TIER_BUNDLE, -1);
+        return getMessage(code);
+    }
+
+    /**
+     * Todos los mensajes con los textos del locale pedido sobre los del idioma por defecto
+     */
+    public Map<String, Message> getAllMessages(String locale) {
+        Map<String, Message> all = getAllMessages();
+        if (locale == null || locale.isBlank()) {
+            return all;
+        }
+        Map<String, Message> merged = new HashMap<>(all);
+        merged.putAll(resolvedBundle(locale));
+        return merged;
     }
 
     public Map<String, Message> getAllMessages() {
         try {
-            Set<String> keys = redisTemplate.keys(PREFIX + "*");
-            if (keys != null && !keys.isEmpty()) {
-                Map<String, Message> map = new HashMap<>();
-                for (String key : keys) {
-                    Object obj = redisTemplate.opsForValue().get(key);
-                    if (obj instanceof Message) {
-                        String messageCode = key.substring(PREFIX.length());
-                        map.put(messageCode, (Message) obj);
-                    }
-                }
-                if (!map.isEmpty()) {
-                    return map;
-                }
+            Map<String, Message> map = new HashMap<>();
+            pager.forEachBatch(CatalogStreamWriter.DEFAULT_BATCH_SIZE, map::putAll);
+            if (!map.isEmpty()) {
+                return map;
             }
         } catch (Exception e) {
             logger.warn("Redis no disponible, devolviendo fallback local: {}", e.getMessage());
@@ -64,14 +172,91 @@ public class MessageCatalog {
         return fallbackMemory;
     }
 
+    /**
+     * Página del catálogo recorrida con cursor SCAN
+     */
+    public CatalogPage<Message> getMessagesPage(String cursor, int size) {
+        return pager.page(cursor, size);
+    }
+
+    /**
+     * Entrega el catálogo por lotes a medida que se lee de Redis
+     */
+    public void forEachBatch(int batchSize, Consumer<Map<String, Message>> consumer) {
+        pager.forEachBatch(batchSize, consumer);
+    }
+
     public void synchronizeMessage(Message message) {
+        if (message.getLocale() != null && !message.getLocale().isBlank()) {
+            synchronizeLocalizedMessage(message);
+            return;
+        }
+        Duration ttl = ttlPolicy.nextTtl();
         try {
-            redisTemplate.opsForValue().set(PREFIX + message.getCode(), message, 10, TimeUnit.MINUTES);
+            redisTemplate.opsForValue().set(PREFIX + message.getCode(), message, ttl);
+            journal.written(PREFIX + message.getCode());
             logger.debug("Mensaje sincronizado en Redis: {}", message.getCode());
         } catch (Exception e) {
             logger.warn("No se pudo sincronizar mensaje '{}' en Redis: {}", message.getCode(), e.getMessage());
+            journal.set(catalogName(), PREFIX + message.getCode(), message, ttl);
         }
-        fallbackMemory.put(message.getCode(), message);
+        putLocal(message);
+        changed(message.getCode());
+    }
+
+    public void removeMessage(String code) {
+        try {
+            redisTemplate.delete(PREFIX + code);
+            journal.written(PREFIX + code);
+            logger.debug("Mensaje eliminado de Redis: {}", code);
+        } catch (Exception e) {
+            logger.warn("Error eliminando mensaje '{}' de Redis: {}", code, e.getMessage());
+            journal.delete(catalogName(), PREFIX + code);
+        }
+        localWrites.write(code, () -> {
+            fallbackMemory.remove(code);
+            searchIndex.remove(code);
+        });
+        changed(code);
+    }
+
+    public void removeMessage(String code, String locale) {
+        if (locale == null || locale.isBlank()) {
+            removeMessage(code);
+            return;
+        }
+        String tag = MessageBundles.normalize(locale);
+        String key = LOCALE_PREFIX + tag + ":" + code;
+        try {
+            redisTemplate.delete(key);
+            journal.written(key);
+        } catch (Exception e) {
+            logger.warn("Error eliminando mensaje '{}' ({}) de Redis: {}", code, tag, e.getMessage());
+            journal.delete(catalogName(), key);
+        }
+        bundles.remove(tag, code);
+        changed(code);
+    }
+
+    /**
+     * Versión vigente del catálogo; cambia con cada escritura
+     */
+    public String version() {
+        return version.current();
+    }
+
+    /**
+     * Fuente para leer este catálogo junto con otros en una sola foto
+     */
+    public CatalogSnapshot.Source<Message> snapshotSource() {
+        return new CatalogSnapshot.Source<>(catalogName(), pager, version, () -> fallbackMemory);
+    }
+
+    /**
+     * Busca mensajes por prefijo de código y/o frase contenida en el texto
+     */
+    public SearchPage<Message> search(String prefix, String query, int page, int size) {
+        return SearchPage.of(searchIndex.search(prefix, query), page, size, fallbackMemory::get);
     }
 
     public void clearAll() {
@@ -80,9 +265,175 @@ public class MessageCatalog {
             if (keys != null && !keys.isEmpty()) {
                 redisTemplate.delete(keys);
             }
+            var localizedKeys = redisTemplate.keys(LOCALE_PREFIX + "*");
+            if (localizedKeys != null && !localizedKeys.isEmpty()) {
+                redisTemplate.delete(localizedKeys);
+            }
         } catch (Exception e) {
             logger.warn("Error limpiando Redis, limpiando solo fallback local: {}", e.getMessage());
         }
-        fallbackMemory.clear();
+        localWrites.clear(() -> {
+            fallbackMemory.clear();
+            searchIndex.clear();
+        });
+        bundles.clear();
+        changed(null);
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher events) {
+        this.events = events;
+    }
+
+    /**
+     * Marca un cambio: nueva versión y aviso a quien derive datos del catálogo (ej: caché de nginx)
+     * @param key clave cambiada; null si cambió todo el catálogo
+     */
+    private void changed(String key) {
+        version.bump();
+        events.publishEvent(new CatalogChangedEvent(catalogName(), key));
+    }
+
+    @Override
+    public String catalogName() {
+        return HotKeyTelemetry.MESSAGES;
+    }
+
+    @Override
+    public Class<Message> entryType() {
+        return Message.class;
+    }
+
+    @Override
+    public String keyOf(Message entry) {
+        return entry.getCode();
+    }
+
+    @Override
+    public void validate(Message entry) {
+        if (entry.getCode() == null || entry.getCode().isBlank()) {
+            throw new IllegalArgumentException("El código del mensaje es requerido");
+        }
+        if (entry.getText() == null || entry.getText().isBlank()) {
+            throw new IllegalArgumentException("El texto del mensaje es requerido");
+        }
+    }
+
+    @Override
+    public void writeBatch(List<Message> batch) {
+        RedisBulkWriter.writeAtomically(redisTemplate, operations -> {
+            for (Message message : batch) {
+                operations.opsForValue().set(redisKey(message), message, ttlPolicy.nextTtl());
+                journal.stamp(operations, redisKey(message));
+            }
+        });
+    }
+
+    @Override
+    public void journalBatch(List<Message> batch) {
+        for (Message message : batch) {
+            journal.set(catalogName(), redisKey(message), message, ttlPolicy.nextTtl());
+        }
+    }
+
+    @Override
+    public void applyLocal(List<Message> entries) {
+        for (Message message : entries) {
+            if (isLocalized(message)) {
+                bundles.put(MessageBundles.normalize(message.getLocale()), message);
+            } else {
+                putLocal(message);
+            }
+        }
+        changed(null);
+    }
+
+    @Override
+    public int refreshHotEntries(int minHits) {
+        int refreshed = 0;
+        for (String code : accessTracker.drainHotKeys(minHits)) {
+            try {
+                Long remaining = redisTemplate.getExpire(PREFIX + code, TimeUnit.MILLISECONDS);
+                if (remaining == null || !ttlPolicy.isDueForRefresh(remaining)) {
+                    continue;
+                }
+                Object cached = redisTemplate.opsForValue().get(PREFIX + code);
+                if (cached instanceof Message) {
+                    redisTemplate.expire(PREFIX + code, ttlPolicy.nextTtl());
+                    putLocal((Message) cached);
+                    refreshed++;
+                }
+            } catch (Exception e) {
+                logger.warn("Redis no disponible durante refresh-ahead de mensajes: {}", e.getMessage());
+                break;
+            }
+        }
+        return refreshed;
+    }
+
+    private static boolean isLocalized(Message message) {
+        return message.getLocale() != null && !message.getLocale().isBlank();
+    }
+
+    private static String redisKey(Message message) {
+        return isLocalized(message)
+                ? LOCALE_PREFIX + MessageBundles.normalize(message.getLocale()) + ":" + message.getCode()
+                : PREFIX + message.getCode();
+    }
+
+    private void synchronizeLocalizedMessage(Message message) {
+        String tag = MessageBundles.normalize(message.getLocale());
+        String key = LOCALE_PREFIX + tag + ":" + message.getCode();
+        Duration ttl = ttlPolicy.nextTtl();
+        try {
+            redisTemplate.opsForValue().set(key, message, ttl);
+            journal.written(key);
+            logger.debug("Mensaje sincronizado en Redis: {} ({})", message.getCode(), tag);
+        } catch (Exception e) {
+            logger.warn("No se pudo sincronizar mensaje '{}' ({}) en Redis: {}", message.getCode(), tag,
+                    e.getMessage());
+            journal.set(catalogName(), key, message, ttl);
+        }
+        bundles.put(tag, message);
+        changed(message.getCode());
+    }
+
+    private Map<String, Message> resolvedBundle(String locale) {
+        return bundles.bundle(MessageBundles.normalize(locale), this::loadLocale);
+    }
+
+    /**
+     * Mensajes de un único locale, leídos de Redis o de la memoria local
+     */
+    private Map<String, Message> loadLocale(String tag) {
+        Map<String, Message> messages = new HashMap<>();
+        try {
+            new CatalogPager<>(redisTemplate, LOCALE_PREFIX + tag + ":", Message.class, () -> bundles.local(tag))
+                    .forEachBatch(CatalogStreamWriter.DEFAULT_BATCH_SIZE, messages::putAll);
+        } catch (Exception e) {
+            logger.warn("Redis no disponible para locale '{}', usando memoria local: {}", tag, e.getMessage());
+            messages.putAll(bundles.local(tag));
+        }
+        return messages;
+    }
+
+    private void putLocal(Message message) {
+        localWrites.write(message.getCode(), () -> store(message));
+    }
+
+    /**
+     * Guarda un mensaje leído de Redis solo si el código no cambió localmente desde que empezó la lectura
+     */
+    private void putLocalIfUnchanged(Message message, long mark) {
+        if (!localWrites.writeIfUnchanged(message.getCode(), mark, () -> store(message))) {
+            logger.debug("Lectura del código '{}' descartada: la memoria local ya tiene un valor más nuevo",
+                    message.getCode());
+        }
+    }
+
+    private void store(Message message) {
+        fallbackMemory.put(message.getCode(), message);
+        knownKeys.add(message.getCode());
+        searchIndex.index(message.getCode(), message.getText());
     }
 }
@@ -0,0 +1,29 @@
+package co.edu.uco.parameterservices.catalog.message;
+
+import co.edu.uco.parameterservices.catalog.message.domain.Message;
+import co.edu.uco.parameterservices.catalog.support.CompactStore;
+
+/**
+ * Registro compacto de un mensaje: tipo y locale por diccionario, texto en UTF-8
+ */
+public final class MessageCodec implements CompactStore.Codec<Message> {
+
+    public static final MessageCodec INSTANCE = new MessageCodec();
+
+    private MessageCodec() {
+    }
+
+    @Override
+    public void write(Message message, CompactStore.Writer out) {
+        out.writeSymbol(message.getType());
+        out.writeString(message.getText());
+        out.writeSymbol(message.getLocale());
+    }
+
+    @Override
+    public Message read(String code, CompactStore.Reader in) {
+        String type = in.readSymbol();
+        String text = in.readString();
+        return new Message(code, type, text, in.readSymbol());
+    }
+}
@@ -1,32 +1,132 @@
 package co.edu.uco.parameterservices.catalog.message.controller;
 
+import java.io.InputStream;
+import java.util.Locale;
 import java.util.Map;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import co.edu.uco.parameterservices.catalog.message.domain.Message;
 import co.edu.uco.parameterservices.catalog.message.service.MessageService;
+import co.edu.uco.parameterservices.catalog.support.CatalogPage;
+import co.edu.uco.parameterservices.catalog.support.CatalogResponseCache;
+import co.edu.uco.parameterservices.catalog.support.CatalogStreamWriter;
+import co.edu.uco.parameterservices.catalog.support.ImportResult;
+import co.edu.uco.parameterservices.catalog.support.SearchPage;
 
 @RestController
 @RequestMapping("/api/v1/messages")
 public class MessageController {
 
     private final MessageService service;
+    private final ObjectMapper objectMapper;
+    private final CatalogResponseCache responseCache;
 
-    public MessageController(MessageService service) {
+    public MessageController(MessageService service, ObjectMapper objectMapper,
+            CatalogResponseCache responseCache) {
         this.service = service;
+        this.objectMapper = objectMapper;
+        this.responseCache = responseCache;
     }
 
+    /**
+     * GET /api/v1/messages
+     * Con Accept-Language (ej: es-CO) devuelve los textos localizados con respaldo al idioma por defecto
+     */
     @GetMapping
-    public ResponseEntity<Map<String, Message>> getAllMessages() {
-        return new ResponseEntity<>(service.findAll(), HttpStatus.OK);
+    public ResponseEntity<byte[]> getAllMessages(@RequestHeader HttpHeaders headers) {
+        String locale = preferredLocale(headers.getFirst(HttpHeaders.ACCEPT_LANGUAGE));
+        String variant = locale == null ? "messages" : "messages:" + locale.toLowerCase(Locale.ROOT);
+        return responseCache.respond(variant, service.catalogVersion(), headers,
+                () -> service.findAll(locale), HttpHeaders.ACCEPT_LANGUAGE);
+    }
+
+    /**
+     * POST /api/v1/messages/import
+     * Carga masiva en JSON (arreglo o mapa por código), NDJSON o CSV con cabecera;
+     * responde con los conteos, errores de validación y la duración
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson", "text/csv"})
+    public ResponseEntity<ImportResult> importEntries(InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) {
+        return ResponseEntity.ok(service.importEntries(body, contentType));
+    }
+
+    /**
+     * GET /api/v1/messages/page?cursor=0&size=100&fields=...
+     * Página del catálogo con cursor; "cursor" de la respuesta pide la siguiente
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CatalogPage<Object>> getPage(
+            @RequestParam(defaultValue = CatalogPage.START) String cursor,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(required = false) String fields) {
+        CatalogPage<Message> page = service.findPage(cursor, size);
+        Map<String, Object> items = CatalogStreamWriter.project(
+                objectMapper, page.items(), CatalogStreamWriter.parseFields(fields));
+        return ResponseEntity.ok(new CatalogPage<>(items, page.cursor(), page.complete()));
+    }
+
+    /**
+     * GET /api/v1/messages/stream?format=ndjson|json&fields=...
+     * Catálogo completo escrito en la respuesta a medida que se lee de Redis
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> stream(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String fields) {
+        boolean ndjson = !"json".equalsIgnoreCase(format);
+        return ResponseEntity.ok()
+                .contentType(ndjson ? CatalogStreamWriter.NDJSON : MediaType.APPLICATION_JSON)
+                .body(CatalogStreamWriter.stream(service::forEachBatch, objectMapper, ndjson,
+                        CatalogStreamWriter.parseFields(fields)));
+    }
+
+    /**
+     * GET /api/v1/messages/search?prefix=USR_&q=usuario&page=0&size=20
+     * Busca por prefijo de código y/o frase contenida en el texto
+     */
+    @GetMapping("/search")
+    public ResponseEntity<SearchPage<Message>> search(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(name = "q", required = false) String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return new ResponseEntity<>(service.search(prefix, query, page, size), HttpStatus.OK);
     }
 
     @GetMapping("/{code}")
     public ResponseEntity<Message> findByCode(
-            @jakarta.validation.constraints.NotBlank @PathVariable String code) {
-        Message message = service.findByCode(code);
-        return new ResponseEntity<>(message, message == null ? HttpStatus.NOT_FOUND : HttpStatus.OK);
+            @jakarta.validation.constraints.NotBlank @PathVariable String code,
+            @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String acceptLanguage) {
+        Message message = service.findByCode(code, preferredLocale(acceptLanguage));
+        return ResponseEntity.status(message == null ? HttpStatus.NOT_FOUND : HttpStatus.OK)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_LANGUAGE)
+                .body(message);
+    }
+
+    /**
+     * Rango de idioma con mayor peso del Accept-Language ("es-CO,es;q=0.9" -> "es-co")
+     */
+    private static String preferredLocale(String acceptLanguage) {
+        if (acceptLanguage == null || acceptLanguage.isBlank()) {
+            return null;
+        }
+        try {
+            for (Locale.LanguageRange range : Locale.LanguageRange.parse(acceptLanguage)) {
+                if (!"*".equals(range.getRange())) {
+                    return range.getRange();
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // Accept-Language mal formado: se usa el idioma por defecto
+        }
+        return null;
     }
 }
@@ -1,6 +1,9 @@
 package co.edu.uco.parameterservices.catalog.message.domain;
 
 import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
@@ -14,6 +17,9 @@ public class Message implements Serializable {
     private String type; // e.g., ERROR, SUCCESS, INFO
     private String text;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String locale; // e.g., es-CO, es, en; null = idioma por defecto
+
     public Message() {
         // Constructor vacío requerido por JPA y para serialización
     }
@@ -24,6 +30,11 @@ public class Message implements Serializable {
         this.text = text;
     }
 
+    public Message(String code, String type, String text, String locale) {
+        this(code, type, text);
+        this.locale = locale;
+    }
+
     public String getCode() {
         return code;
     }
@@ -47,4 +58,12 @@ public class Message implements Serializable {
     public void setText(String text) {
         this.text = text;
     }
+
+    public String getLocale() {
+        return locale;
+    }
+
+    public void setLocale(String locale) {
+        this.locale = locale;
+    }
 }
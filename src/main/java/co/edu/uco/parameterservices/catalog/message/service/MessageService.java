@@ -1,18 +1,31 @@
 package co.edu.uco.parameterservices.catalog.message.service;
 
+import java.io.InputStream;
 import java.util.Map;
+import java.util.function.Consumer;
+
 import org.springframework.stereotype.Service;
 
 import co.edu.uco.parameterservices.catalog.message.MessageCatalog;
 import co.edu.uco.parameterservices.catalog.message.domain.Message;
+import co.edu.uco.parameterservices.catalog.support.CatalogImporter;
+import co.edu.uco.parameterservices.catalog.support.CatalogPage;
+import co.edu.uco.parameterservices.catalog.support.ImportResult;
+import co.edu.uco.parameterservices.catalog.support.SearchPage;
 
 @Service
 public class MessageService {
 
     private final MessageCatalog catalog;
+    private final CatalogImporter importer;
 
-    public MessageService(MessageCatalog catalog) {
+    public MessageService(MessageCatalog catalog, CatalogImporter importer) {
         this.catalog = catalog;
+        this.importer = importer;
+    }
+
+    public ImportResult importEntries(InputStream input, String contentType) {
+        return importer.importEntries(input, contentType, catalog);
     }
 
     public Message findByCode(String code) {
@@ -22,4 +35,28 @@ public class MessageService {
     public Map<String, Message> findAll() {
         return catalog.getAllMessages();
     }
+
+    public Message findByCode(String code, String locale) {
+        return catalog.getMessage(code, locale);
+    }
+
+    public Map<String, Message> findAll(String locale) {
+        return catalog.getAllMessages(locale);
+    }
+
+    public String catalogVersion() {
+        return catalog.version();
+    }
+
+    public CatalogPage<Message> findPage(String cursor, int size) {
+        return catalog.getMessagesPage(cursor, size);
+    }
+
+    public void forEachBatch(int batchSize, Consumer<Map<String, Message>> consumer) {
+        catalog.forEachBatch(batchSize, consumer);
+    }
+
+    public SearchPage<Message> search(String prefix, String query, int page, int size) {
+        return catalog.search(prefix, query, page, size);
+    }
 }
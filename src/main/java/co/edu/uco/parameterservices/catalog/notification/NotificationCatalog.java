@@ -1,26 +1,91 @@
 package co.edu.uco.parameterservices.catalog.notification;
 
 import co.edu.uco.parameterservices.catalog.notification.domain.NotificationTemplate;
+import co.edu.uco.parameterservices.catalog.support.AccessTracker;
+import co.edu.uco.parameterservices.catalog.support.CatalogChangedEvent;
+import co.edu.uco.parameterservices.catalog.support.CatalogImportTarget;
+import co.edu.uco.parameterservices.catalog.support.CatalogObservations;
+import co.edu.uco.parameterservices.catalog.support.CatalogPage;
+import co.edu.uco.parameterservices.catalog.support.CatalogPager;
+import co.edu.uco.parameterservices.catalog.support.CatalogSnapshot;
+import co.edu.uco.parameterservices.catalog.support.CatalogStreamWriter;
+import co.edu.uco.parameterservices.catalog.support.CatalogTtlPolicy;
+import co.edu.uco.parameterservices.catalog.support.CompactStore;
+import co.edu.uco.parameterservices.catalog.support.CatalogVersion;
+import co.edu.uco.parameterservices.catalog.support.HedgedReads;
+import co.edu.uco.parameterservices.catalog.support.HotKeyTelemetry;
+import co.edu.uco.parameterservices.catalog.support.KnownKeys;
+import co.edu.uco.parameterservices.catalog.support.KnownKeysFilter;
+import co.edu.uco.parameterservices.catalog.support.LocalWrites;
+import co.edu.uco.parameterservices.catalog.support.RedisBulkWriter;
+import co.edu.uco.parameterservices.catalog.support.RefreshAheadCatalog;
+import co.edu.uco.parameterservices.catalog.support.SecondaryIndex;
+import co.edu.uco.parameterservices.catalog.support.WriteBehindJournal;
+import co.edu.uco.parameterservices.config.CatalogProperties;
+import io.micrometer.observation.Observation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Component
-public class NotificationCatalog {
+public class NotificationCatalog implements RefreshAheadCatalog, CatalogImportTarget<NotificationTemplate>,
+        ApplicationEventPublisherAware {
 
     private static final Logger logger = LoggerFactory.getLogger(NotificationCatalog.class);
     private static final String PREFIX = "notification:";
+    // Fuera de PREFIX para que los SET del índice no aparezcan en el KEYS de templates
+    private static final String INDEX_PREFIX = "notification-index:";
+    private static final String TYPE_INDEX = INDEX_PREFIX + "type:";
+    private static final String FORMAT_INDEX = INDEX_PREFIX + "format:";
     private final RedisTemplate<String, Object> redisTemplate;
-    private final Map<String, NotificationTemplate> fallbackMemory = new HashMap<>();
+    private final CatalogTtlPolicy ttlPolicy;
+    private final AccessTracker accessTracker;
+    private final HotKeyTelemetry telemetry;
+    private final CatalogVersion version;
+    private final WriteBehindJournal journal;
+    private final CatalogObservations observations;
+    private final HedgedReads hedgedReads;
+    private final KnownKeysFilter knownKeys;
+    private ApplicationEventPublisher events = event -> { };
+    private final Map<String, NotificationTemplate> fallbackMemory =
+            new CompactStore<>(NotificationTemplateCodec.INSTANCE);
+    private final LocalWrites localWrites = new LocalWrites();
+    private final CatalogPager<NotificationTemplate> pager;
+    private final SecondaryIndex typeIndex = new SecondaryIndex();
+    private final SecondaryIndex formatIndex = new SecondaryIndex();
 
-    public NotificationCatalog(RedisTemplate<String, Object> redisTemplate) {
+    public NotificationCatalog(RedisTemplate<String, Object> redisTemplate, CatalogProperties properties,
+            HotKeyTelemetry telemetry, WriteBehindJournal journal, CatalogObservations observations,
+            HedgedReads hedgedReads, KnownKeys knownKeys) {
         this.redisTemplate = redisTemplate;
+        this.journal = journal;
+        this.observations = observations;
+        this.hedgedReads = hedgedReads;
+        this.ttlPolicy = new CatalogTtlPolicy(
+                properties.getNotifications().getTtl(),
+                properties.getTtlJitter(),
+                properties.getRefreshAhead().getWindow());
+        this.accessTracker = new AccessTracker(properties.getRefreshAhead().getMaxTrackedKeys());
+        this.telemetry = telemetry;
+        this.pager = new CatalogPager<>(redisTemplate, PREFIX, NotificationTemplate.class, () -> fallbackMemory);
+        this.version = new CatalogVersion(redisTemplate, HotKeyTelemetry.NOTIFICATIONS);
+        this.knownKeys = knownKeys.register(HotKeyTelemetry.NOTIFICATIONS, pager,
+                fallbackMemory::keySet, version::current);
         initializeDefaultTemplates();
     }
 
@@ -29,7 +94,7 @@ public class NotificationCatalog {
      */
     private void initializeDefaultTemplates() {
         // Template de bienvenida por email
-        fallbackMemory.put("WELCOME_EMAIL", new NotificationTemplate(
+        putLocal(new NotificationTemplate(
             "WELCOME_EMAIL",
             "EMAIL",
             "Bienvenido a UcoChallenge - {nombre}",
@@ -45,7 +110,7 @@ public class NotificationCatalog {
         ));
 
         // Template de bienvenida por SMS
-        fallbackMemory.put("WELCOME_SMS", new NotificationTemplate(
+        putLocal(new NotificationTemplate(
             "WELCOME_SMS",
             "SMS",
             null, // SMS no tiene asunto
@@ -54,7 +119,7 @@ public class NotificationCatalog {
         ));
 
         // Template de confirmación de email
-        fallbackMemory.put("EMAIL_CONFIRMATION", new NotificationTemplate(
+        putLocal(new NotificationTemplate(
             "EMAIL_CONFIRMATION",
             "EMAIL",
             "Confirma tu correo electrónico",
@@ -69,7 +134,7 @@ public class NotificationCatalog {
         ));
 
         // Template de recuperación de contraseña
-        fallbackMemory.put("PASSWORD_RESET", new NotificationTemplate(
+        putLocal(new NotificationTemplate(
             "PASSWORD_RESET",
             "EMAIL",
             "Recuperación de Contraseña - UcoChallenge",
@@ -84,8 +149,8 @@ public class NotificationCatalog {
             "HTML"
         ));
 
-        // Template de notificación de error
-        fallbackMemory.put("ERROR_NOTIFICATION", new NotificationTemplate(
+        // Template de notificación de error; las ráfagas se agrupan en ERROR_DIGEST
+        NotificationTemplate errorNotification = new NotificationTemplate(
             "ERROR_NOTIFICATION",
             "EMAIL",
             "Alerta del Sistema - UcoChallenge",
@@ -99,6 +164,23 @@ public class NotificationCatalog {
             "</ul>" +
             "</body></html>",
             "HTML"
+        );
+        errorNotification.setDigestWindowSeconds(300);
+        errorNotification.setDigestTemplate("ERROR_DIGEST");
+        putLocal(errorNotification);
+
+        // Resumen de notificaciones de error agrupadas
+        putLocal(new NotificationTemplate(
+            "ERROR_DIGEST",
+            "EMAIL",
+            "Resumen de Alertas ({count}) - UcoChallenge",
+            "<html><body>" +
+            "<h2 style='color:red;'>Resumen de Errores</h2>" +
+            "<p>Se agruparon {count} notificaciones entre {firstAt} y {lastAt}:</p>" +
+            "<ul>{items}</ul>" +
+            "{omitted}" +
+            "</body></html>",
+            "HTML"
         ));
     }
 
@@ -106,15 +188,36 @@ public class NotificationCatalog {
      * Obtiene un template de notificación por código
      */
     public NotificationTemplate getTemplate(String code) {
+        if (!knownKeys.mightContain(code)) {
+            return null;
+        }
+        accessTracker.record(code);
+        telemetry.record(HotKeyTelemetry.NOTIFICATIONS, code);
+        Observation observation = observations.startLookup(catalogName(), code);
+        boolean hasLocal = fallbackMemory.containsKey(code);
+        long mark = localWrites.mark();
         try {
-            Object cached = redisTemplate.opsForValue().get(PREFIX + code);
-            if (cached instanceof NotificationTemplate) {
-                return (NotificationTemplate) cached;
+            NotificationTemplate template = hedgedReads.read(catalogName(),
+                    () -> redisTemplate.opsForValue().get(PREFIX + code) instanceof NotificationTemplate t ? t : null,
+                    hasLocal, late -> putLocalIfUnchanged(late, mark));
+            if (template != null) {
+                if (!hasLocal) {
+                    putLocalIfUnchanged(template, mark);
+                }
+                observations.stopLookup(observation, CatalogObservations.TIER_REDIS,
+                        CatalogObservations.sizeOf(template.getBody()));
+                return template;
             }
+        } catch (QueryTimeoutException e) {
+            logger.debug("Lectura del template '{}' respondida desde fallback local: {}", code, e.getMessage());
         } catch (Exception e) {
             logger.warn("Redis no disponible para template '{}', usando fallback local: {}", code, e.getMessage());
         }
-        return fallbackMemory.get(code);
+        NotificationTemplate local = fallbackMemory.get(code);
+        observations.stopLookup(observation,
+                local == null ? CatalogObservations.TIER_NONE : CatalogObservations.TIER_MEMORY,
+                local == null ? -1 : CatalogObservations.sizeOf(local.getBody()));
+        return local;
     }
 
     /**
@@ -122,19 +225,10 @@ public class NotificationCatalog {
      */
     public Map<String, NotificationTemplate> getAllTemplates() {
         try {
-            Set<String> keys = redisTemplate.keys(PREFIX + "*");
-            if (keys != null && !keys.isEmpty()) {
-                Map<String, NotificationTemplate> map = new HashMap<>();
-                for (String key : keys) {
-                    Object obj = redisTemplate.opsForValue().get(key);
-                    if (obj instanceof NotificationTemplate) {
-                        String templateCode = key.substring(PREFIX.length());
-                        map.put(templateCode, (NotificationTemplate) obj);
-                    }
-                }
-                if (!map.isEmpty()) {
-                    return map;
-                }
+            Map<String, NotificationTemplate> map = new HashMap<>();
+            pager.forEachBatch(CatalogStreamWriter.DEFAULT_BATCH_SIZE, map::putAll);
+            if (!map.isEmpty()) {
+                return map;
             }
         } catch (Exception e) {
             logger.warn("Redis no disponible, devolviendo templates locales: {}", e.getMessage());
@@ -142,22 +236,56 @@ public class NotificationCatalog {
         return fallbackMemory;
     }
 
+    /**
+     * Página del catálogo recorrida con cursor SCAN
+     */
+    public CatalogPage<NotificationTemplate> getTemplatesPage(String cursor, int size) {
+        return pager.page(cursor, size);
+    }
+
+    /**
+     * Entrega el catálogo por lotes a medida que se lee de Redis
+     */
+    public void forEachBatch(int batchSize, Consumer<Map<String, NotificationTemplate>> consumer) {
+        pager.forEachBatch(batchSize, consumer);
+    }
+
+    /**
+     * Obtiene los templates de un tipo (EMAIL, SMS) usando el índice secundario
+     * El costo es proporcional al número de resultados, no al tamaño del catálogo
+     */
+    public Map<String, NotificationTemplate> getTemplatesByType(String type) {
+        return findIndexed(TYPE_INDEX, typeIndex, type, NotificationTemplate::getType);
+    }
+
+    /**
+     * Obtiene los templates de un formato (HTML, PLAIN_TEXT) usando el índice secundario
+     */
+    public Map<String, NotificationTemplate> getTemplatesByFormat(String format) {
+        return findIndexed(FORMAT_INDEX, formatIndex, format, NotificationTemplate::getFormat);
+    }
+
     /**
      * Sincroniza un template en Redis
      */
     public void synchronizeTemplate(NotificationTemplate template) {
+        NotificationTemplate previous = fallbackMemory.get(template.getCode());
+        Duration ttl = ttlPolicy.nextTtl();
         try {
             redisTemplate.opsForValue().set(
                 PREFIX + template.getCode(), 
                 template, 
-                30, 
-                TimeUnit.MINUTES
+                ttl
             );
+            journal.written(PREFIX + template.getCode());
+            updateRedisIndexes(redisTemplate, previous, template);
             logger.debug("Template sincronizado en Redis: {}", template.getCode());
         } catch (Exception e) {
             logger.warn("No se pudo sincronizar template '{}' en Redis: {}", template.getCode(), e.getMessage());
+            journalTemplate(template, ttl);
         }
-        fallbackMemory.put(template.getCode(), template);
+        putLocal(template);
+        changed(template.getCode());
     }
 
     /**
@@ -165,12 +293,35 @@ public class NotificationCatalog {
      */
     public void removeTemplate(String code) {
         try {
+            Object current = redisTemplate.opsForValue().get(PREFIX + code);
             redisTemplate.delete(PREFIX + code);
+            if (current instanceof NotificationTemplate) {
+                updateRedisIndexes(redisTemplate, (NotificationTemplate) current, null);
+            }
+            updateRedisIndexes(redisTemplate, fallbackMemory.get(code), null);
+            journal.written(PREFIX + code);
             logger.debug("Template eliminado de Redis: {}", code);
         } catch (Exception e) {
             logger.warn("Error eliminando template '{}' de Redis: {}", code, e.getMessage());
+            // Los índices con el código eliminado se depuran de forma perezosa en findIndexed
+            journal.delete(catalogName(), PREFIX + code);
         }
-        fallbackMemory.remove(code);
+        removeLocal(code);
+        changed(code);
+    }
+
+    /**
+     * Versión vigente del catálogo; cambia con cada escritura
+     */
+    public String version() {
+        return version.current();
+    }
+
+    /**
+     * Fuente para leer este catálogo junto con otros en una sola foto
+     */
+    public CatalogSnapshot.Source<NotificationTemplate> snapshotSource() {
+        return new CatalogSnapshot.Source<>(catalogName(), pager, version, () -> fallbackMemory);
     }
 
     /**
@@ -182,10 +333,232 @@ public class NotificationCatalog {
             if (keys != null && !keys.isEmpty()) {
                 redisTemplate.delete(keys);
             }
+            var indexKeys = redisTemplate.keys(INDEX_PREFIX + "*");
+            if (indexKeys != null && !indexKeys.isEmpty()) {
+                redisTemplate.delete(indexKeys);
+            }
         } catch (Exception e) {
             logger.warn("Error limpiando Redis: {}", e.getMessage());
         }
-        fallbackMemory.clear();
+        localWrites.clear(() -> {
+            fallbackMemory.clear();
+            typeIndex.clear();
+            formatIndex.clear();
+        });
+        changed(null);
+    }
+
+    private Map<String, NotificationTemplate> findIndexed(String redisIndexPrefix, SecondaryIndex localIndex,
+            String value, Function<NotificationTemplate, String> attribute) {
+        String normalized = SecondaryIndex.normalize(value);
+        try {
+            Set<Object> members = redisTemplate.opsForSet().members(redisIndexPrefix + normalized);
+            if (members != null && !members.isEmpty()) {
+                List<String> codes = new ArrayList<>(members.size());
+                List<String> keys = new ArrayList<>(members.size());
+                for (Object member : members) {
+                    codes.add(String.valueOf(member));
+                    keys.add(PREFIX + member);
+                }
+                List<Object> values = redisTemplate.opsForValue().multiGet(keys);
+                Map<String, NotificationTemplate> map = new HashMap<>();
+                List<Object> stale = new ArrayList<>();
+                for (int i = 0; i < codes.size(); i++) {
+                    Object obj = (values == null) ? null : values.get(i);
+                    if (obj instanceof NotificationTemplate template
+                            && attribute.apply(template) != null
+                            && normalized.equals(SecondaryIndex.normalize(attribute.apply(template)))) {
+                        map.put(codes.get(i), template);
+                    } else {
+                        stale.add(codes.get(i));
+                    }
+                }
+                // Templates expirados o reclasificados: se limpian del índice de forma perezosa
+                if (!stale.isEmpty()) {
+                    redisTemplate.opsForSet().remove(redisIndexPrefix + normalized, stale.toArray());
+                }
+                if (!map.isEmpty()) {
+                    return map;
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Redis no disponible para índice '{}', usando índice local: {}", normalized, e.getMessage());
+        }
+        Map<String, NotificationTemplate> local = new HashMap<>();
+        for (String code : localIndex.get(normalized)) {
+            NotificationTemplate template = fallbackMemory.get(code);
+            if (template != null) {
+                local.put(code, template);
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Registra en el journal el template y su alta en los índices; las bajas de índices
+     * por reclasificación se resuelven de forma perezosa en findIndexed
+     */
+    private void journalTemplate(NotificationTemplate template, Duration ttl) {
+        journal.set(catalogName(), PREFIX + template.getCode(), template, ttl);
+        if (template.getType() != null) {
+            journal.addToSet(catalogName(), TYPE_INDEX + SecondaryIndex.normalize(template.getType()),
+                    template.getCode());
+        }
+        if (template.getFormat() != null) {
+            journal.addToSet(catalogName(), FORMAT_INDEX + SecondaryIndex.normalize(template.getFormat()),
+                    template.getCode());
+        }
+    }
+
+    private static void updateRedisIndexes(RedisOperations<String, Object> operations,
+            NotificationTemplate previous, NotificationTemplate current) {
+        if (previous != null) {
+            if (previous.getType() != null && (current == null || !sameValue(previous.getType(), current.getType()))) {
+                operations.opsForSet().remove(TYPE_INDEX + SecondaryIndex.normalize(previous.getType()),
+                        previous.getCode());
+            }
+            if (previous.getFormat() != null
+                    && (current == null || !sameValue(previous.getFormat(), current.getFormat()))) {
+                operations.opsForSet().remove(FORMAT_INDEX + SecondaryIndex.normalize(previous.getFormat()),
+                        previous.getCode());
+            }
+        }
+        if (current != null) {
+            if (current.getType() != null) {
+                operations.opsForSet().add(TYPE_INDEX + SecondaryIndex.normalize(current.getType()),
+                        current.getCode());
+            }
+            if (current.getFormat() != null) {
+                operations.opsForSet().add(FORMAT_INDEX + SecondaryIndex.normalize(current.getFormat()),
+                        current.getCode());
+            }
+        }
+    }
+
+    private static boolean sameValue(String a, String b) {
+        return b != null && SecondaryIndex.normalize(a).equals(SecondaryIndex.normalize(b));
+    }
+
+    /**
+     * Actualiza la memoria local y sus índices secundarios
+     */
+    private void putLocal(NotificationTemplate template) {
+        localWrites.write(template.getCode(), () -> store(template));
+    }
+
+    /**
+     * Guarda un template leído de Redis solo si el código no cambió localmente desde que empezó la lectura
+     */
+    private void putLocalIfUnchanged(NotificationTemplate template, long mark) {
+        if (!localWrites.writeIfUnchanged(template.getCode(), mark, () -> store(template))) {
+            logger.debug("Lectura del template '{}' descartada: la memoria local ya tiene un valor más nuevo",
+                    template.getCode());
+        }
+    }
+
+    private void store(NotificationTemplate template) {
+        NotificationTemplate previous = fallbackMemory.put(template.getCode(), template);
+        knownKeys.add(template.getCode());
+        if (previous != null) {
+            typeIndex.remove(previous.getType(), previous.getCode());
+            formatIndex.remove(previous.getFormat(), previous.getCode());
+        }
+        typeIndex.add(template.getType(), template.getCode());
+        formatIndex.add(template.getFormat(), template.getCode());
+    }
+
+    private void removeLocal(String code) {
+        localWrites.write(code, () -> {
+            NotificationTemplate previous = fallbackMemory.remove(code);
+            if (previous != null) {
+                typeIndex.remove(previous.getType(), code);
+                formatIndex.remove(previous.getFormat(), code);
+            }
+        });
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher events) {
+        this.events = events;
+    }
+
+    /**
+     * Marca un cambio: nueva versión y aviso a quien derive datos del catálogo (ej: caché de nginx)
+     * @param key clave cambiada; null si cambió todo el catálogo
+     */
+    private void changed(String key) {
+        version.bump();
+        events.publishEvent(new CatalogChangedEvent(catalogName(), key));
+    }
+
+    @Override
+    public String catalogName() {
+        return HotKeyTelemetry.NOTIFICATIONS;
+    }
+
+    @Override
+    public Class<NotificationTemplate> entryType() {
+        return NotificationTemplate.class;
+    }
+
+    @Override
+    public String keyOf(NotificationTemplate entry) {
+        return entry.getCode();
+    }
+
+    @Override
+    public void validate(NotificationTemplate entry) {
+        // Las reglas del template están en sus anotaciones de Bean Validation
+    }
+
+    @Override
+    public void writeBatch(List<NotificationTemplate> batch) {
+        RedisBulkWriter.writeAtomically(redisTemplate, operations -> {
+            for (NotificationTemplate template : batch) {
+                operations.opsForValue().set(PREFIX + template.getCode(), template, ttlPolicy.nextTtl());
+                journal.stamp(operations, PREFIX + template.getCode());
+                updateRedisIndexes(operations, fallbackMemory.get(template.getCode()), template);
+            }
+        });
+    }
+
+    @Override
+    public void journalBatch(List<NotificationTemplate> batch) {
+        for (NotificationTemplate template : batch) {
+            journalTemplate(template, ttlPolicy.nextTtl());
+        }
+    }
+
+    @Override
+    public void applyLocal(List<NotificationTemplate> entries) {
+        entries.forEach(this::putLocal);
+        changed(null);
+    }
+
+    /**
+     * Renueva el TTL de los templates más consultados antes de que expiren
+     */
+    @Override
+    public int refreshHotEntries(int minHits) {
+        int refreshed = 0;
+        for (String code : accessTracker.drainHotKeys(minHits)) {
+            try {
+                Long remaining = redisTemplate.getExpire(PREFIX + code, TimeUnit.MILLISECONDS);
+                if (remaining == null || !ttlPolicy.isDueForRefresh(remaining)) {
+                    continue;
+                }
+                Object cached = redisTemplate.opsForValue().get(PREFIX + code);
+                if (cached instanceof NotificationTemplate) {
+                    redisTemplate.expire(PREFIX + code, ttlPolicy.nextTtl());
+                    putLocal((NotificationTemplate) cached);
+                    refreshed++;
+                }
+            } catch (Exception e) {
+                logger.warn("Redis no disponible durante refresh-ahead de templates: {}", e.getMessage());
+                break;
+            }
+        }
+        return refreshed;
     }
 
     /**
@@ -193,17 +566,30 @@ public class NotificationCatalog {
      * Ej: "Hola {nombre}" + {"nombre": "Juan"} -> "Hola Juan"
      */
     public String processTemplate(String templateCode, Map<String, String> variables) {
-        NotificationTemplate template = getTemplate(templateCode);
-        if (template == null) {
-            return null;
-        }
+        Observation observation = observations.startRender(templateCode);
+        try (Observation.Scope scope = observation.openScope()) {
+            NotificationTemplate template = getTemplate(templateCode);
+            if (template == null) {
+                observation.lowCardinalityKeyValue("found", "false");
+                return null;
+            }
 
-        String processed = template.getBody();
-        if (variables != null) {
-            for (Map.Entry<String, String> entry : variables.entrySet()) {
-                processed = processed.replace("{" + entry.getKey() + "}", entry.getValue());
+            String processed = template.getBody();
+            if (variables != null) {
+                for (Map.Entry<String, String> entry : variables.entrySet()) {
+                    processed = processed.replace("{" + entry.getKey() + "}", entry.getValue());
+                }
             }
+            observation.lowCardinalityKeyValue("found", "true")
+                    .lowCardinalityKeyValue("format", String.valueOf(template.getFormat()))
+                    .highCardinalityKeyValue("variables", String.valueOf(variables == null ? 0 : variables.size()))
+                    .highCardinalityKeyValue("payload.size", String.valueOf(processed.length()));
+            return processed;
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
         }
-        return processed;
     }
 }
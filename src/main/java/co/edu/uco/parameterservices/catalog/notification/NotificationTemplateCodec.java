@@ -0,0 +1,38 @@
+package co.edu.uco.parameterservices.catalog.notification;
+
+import co.edu.uco.parameterservices.catalog.notification.domain.NotificationTemplate;
+import co.edu.uco.parameterservices.catalog.support.CompactStore;
+
+/**
+ * Registro compacto de un template: tipo, formato y template de resumen por diccionario;
+ * asunto y cuerpo en UTF-8
+ */
+public final class NotificationTemplateCodec implements CompactStore.Codec<NotificationTemplate> {
+
+    public static final NotificationTemplateCodec INSTANCE = new NotificationTemplateCodec();
+
+    private NotificationTemplateCodec() {
+    }
+
+    @Override
+    public void write(NotificationTemplate template, CompactStore.Writer out) {
+        out.writeSymbol(template.getType());
+        out.writeSymbol(template.getFormat());
+        out.writeString(template.getSubject());
+        out.writeString(template.getBody());
+        out.writeInteger(template.getDigestWindowSeconds());
+        out.writeSymbol(template.getDigestTemplate());
+    }
+
+    @Override
+    public NotificationTemplate read(String code, CompactStore.Reader in) {
+        String type = in.readSymbol();
+        String format = in.readSymbol();
+        String subject = in.readString();
+        String body = in.readString();
+        NotificationTemplate template = new NotificationTemplate(code, type, subject, body, format);
+        template.setDigestWindowSeconds(in.readInteger());
+        template.setDigestTemplate(in.readSymbol());
+        return template;
+    }
+}
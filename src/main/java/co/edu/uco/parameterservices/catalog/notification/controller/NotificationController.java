@@ -2,10 +2,19 @@ package co.edu.uco.parameterservices.catalog.notification.controller;
 
 import co.edu.uco.parameterservices.catalog.notification.domain.NotificationTemplate;
 import co.edu.uco.parameterservices.catalog.notification.service.NotificationService;
+import co.edu.uco.parameterservices.catalog.support.CatalogPage;
+import co.edu.uco.parameterservices.catalog.support.CatalogResponseCache;
+import co.edu.uco.parameterservices.catalog.support.CatalogStreamWriter;
+import co.edu.uco.parameterservices.catalog.support.ImportResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.Map;
 
 @RestController
@@ -13,18 +22,64 @@ import java.util.Map;
 public class NotificationController {
 
     private final NotificationService service;
+    private final ObjectMapper objectMapper;
+    private final CatalogResponseCache responseCache;
 
-    public NotificationController(NotificationService service) {
+    public NotificationController(NotificationService service, ObjectMapper objectMapper,
+            CatalogResponseCache responseCache) {
         this.service = service;
+        this.objectMapper = objectMapper;
+        this.responseCache = responseCache;
     }
 
     /**
      * GET /api/v1/notifications
-     * Obtiene todos los templates de notificaciones
+     * Obtiene todos los templates de notificaciones (serializados una vez por versión del catálogo)
      */
     @GetMapping
-    public ResponseEntity<Map<String, NotificationTemplate>> getAllTemplates() {
-        return ResponseEntity.ok(service.findAll());
+    public ResponseEntity<byte[]> getAllTemplates(@RequestHeader HttpHeaders headers) {
+        return responseCache.respond("notifications", service.catalogVersion(), headers, service::findAll);
+    }
+
+    /**
+     * POST /api/v1/notifications/import
+     * Carga masiva en JSON (arreglo o mapa por código), NDJSON o CSV con cabecera;
+     * responde con los conteos, errores de validación y la duración
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson", "text/csv"})
+    public ResponseEntity<ImportResult> importEntries(InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) {
+        return ResponseEntity.ok(service.importEntries(body, contentType));
+    }
+
+    /**
+     * GET /api/v1/notifications/page?cursor=0&size=100&fields=code,type,subject
+     * Página del catálogo con cursor; "cursor" de la respuesta pide la siguiente
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CatalogPage<Object>> getPage(
+            @RequestParam(defaultValue = CatalogPage.START) String cursor,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(required = false) String fields) {
+        CatalogPage<NotificationTemplate> page = service.findPage(cursor, size);
+        Map<String, Object> items = CatalogStreamWriter.project(
+                objectMapper, page.items(), CatalogStreamWriter.parseFields(fields));
+        return ResponseEntity.ok(new CatalogPage<>(items, page.cursor(), page.complete()));
+    }
+
+    /**
+     * GET /api/v1/notifications/stream?format=ndjson|json&fields=...
+     * Catálogo completo escrito en la respuesta a medida que se lee de Redis
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> stream(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String fields) {
+        boolean ndjson = !"json".equalsIgnoreCase(format);
+        return ResponseEntity.ok()
+                .contentType(ndjson ? CatalogStreamWriter.NDJSON : MediaType.APPLICATION_JSON)
+                .body(CatalogStreamWriter.stream(service::forEachBatch, objectMapper, ndjson,
+                        CatalogStreamWriter.parseFields(fields)));
     }
 
     /**
@@ -51,6 +106,16 @@ public class NotificationController {
         return ResponseEntity.ok(service.findByType(type));
     }
 
+    /**
+     * GET /api/v1/notifications/format/{format}
+     * Obtiene templates por formato (HTML o PLAIN_TEXT)
+     */
+    @GetMapping("/format/{format}")
+    public ResponseEntity<Map<String, NotificationTemplate>> getTemplatesByFormat(
+            @jakarta.validation.constraints.NotBlank @PathVariable String format) {
+        return ResponseEntity.ok(service.findByFormat(format));
+    }
+
     /**
      * POST /api/v1/notifications/process
      * Procesa un template con variables
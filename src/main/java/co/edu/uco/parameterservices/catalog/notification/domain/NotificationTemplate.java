@@ -4,6 +4,7 @@ import java.io.Serializable;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
 
 /**
  * Representa un template de notificación (email o SMS)
@@ -27,7 +28,12 @@ public class NotificationTemplate implements Serializable {
     
     @Pattern(regexp = "HTML|PLAIN_TEXT", message = "El formato debe ser HTML o PLAIN_TEXT")
     private String format;         // HTML | PLAIN_TEXT
-    
+
+    @PositiveOrZero(message = "La ventana de resumen no puede ser negativa")
+    private Integer digestWindowSeconds;   // Envíos repetidos al mismo destinatario dentro de la ventana se agrupan
+
+    private String digestTemplate;         // Template con el que se envía el resumen (ej: "ERROR_DIGEST")
+
     public NotificationTemplate() {
     }
 
@@ -80,6 +86,30 @@ public class NotificationTemplate implements Serializable {
         this.format = format;
     }
 
+    public Integer getDigestWindowSeconds() {
+        return digestWindowSeconds;
+    }
+
+    public void setDigestWindowSeconds(Integer digestWindowSeconds) {
+        this.digestWindowSeconds = digestWindowSeconds;
+    }
+
+    public String getDigestTemplate() {
+        return digestTemplate;
+    }
+
+    public void setDigestTemplate(String digestTemplate) {
+        this.digestTemplate = digestTemplate;
+    }
+
+    /**
+     * true si los envíos de este template se agrupan en resúmenes
+     */
+    public boolean digestEnabled() {
+        return digestWindowSeconds != null && digestWindowSeconds > 0
+                && digestTemplate != null && !digestTemplate.isBlank();
+    }
+
     @Override
     public String toString() {
         return "NotificationTemplate{" +
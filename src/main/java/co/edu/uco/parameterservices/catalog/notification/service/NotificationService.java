@@ -2,17 +2,28 @@ package co.edu.uco.parameterservices.catalog.notification.service;
 
 import co.edu.uco.parameterservices.catalog.notification.NotificationCatalog;
 import co.edu.uco.parameterservices.catalog.notification.domain.NotificationTemplate;
+import co.edu.uco.parameterservices.catalog.support.CatalogImporter;
+import co.edu.uco.parameterservices.catalog.support.CatalogPage;
+import co.edu.uco.parameterservices.catalog.support.ImportResult;
 import org.springframework.stereotype.Service;
 
+import java.io.InputStream;
 import java.util.Map;
+import java.util.function.Consumer;
 
 @Service
 public class NotificationService {
 
     private final NotificationCatalog catalog;
+    private final CatalogImporter importer;
 
-    public NotificationService(NotificationCatalog catalog) {
+    public NotificationService(NotificationCatalog catalog, CatalogImporter importer) {
         this.catalog = catalog;
+        this.importer = importer;
+    }
+
+    public ImportResult importEntries(InputStream input, String contentType) {
+        return importer.importEntries(input, contentType, catalog);
     }
 
     public NotificationTemplate findByCode(String code) {
@@ -23,13 +34,24 @@ public class NotificationService {
         return catalog.getAllTemplates();
     }
 
+    public String catalogVersion() {
+        return catalog.version();
+    }
+
+    public CatalogPage<NotificationTemplate> findPage(String cursor, int size) {
+        return catalog.getTemplatesPage(cursor, size);
+    }
+
+    public void forEachBatch(int batchSize, Consumer<Map<String, NotificationTemplate>> consumer) {
+        catalog.forEachBatch(batchSize, consumer);
+    }
+
     public Map<String, NotificationTemplate> findByType(String type) {
-        return catalog.getAllTemplates().entrySet().stream()
-            .filter(entry -> type.equalsIgnoreCase(entry.getValue().getType()))
-            .collect(java.util.stream.Collectors.toMap(
-                Map.Entry::getKey,
-                Map.Entry::getValue
-            ));
+        return catalog.getTemplatesByType(type);
+    }
+
+    public Map<String, NotificationTemplate> findByFormat(String format) {
+        return catalog.getTemplatesByFormat(format);
     }
 
     public String processTemplate(String code, Map<String, String> variables) {
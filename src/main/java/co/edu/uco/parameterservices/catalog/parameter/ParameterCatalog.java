@@ -1,78 +1,346 @@
 package co.edu.uco.parameterservices.catalog.parameter;
 
+import co.edu.uco.parameterservices.catalog.parameter.domain.FlagContext;
+import co.edu.uco.parameterservices.catalog.parameter.domain.FlagDecision;
+import co.edu.uco.parameterservices.catalog.parameter.domain.FlagRule;
 import co.edu.uco.parameterservices.catalog.parameter.domain.Parameter;
+import co.edu.uco.parameterservices.catalog.parameter.domain.ParameterType;
+import co.edu.uco.parameterservices.catalog.parameter.domain.TypedParameter;
+import co.edu.uco.parameterservices.catalog.support.AccessTracker;
+import co.edu.uco.parameterservices.catalog.support.CatalogChangedEvent;
+import co.edu.uco.parameterservices.catalog.support.CatalogImportTarget;
+import co.edu.uco.parameterservices.catalog.support.CatalogObservations;
+import co.edu.uco.parameterservices.catalog.support.CatalogPage;
+import co.edu.uco.parameterservices.catalog.support.CatalogPager;
+import co.edu.uco.parameterservices.catalog.support.CatalogSearchIndex;
+import co.edu.uco.parameterservices.catalog.support.CatalogSnapshot;
+import co.edu.uco.parameterservices.catalog.support.CatalogStreamWriter;
+import co.edu.uco.parameterservices.catalog.support.CatalogTtlPolicy;
+import co.edu.uco.parameterservices.catalog.support.CatalogVersion;
+import co.edu.uco.parameterservices.catalog.support.HedgedReads;
+import co.edu.uco.parameterservices.catalog.support.HotKeyTelemetry;
+import co.edu.uco.parameterservices.catalog.support.KnownKeys;
+import co.edu.uco.parameterservices.catalog.support.KnownKeysFilter;
+import co.edu.uco.parameterservices.catalog.support.LocalWrites;
+import co.edu.uco.parameterservices.catalog.support.RedisBulkWriter;
+import co.edu.uco.parameterservices.catalog.support.RefreshAheadCatalog;
+import co.edu.uco.parameterservices.catalog.support.SearchPage;
+import co.edu.uco.parameterservices.catalog.support.WriteBehindJournal;
+import co.edu.uco.parameterservices.config.CatalogProperties;
+import io.micrometer.observation.Observation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 @Component
-public class ParameterCatalog {
+public class ParameterCatalog implements RefreshAheadCatalog, CatalogImportTarget<Parameter>,
+        ApplicationEventPublisherAware {
 
     private static final Logger logger = LoggerFactory.getLogger(ParameterCatalog.class);
     private final RedisTemplate<String, Object> redisTemplate;
     private static final String PREFIX = "parameter:";
+    private final CatalogTtlPolicy ttlPolicy;
+    private final AccessTracker accessTracker;
+    private final HotKeyTelemetry telemetry;
+    private final CatalogVersion version;
+    private final WriteBehindJournal journal;
+    private final CatalogObservations observations;
+    private final HedgedReads hedgedReads;
+    private final KnownKeysFilter knownKeys;
+    private ApplicationEventPublisher events = event -> { };
 
     // Mapa local de respaldo
-    private final Map<String, Parameter> fallbackMemory = new HashMap<>();
+    private final Map<String, Parameter> fallbackMemory = new ConcurrentHashMap<>();
+    private final LocalWrites localWrites = new LocalWrites();
+    private final CatalogPager<Parameter> pager;
+    private final CatalogSearchIndex searchIndex = new CatalogSearchIndex();
+    // Valores ya convertidos a su tipo, para lecturas sin parseo en caminos calientes
+    private final Map<String, TypedParameter> typedValues = new ConcurrentHashMap<>();
+    // Flags (FLAG y BOOLEAN) de todo el catálogo, compilados con la versión en que se leyeron
+    private volatile CompiledFlags compiledFlags;
 
-    public ParameterCatalog(RedisTemplate<String, Object> redisTemplate) {
+    private record CompiledFlags(String version, Map<String, TypedParameter> flags) {
+    }
+
+    public ParameterCatalog(RedisTemplate<String, Object> redisTemplate, CatalogProperties properties,
+            HotKeyTelemetry telemetry, WriteBehindJournal journal, CatalogObservations observations,
+            HedgedReads hedgedReads, KnownKeys knownKeys) {
         this.redisTemplate = redisTemplate;
+        this.journal = journal;
+        this.observations = observations;
+        this.hedgedReads = hedgedReads;
+        this.ttlPolicy = new CatalogTtlPolicy(
+                properties.getParameters().getTtl(),
+                properties.getTtlJitter(),
+                properties.getRefreshAhead().getWindow());
+        this.accessTracker = new AccessTracker(properties.getRefreshAhead().getMaxTrackedKeys());
+        this.telemetry = telemetry;
+        this.pager = new CatalogPager<>(redisTemplate, PREFIX, Parameter.class, () -> fallbackMemory);
+        this.version = new CatalogVersion(redisTemplate, HotKeyTelemetry.PARAMETERS);
+        this.knownKeys = knownKeys.register(HotKeyTelemetry.PARAMETERS, pager,
+                fallbackMemory::keySet, version::current);
 
-        fallbackMemory.put("FechaDefectoMaxima", new Parameter("FechaDefectoMaxima", "31/12/2500"));
-        fallbackMemory.put("correoAdministrador", new Parameter("correoAdministrador", "admin@uco.edu.co"));
-        fallbackMemory.put("numeroMaximoReintentosEnvioCorreo", new Parameter("numeroMaximoReintentosEnvioCorreo", "5"));
+        putLocal(new Parameter("FechaDefectoMaxima", "31/12/2500", ParameterType.DATE));
+        putLocal(new Parameter("correoAdministrador", "admin@uco.edu.co", ParameterType.EMAIL));
+        putLocal(new Parameter("numeroMaximoReintentosEnvioCorreo", "5", ParameterType.INT));
     }
 
 
     public Parameter getParameter(String key) {
+        if (!knownKeys.mightContain(key)) {
+            return null;
+        }
+        accessTracker.record(key);
+        telemetry.record(HotKeyTelemetry.PARAMETERS, key);
+        Observation observation = observations.startLookup(catalogName(), key);
+        boolean hasLocal = fallbackMemory.containsKey(key);
+        long mark = localWrites.mark();
         try {
-            Object obj = redisTemplate.opsForValue().get(PREFIX + key);
-            if (obj instanceof Parameter) return (Parameter) obj;
+            Parameter parameter = hedgedReads.read(catalogName(),
+                    () -> redisTemplate.opsForValue().get(PREFIX + key) instanceof Parameter p ? p : null,
+                    hasLocal, late -> putLocalIfUnchanged(late, mark));
+            if (parameter != null) {
+                if (!hasLocal) {
+                    putLocalIfUnchanged(parameter, mark);
+                }
+                observations.stopLookup(observation, CatalogObservations.TIER_REDIS,
+                        CatalogObservations.sizeOf(parameter.getValue()));
+                return parameter;
+            }
+        } catch (QueryTimeoutException e) {
+            logger.debug("Lectura de key '{}' respondida desde memoria local: {}", key, e.getMessage());
         } catch (Exception e) {
             logger.warn("Redis no disponible para key '{}', usando memoria local: {}", key, e.getMessage());
         }
-        return fallbackMemory.get(key);
+        Parameter local = fallbackMemory.get(key);
+        observations.stopLookup(observation,
+                local == null ? CatalogObservations.TIER_NONE : CatalogObservations.TIER_MEMORY,
+                local == null ? -1 : CatalogObservations.sizeOf(local.getValue()));
+        return local;
     }
 
+    /**
+     * Sincroniza un parámetro; si declara tipo, el valor se valida antes de escribirlo
+     * @throws IllegalArgumentException si el valor no corresponde a su tipo
+     */
     public void synchronizeParameter(Parameter parameter) {
+        TypedParameter.of(parameter);
+        Duration ttl = ttlPolicy.nextTtl();
         try {
-            redisTemplate.opsForValue().set(PREFIX + parameter.getKey(), parameter, 10, TimeUnit.MINUTES);
+            redisTemplate.opsForValue().set(PREFIX + parameter.getKey(), parameter, ttl);
+            journal.written(PREFIX + parameter.getKey());
             logger.debug("Parámetro sincronizado en Redis: {}", parameter.getKey());
         } catch (Exception e) {
             logger.warn("No se pudo sincronizar parámetro '{}' en Redis, usando memoria local: {}", 
                     parameter.getKey(), e.getMessage());
+            journal.set(catalogName(), PREFIX + parameter.getKey(), parameter, ttl);
         }
-        fallbackMemory.put(parameter.getKey(), parameter);
+        putLocal(parameter);
+        changed(parameter.getKey());
     }
 
     public void removeParameter(String key) {
-        if (redisTemplate != null) {
+        try {
             redisTemplate.delete(PREFIX + key);
+            journal.written(PREFIX + key);
+        } catch (Exception e) {
+            logger.warn("Error eliminando parámetro '{}' de Redis: {}", key, e.getMessage());
+            journal.delete(catalogName(), PREFIX + key);
+        }
+        localWrites.write(key, () -> {
+            fallbackMemory.remove(key);
+            searchIndex.remove(key);
+            typedValues.remove(key);
+        });
+        changed(key);
+    }
+
+    /**
+     * Versión vigente del catálogo; cambia con cada escritura
+     */
+    public String version() {
+        return version.current();
+    }
+
+    /**
+     * Fuente para leer este catálogo junto con otros en una sola foto
+     */
+    public CatalogSnapshot.Source<Parameter> snapshotSource() {
+        return new CatalogSnapshot.Source<>(catalogName(), pager, version, () -> fallbackMemory);
+    }
+
+    /**
+     * Parámetro con su valor convertido. Se lee por el camino normal (Redis y memoria local)
+     * y solo se vuelve a parsear si el valor crudo o el tipo cambiaron desde la última conversión
+     * @return null si el parámetro no existe
+     */
+    public TypedParameter getTypedParameter(String key) {
+        Parameter parameter = getParameter(key);
+        if (parameter == null) {
+            return null;
+        }
+        TypedParameter cached = typedValues.get(key);
+        if (cached != null && cached.matches(parameter)) {
+            return cached;
+        }
+        TypedParameter typed = TypedParameter.of(parameter);
+        typedValues.put(key, typed);
+        return typed;
+    }
+
+    public Map<String, TypedParameter> getAllTypedParameters() {
+        Map<String, TypedParameter> all = new HashMap<>();
+        getAllParameters().forEach((key, parameter) -> {
+            TypedParameter cached = typedValues.get(key);
+            all.put(key, cached != null && cached.matches(parameter) ? cached : TypedParameter.of(parameter));
+        });
+        return all;
+    }
+
+    public int getInt(String key, int defaultValue) {
+        Object value = typedValue(key, ParameterType.INT);
+        return value == null ? defaultValue : (Integer) value;
+    }
+
+    public long getLong(String key, long defaultValue) {
+        Object value = typedValue(key, ParameterType.LONG);
+        return value == null ? defaultValue : (Long) value;
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        Object value = typedValue(key, ParameterType.BOOLEAN);
+        return value == null ? defaultValue : (Boolean) value;
+    }
+
+    public Duration getDuration(String key, Duration defaultValue) {
+        Object value = typedValue(key, ParameterType.DURATION);
+        return value == null ? defaultValue : (Duration) value;
+    }
+
+    public LocalDate getDate(String key) {
+        return (LocalDate) typedValue(key, ParameterType.DATE);
+    }
+
+    public String getEmail(String key) {
+        return (String) typedValue(key, ParameterType.EMAIL);
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<String> getList(String key) {
+        Object value = typedValue(key, ParameterType.LIST);
+        return value == null ? List.of() : (List<String>) value;
+    }
+
+    /**
+     * Evalúa un flag con sus reglas ya compiladas. Los parámetros BOOLEAN se evalúan como
+     * interruptores simples
+     */
+    public FlagDecision evaluateFlag(String key, FlagContext context) {
+        return evaluateFlag(key, context, compiledFlags());
+    }
+
+    /**
+     * Evalúa varios flags con un mismo contexto contra una sola carga de flags compilados:
+     * una lectura de la versión por llamada, no un GET a Redis por flag
+     */
+    public Map<String, FlagDecision> evaluateFlags(List<String> keys, FlagContext context) {
+        Map<String, TypedParameter> flags = compiledFlags();
+        Map<String, FlagDecision> decisions = new LinkedHashMap<>();
+        for (String key : keys) {
+            decisions.put(key, evaluateFlag(key, context, flags));
         }
-        fallbackMemory.remove(key);
+        return decisions;
+    }
+
+    private FlagDecision evaluateFlag(String key, FlagContext context, Map<String, TypedParameter> flags) {
+        TypedParameter typed = flags.get(key);
+        if (typed == null) {
+            // No es un flag en la versión vigente: el camino normal distingue inexistente de otro tipo
+            typed = getTypedParameter(key);
+        }
+        if (typed == null) {
+            return FlagDecision.NOT_FOUND;
+        }
+        if (typed.value() instanceof FlagRule rule) {
+            return rule.evaluate(key, context);
+        }
+        if (typed.type() == ParameterType.BOOLEAN) {
+            return Boolean.TRUE.equals(typed.value()) ? FlagDecision.ON : FlagDecision.OFF;
+        }
+        return FlagDecision.NOT_A_FLAG;
+    }
+
+    /**
+     * Claves de todos los parámetros FLAG del catálogo
+     */
+    public List<String> flagKeys() {
+        return compiledFlags().values().stream()
+                .filter(typed -> typed.type() == ParameterType.FLAG)
+                .map(TypedParameter::key)
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Flags del catálogo completo (SCAN + MGET, o memoria local sin Redis); se recargan solo
+     * cuando cambia la versión compartida, es decir, tras una escritura en cualquier réplica
+     */
+    private Map<String, TypedParameter> compiledFlags() {
+        String current = version.current();
+        CompiledFlags cached = compiledFlags;
+        if (cached != null && cached.version().equals(current)) {
+            return cached.flags();
+        }
+        Map<String, TypedParameter> flags = new HashMap<>();
+        getAllParameters().forEach((key, parameter) -> {
+            if (parameter.getType() != ParameterType.FLAG && parameter.getType() != ParameterType.BOOLEAN) {
+                return;
+            }
+            TypedParameter typed = typedValues.get(key);
+            try {
+                flags.put(key, typed != null && typed.matches(parameter) ? typed : TypedParameter.of(parameter));
+            } catch (IllegalArgumentException e) {
+                logger.warn("Flag '{}' con definición inválida: {}", key, e.getMessage());
+            }
+        });
+        // Cargado durante un cambio queda con la versión vieja y se recarga en la próxima evaluación
+        compiledFlags = new CompiledFlags(current, Map.copyOf(flags));
+        return compiledFlags.flags();
+    }
+
+    private Object typedValue(String key, ParameterType type) {
+        TypedParameter typed = getTypedParameter(key);
+        return typed == null ? null : typed.as(type);
+    }
+
+    /**
+     * Busca parámetros por prefijo de clave y/o frase contenida en el valor
+     */
+    public SearchPage<Parameter> search(String prefix, String query, int page, int size) {
+        return SearchPage.of(searchIndex.search(prefix, query), page, size, fallbackMemory::get);
     }
 
     public Map<String, Parameter> getAllParameters() {
         try {
-            Set<String> keys = redisTemplate.keys(PREFIX + "*");
-            if (keys != null && !keys.isEmpty()) {
-                Map<String, Parameter> map = new HashMap<>();
-                for (String key : keys) {
-                    Object obj = redisTemplate.opsForValue().get(key);
-                    if (obj instanceof Parameter) {
-                        String paramKey = key.substring(PREFIX.length());
-                        map.put(paramKey, (Parameter) obj);
-                    }
-                }
-                if (!map.isEmpty()) {
-                    return map;
-                }
+            Map<String, Parameter> map = new HashMap<>();
+            pager.forEachBatch(CatalogStreamWriter.DEFAULT_BATCH_SIZE, map::putAll);
+            if (!map.isEmpty()) {
+                return map;
             }
         } catch (Exception e) {
             logger.warn("Redis no disponible, devolviendo valores locales: {}", e.getMessage());
@@ -80,6 +348,20 @@ public class ParameterCatalog {
         return fallbackMemory;
     }
 
+    /**
+     * Página del catálogo recorrida con cursor SCAN
+     */
+    public CatalogPage<Parameter> getParametersPage(String cursor, int size) {
+        return pager.page(cursor, size);
+    }
+
+    /**
+     * Entrega el catálogo por lotes a medida que se lee de Redis
+     */
+    public void forEachBatch(int batchSize, Consumer<Map<String, Parameter>> consumer) {
+        pager.forEachBatch(batchSize, consumer);
+    }
+
     public void clearAll() {
         if (redisTemplate != null) {
             var keys = redisTemplate.keys(PREFIX + "*");
@@ -87,6 +369,120 @@ public class ParameterCatalog {
                 redisTemplate.delete(keys);
             }
         }
-        fallbackMemory.clear();
+        localWrites.clear(() -> {
+            fallbackMemory.clear();
+            searchIndex.clear();
+            typedValues.clear();
+        });
+        changed(null);
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher events) {
+        this.events = events;
+    }
+
+    /**
+     * Marca un cambio: nueva versión y aviso a quien derive datos del catálogo (ej: caché de nginx)
+     * @param key clave cambiada; null si cambió todo el catálogo
+     */
+    private void changed(String key) {
+        version.bump();
+        events.publishEvent(new CatalogChangedEvent(catalogName(), key));
+    }
+
+    @Override
+    public String catalogName() {
+        return HotKeyTelemetry.PARAMETERS;
+    }
+
+    @Override
+    public Class<Parameter> entryType() {
+        return Parameter.class;
+    }
+
+    @Override
+    public String keyOf(Parameter entry) {
+        return entry.getKey();
+    }
+
+    @Override
+    public void validate(Parameter entry) {
+        if (entry.getKey() == null || entry.getKey().isBlank()) {
+            throw new IllegalArgumentException("La clave del parámetro es requerida");
+        }
+        TypedParameter.of(entry);
+    }
+
+    @Override
+    public void writeBatch(List<Parameter> batch) {
+        RedisBulkWriter.writeAtomically(redisTemplate, operations -> {
+            for (Parameter parameter : batch) {
+                operations.opsForValue().set(PREFIX + parameter.getKey(), parameter, ttlPolicy.nextTtl());
+                journal.stamp(operations, PREFIX + parameter.getKey());
+            }
+        });
+    }
+
+    @Override
+    public void journalBatch(List<Parameter> batch) {
+        for (Parameter parameter : batch) {
+            journal.set(catalogName(), PREFIX + parameter.getKey(), parameter, ttlPolicy.nextTtl());
+        }
+    }
+
+    @Override
+    public void applyLocal(List<Parameter> entries) {
+        entries.forEach(this::putLocal);
+        changed(null);
+    }
+
+    @Override
+    public int refreshHotEntries(int minHits) {
+        int refreshed = 0;
+        for (String key : accessTracker.drainHotKeys(minHits)) {
+            try {
+                Long remaining = redisTemplate.getExpire(PREFIX + key, TimeUnit.MILLISECONDS);
+                if (remaining == null || !ttlPolicy.isDueForRefresh(remaining)) {
+                    continue;
+                }
+                Object obj = redisTemplate.opsForValue().get(PREFIX + key);
+                if (obj instanceof Parameter) {
+                    redisTemplate.expire(PREFIX + key, ttlPolicy.nextTtl());
+                    putLocal((Parameter) obj);
+                    refreshed++;
+                }
+            } catch (Exception e) {
+                logger.warn("Redis no disponible durante refresh-ahead de parámetros: {}", e.getMessage());
+                break;
+            }
+        }
+        return refreshed;
+    }
+
+    private void putLocal(Parameter parameter) {
+        localWrites.write(parameter.getKey(), () -> store(parameter));
+    }
+
+    /**
+     * Guarda un valor leído de Redis solo si la clave no cambió localmente desde que empezó la lectura
+     */
+    private void putLocalIfUnchanged(Parameter parameter, long mark) {
+        if (!localWrites.writeIfUnchanged(parameter.getKey(), mark, () -> store(parameter))) {
+            logger.debug("Lectura de key '{}' descartada: la memoria local ya tiene un valor más nuevo",
+                    parameter.getKey());
+        }
+    }
+
+    private void store(Parameter parameter) {
+        fallbackMemory.put(parameter.getKey(), parameter);
+        knownKeys.add(parameter.getKey());
+        searchIndex.index(parameter.getKey(), parameter.getValue());
+        try {
+            typedValues.put(parameter.getKey(), TypedParameter.of(parameter));
+        } catch (IllegalArgumentException e) {
+            typedValues.remove(parameter.getKey());
+            logger.warn("Parámetro '{}' con valor inválido para su tipo: {}", parameter.getKey(), e.getMessage());
+        }
     }
 }
@@ -0,0 +1,53 @@
+package co.edu.uco.parameterservices.catalog.parameter.controller;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import co.edu.uco.parameterservices.catalog.parameter.domain.FlagContext;
+import co.edu.uco.parameterservices.catalog.parameter.domain.FlagDecision;
+import co.edu.uco.parameterservices.catalog.parameter.service.ParameterService;
+
+@RestController
+@RequestMapping("/api/v1/flags")
+public class FlagController {
+
+    private final ParameterService service;
+
+    public FlagController(ParameterService service) {
+        this.service = service;
+    }
+
+    /**
+     * POST /api/v1/flags/evaluate
+     * Evalúa varios flags para un mismo contexto en una sola llamada
+     *
+     * Body:
+     * {
+     *   "userId": "u-123",
+     *   "environment": "prod",
+     *   "flags": ["nuevoCheckout", "envioSmsHabilitado"]   (opcional: sin flags evalúa todos)
+     * }
+     *
+     * Respuesta: {"flags": {"nuevoCheckout": {"enabled": true, "reason": "ROLLOUT_IN"}, ...}}
+     */
+    @PostMapping("/evaluate")
+    public ResponseEntity<Map<String, Map<String, FlagEvaluation>>> evaluate(@RequestBody FlagEvaluationRequest request) {
+        Map<String, FlagEvaluation> flags = new LinkedHashMap<>();
+        service.evaluateFlags(request.flags(), new FlagContext(request.userId(), request.environment()))
+                .forEach((key, decision) -> flags.put(key, new FlagEvaluation(decision.enabled(), decision)));
+        return ResponseEntity.ok(Map.of("flags", flags));
+    }
+
+    public record FlagEvaluationRequest(String userId, String environment, List<String> flags) {
+    }
+
+    public record FlagEvaluation(boolean enabled, FlagDecision reason) {
+    }
+}
@@ -1,25 +1,133 @@
 package co.edu.uco.parameterservices.catalog.parameter.controller;
 
+import java.io.InputStream;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import co.edu.uco.parameterservices.catalog.parameter.domain.Parameter;
+import co.edu.uco.parameterservices.catalog.parameter.domain.TypedParameter;
 import co.edu.uco.parameterservices.catalog.parameter.service.ParameterService;
+import co.edu.uco.parameterservices.catalog.support.CatalogPage;
+import co.edu.uco.parameterservices.catalog.support.CatalogResponseCache;
+import co.edu.uco.parameterservices.catalog.support.CatalogStreamWriter;
+import co.edu.uco.parameterservices.catalog.support.ImportResult;
+import co.edu.uco.parameterservices.catalog.support.SearchPage;
 
 @RestController
 @RequestMapping("/api/v1/parameters")
 public class ParameterController {
 
     private final ParameterService service;
+    private final ObjectMapper objectMapper;
+    private final CatalogResponseCache responseCache;
 
-    public ParameterController(ParameterService service) {
+    public ParameterController(ParameterService service, ObjectMapper objectMapper,
+            CatalogResponseCache responseCache) {
         this.service = service;
+        this.objectMapper = objectMapper;
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * GET /api/v1/parameters/search?prefix=correo&q=uco.edu.co&page=0&size=20
+     * Busca por prefijo de clave y/o frase contenida en el valor
+     */
+    @GetMapping("/search")
+    public ResponseEntity<SearchPage<Parameter>> search(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(name = "q", required = false) String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return new ResponseEntity<>(service.search(prefix, query, page, size), HttpStatus.OK);
+    }
+
+    /**
+     * POST /api/v1/parameters/import
+     * Carga masiva en JSON (arreglo o mapa por código), NDJSON o CSV con cabecera;
+     * responde con los conteos, errores de validación y la duración
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson", "text/csv"})
+    public ResponseEntity<ImportResult> importEntries(InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) {
+        return ResponseEntity.ok(service.importEntries(body, contentType));
+    }
+
+    /**
+     * GET /api/v1/parameters/page?cursor=0&size=100&fields=...
+     * Página del catálogo con cursor; "cursor" de la respuesta pide la siguiente
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CatalogPage<Object>> getPage(
+            @RequestParam(defaultValue = CatalogPage.START) String cursor,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(required = false) String fields) {
+        CatalogPage<Parameter> page = service.findPage(cursor, size);
+        Map<String, Object> items = CatalogStreamWriter.project(
+                objectMapper, page.items(), CatalogStreamWriter.parseFields(fields));
+        return ResponseEntity.ok(new CatalogPage<>(items, page.cursor(), page.complete()));
+    }
+
+    /**
+     * GET /api/v1/parameters/stream?format=ndjson|json&fields=...
+     * Catálogo completo escrito en la respuesta a medida que se lee de Redis
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> stream(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String fields) {
+        boolean ndjson = !"json".equalsIgnoreCase(format);
+        return ResponseEntity.ok()
+                .contentType(ndjson ? CatalogStreamWriter.NDJSON : MediaType.APPLICATION_JSON)
+                .body(CatalogStreamWriter.stream(service::forEachBatch, objectMapper, ndjson,
+                        CatalogStreamWriter.parseFields(fields)));
+    }
+
+    /**
+     * GET /api/v1/parameters/typed
+     * Todos los parámetros con su valor en JSON tipado
+     */
+    @GetMapping("/typed")
+    public ResponseEntity<Map<String, Map<String, Object>>> getAllTypedParameters() {
+        Map<String, Map<String, Object>> all = new LinkedHashMap<>();
+        service.findAllTyped().forEach((key, typed) -> all.put(key, toJson(typed)));
+        return new ResponseEntity<>(all, HttpStatus.OK);
+    }
+
+    /**
+     * GET /api/v1/parameters/{key}/typed
+     * Ej: {"key": "numeroMaximoReintentosEnvioCorreo", "type": "INT", "value": 5}
+     */
+    @GetMapping("/{key}/typed")
+    public ResponseEntity<Map<String, Object>> getTypedParameter(
+            @jakarta.validation.constraints.NotBlank @PathVariable String key) {
+        TypedParameter typed = service.findTypedByKey(key);
+        if (typed == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(toJson(typed), HttpStatus.OK);
+    }
+
+    private static Map<String, Object> toJson(TypedParameter typed) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("key", typed.key());
+        json.put("type", typed.type());
+        json.put("value", typed.jsonValue());
+        return json;
     }
 
     @GetMapping("/{key}")
@@ -30,8 +138,7 @@ public class ParameterController {
     }
     
     @GetMapping
-    public ResponseEntity<Map<String, Parameter>> getAllParameters() {
-        var all = service.findAll();
-        return new ResponseEntity<>(all, HttpStatus.OK);
+    public ResponseEntity<byte[]> getAllParameters(@RequestHeader HttpHeaders headers) {
+        return responseCache.respond("parameters", service.catalogVersion(), headers, service::findAll);
     }
 }
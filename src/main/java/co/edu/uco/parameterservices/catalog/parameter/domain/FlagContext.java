@@ -0,0 +1,9 @@
+package co.edu.uco.parameterservices.catalog.parameter.domain;
+
+/**
+ * Contexto con el que se evalúan los flags; cualquiera de los dos puede ser null
+ * @param userId identificador estable del usuario, base del porcentaje de despliegue
+ * @param environment ambiente del consumidor (ej: prod, staging)
+ */
+public record FlagContext(String userId, String environment) {
+}
@@ -0,0 +1,27 @@
+package co.edu.uco.parameterservices.catalog.parameter.domain;
+
+/**
+ * Resultado de evaluar un flag: si queda activo y por qué regla
+ */
+public enum FlagDecision {
+
+    ON(true),               // Parámetro BOOLEAN en true
+    OFF(false),             // Flag deshabilitado o parámetro BOOLEAN en false
+    ENVIRONMENT(false),     // El ambiente del contexto no está entre los habilitados
+    DENIED(false),          // Usuario en la lista de exclusión
+    ALLOWED(true),          // Usuario en la lista de inclusión
+    ROLLOUT_IN(true),       // Usuario dentro del porcentaje de despliegue
+    ROLLOUT_OUT(false),     // Usuario fuera del porcentaje (o sin usuario en un despliegue parcial)
+    NOT_FOUND(false),
+    NOT_A_FLAG(false);      // El parámetro no es FLAG ni BOOLEAN
+
+    private final boolean enabled;
+
+    FlagDecision(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+}
@@ -0,0 +1,186 @@
+package co.edu.uco.parameterservices.catalog.parameter.domain;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reglas de un parámetro FLAG ya compiladas. El valor crudo es JSON, por ejemplo:
+ * {"enabled": true, "environments": ["prod"], "allow": ["u1"], "deny": ["u2"], "rollout": 25}
+ * Se evalúa en orden: habilitado, ambiente, exclusión, inclusión y porcentaje. Sin "rollout"
+ * se activa para todos los que pasen las reglas anteriores (100%); con "rollout": 0 solo para la
+ * lista de inclusión. El porcentaje se decide con un hash de salt (por defecto la clave del flag)
+ * y el id de usuario, así que cada usuario recibe siempre la misma respuesta.
+ * La evaluación no reserva memoria: solo compara contra arreglos y conjuntos ya construidos
+ */
+public final class FlagRule {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Set<String> FIELDS = Set.of("enabled", "environments", "allow", "deny", "rollout", "salt");
+    private static final int BUCKETS = 10_000;
+
+    private final boolean enabled;
+    private final String[] environments;
+    private final Set<String> allow;
+    private final Set<String> deny;
+    private final int rolloutBuckets;
+    private final String salt;
+
+    private FlagRule(boolean enabled, String[] environments, Set<String> allow, Set<String> deny,
+            int rolloutBuckets, String salt) {
+        this.enabled = enabled;
+        this.environments = environments;
+        this.allow = allow;
+        this.deny = deny;
+        this.rolloutBuckets = rolloutBuckets;
+        this.salt = salt;
+    }
+
+    /**
+     * @throws IllegalArgumentException si la definición no es válida
+     */
+    public static FlagRule compile(String raw) {
+        JsonNode node;
+        try {
+            node = JSON.readTree(raw);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("definición de flag inválida: " + e.getOriginalMessage());
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("la definición de un flag debe ser un objeto JSON");
+        }
+        for (Iterator<String> names = node.fieldNames(); names.hasNext();) {
+            String name = names.next();
+            if (!FIELDS.contains(name)) {
+                throw new IllegalArgumentException("campo desconocido en el flag: " + name);
+            }
+        }
+        JsonNode enabled = node.path("enabled");
+        if (!enabled.isMissingNode() && !enabled.isBoolean()) {
+            throw new IllegalArgumentException("'enabled' debe ser true o false");
+        }
+        double rollout = node.path("rollout").asDouble(100);
+        if (node.has("rollout") && (!node.get("rollout").isNumber() || rollout < 0 || rollout > 100)) {
+            throw new IllegalArgumentException("'rollout' debe ser un porcentaje entre 0 y 100");
+        }
+        JsonNode salt = node.path("salt");
+        return new FlagRule(enabled.asBoolean(true),
+                strings(node, "environments").toArray(String[]::new),
+                Set.copyOf(strings(node, "allow")),
+                Set.copyOf(strings(node, "deny")),
+                (int) Math.round(rollout * BUCKETS / 100),
+                salt.isTextual() && !salt.asText().isBlank() ? salt.asText() : null);
+    }
+
+    private static List<String> strings(JsonNode node, String field) {
+        JsonNode values = node.path(field);
+        if (values.isMissingNode() || values.isNull()) {
+            return List.of();
+        }
+        if (!values.isArray()) {
+            throw new IllegalArgumentException("'" + field + "' debe ser una lista de textos");
+        }
+        Set<String> result = new HashSet<>();
+        for (JsonNode value : values) {
+            if (!value.isTextual() || value.asText().isBlank()) {
+                throw new IllegalArgumentException("'" + field + "' debe ser una lista de textos");
+            }
+            result.add(value.asText().trim());
+        }
+        return List.copyOf(result);
+    }
+
+    public FlagDecision evaluate(String flagKey, FlagContext context) {
+        if (!enabled) {
+            return FlagDecision.OFF;
+        }
+        String userId = context.userId();
+        if (environments.length > 0 && !targets(context.environment())) {
+            return FlagDecision.ENVIRONMENT;
+        }
+        if (userId != null && deny.contains(userId)) {
+            return FlagDecision.DENIED;
+        }
+        if (userId != null && allow.contains(userId)) {
+            return FlagDecision.ALLOWED;
+        }
+        if (rolloutBuckets >= BUCKETS) {
+            return FlagDecision.ROLLOUT_IN;
+        }
+        if (userId == null || rolloutBuckets == 0) {
+            return FlagDecision.ROLLOUT_OUT;
+        }
+        return bucket(salt != null ? salt : flagKey, userId) < rolloutBuckets
+                ? FlagDecision.ROLLOUT_IN : FlagDecision.ROLLOUT_OUT;
+    }
+
+    private boolean targets(String environment) {
+        if (environment == null) {
+            return false;
+        }
+        for (String candidate : environments) {
+            if (candidate.equalsIgnoreCase(environment)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Cubeta 0..9999 del usuario: murmur3 de 32 bits sobre los caracteres de salt + ':' + userId
+     */
+    static int bucket(String salt, String userId) {
+        int h = mix(mix(mix(0x9747b28c, salt), ':'), userId);
+        h ^= salt.length() + 1 + userId.length();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return Math.floorMod(h, BUCKETS);
+    }
+
+    private static int mix(int h, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            h = mix(h, value.charAt(i));
+        }
+        return h;
+    }
+
+    private static int mix(int h, char c) {
+        int k = c * 0xcc9e2d51;
+        k = Integer.rotateLeft(k, 15) * 0x1b873593;
+        h ^= k;
+        return Integer.rotateLeft(h, 13) * 5 + 0xe6546b64;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public List<String> getEnvironments() {
+        return Arrays.asList(environments);
+    }
+
+    public Set<String> getAllow() {
+        return allow;
+    }
+
+    public Set<String> getDeny() {
+        return deny;
+    }
+
+    public double getRollout() {
+        return rolloutBuckets * 100.0 / BUCKETS;
+    }
+
+    public String getSalt() {
+        return salt;
+    }
+}
@@ -1,17 +1,30 @@
 package co.edu.uco.parameterservices.catalog.parameter.domain;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class Parameter {
 
 	private String key;
 	private String value;
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private ParameterType type; // null = STRING sin validación
+	
 	
 	
+	public Parameter() {
+		// Constructor vacío requerido para serialización (Redis/Jackson)
+	}
 	
 	public Parameter(String key, String value) {
 		setKey(key);
 		setValue(value);
 	}
 	
+	public Parameter(String key, String value, ParameterType type) {
+		this(key, value);
+		setType(type);
+	}
+	
 	
 	public String getKey() {
 		return key;
@@ -25,6 +38,12 @@ public class Parameter {
 	public void setValue(String value) {
 		this.value = value;
 	}
+	public ParameterType getType() {
+		return type;
+	}
+	public void setType(ParameterType type) {
+		this.type = type;
+	}
 	
 	
 }
@@ -0,0 +1,113 @@
+package co.edu.uco.parameterservices.catalog.parameter.domain;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Tipos de valor de un parámetro
+ * Cada tipo valida y convierte el texto crudo a su representación tipada
+ */
+public enum ParameterType {
+
+    STRING {
+        @Override
+        Object convert(String raw) {
+            return raw;
+        }
+    },
+    INT {
+        @Override
+        Object convert(String raw) {
+            return Integer.valueOf(raw.trim());
+        }
+    },
+    LONG {
+        @Override
+        Object convert(String raw) {
+            return Long.valueOf(raw.trim());
+        }
+    },
+    BOOLEAN {
+        @Override
+        Object convert(String raw) {
+            String value = raw.trim().toLowerCase(Locale.ROOT);
+            if (!"true".equals(value) && !"false".equals(value)) {
+                throw new IllegalArgumentException("se esperaba true o false");
+            }
+            return Boolean.valueOf(value);
+        }
+    },
+    DATE {
+        @Override
+        Object convert(String raw) {
+            // Formato histórico del catálogo (31/12/2500) o ISO-8601 (2500-12-31)
+            String value = raw.trim();
+            return value.contains("/")
+                    ? LocalDate.parse(value, DD_MM_YYYY)
+                    : LocalDate.parse(value);
+        }
+    },
+    DURATION {
+        @Override
+        Object convert(String raw) {
+            // ISO-8601 (PT5M) o formato simple (30s, 5m, 2h)
+            return DurationStyle.detectAndParse(raw.trim());
+        }
+    },
+    EMAIL {
+        @Override
+        Object convert(String raw) {
+            String value = raw.trim();
+            if (!EMAIL_PATTERN.matcher(value).matches()) {
+                throw new IllegalArgumentException("correo electrónico inválido");
+            }
+            return value;
+        }
+    },
+    LIST {
+        @Override
+        Object convert(String raw) {
+            if (raw.isBlank()) {
+                return List.of();
+            }
+            return Arrays.stream(raw.split(",")).map(String::trim).toList();
+        }
+    },
+    FLAG {
+        @Override
+        Object convert(String raw) {
+            // Reglas en JSON, compiladas una vez y cacheadas con el valor tipado
+            return FlagRule.compile(raw);
+        }
+    };
+
+    private static final DateTimeFormatter DD_MM_YYYY = DateTimeFormatter.ofPattern("dd/MM/uuuu");
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    abstract Object convert(String raw);
+
+    /**
+     * Convierte el valor crudo; lanza IllegalArgumentException si no es válido para el tipo
+     */
+    public Object parse(String key, String raw) {
+        if (raw == null) {
+            throw new IllegalArgumentException("El parámetro '" + key + "' no tiene valor");
+        }
+        try {
+            return convert(raw);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException(
+                    "Valor inválido para el parámetro '" + key + "' de tipo " + name() + ": " + raw, e);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "Valor inválido para el parámetro '" + key + "' de tipo " + name() + ": " + e.getMessage(), e);
+        }
+    }
+}
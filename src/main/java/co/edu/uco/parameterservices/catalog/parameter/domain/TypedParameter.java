@@ -0,0 +1,46 @@
+package co.edu.uco.parameterservices.catalog.parameter.domain;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Parámetro con su valor ya convertido al tipo declarado
+ * Se cachea junto al valor crudo para que los consumidores no vuelvan a parsear
+ */
+public record TypedParameter(String key, ParameterType type, String raw, Object value) {
+
+    /**
+     * Valida y convierte un parámetro; sin tipo declarado se trata como STRING
+     */
+    public static TypedParameter of(Parameter parameter) {
+        ParameterType type = parameter.getType() == null ? ParameterType.STRING : parameter.getType();
+        return new TypedParameter(parameter.getKey(), type, parameter.getValue(),
+                type.parse(parameter.getKey(), parameter.getValue()));
+    }
+
+    /**
+     * true si esta conversión corresponde al valor crudo y al tipo actuales del parámetro
+     */
+    public boolean matches(Parameter parameter) {
+        ParameterType current = parameter.getType() == null ? ParameterType.STRING : parameter.getType();
+        return current == type && Objects.equals(raw, parameter.getValue());
+    }
+
+    /**
+     * Valor como el tipo pedido: si coincide con el declarado no se parsea de nuevo
+     */
+    public Object as(ParameterType requested) {
+        return requested == type ? value : requested.parse(key, raw);
+    }
+
+    /**
+     * Valor apto para JSON: fechas y duraciones en ISO-8601
+     */
+    public Object jsonValue() {
+        if (value instanceof LocalDate || value instanceof Duration) {
+            return value.toString();
+        }
+        return value;
+    }
+}
@@ -1,13 +1,30 @@
 package co.edu.uco.parameterservices.catalog.parameter.service;
 
+import java.io.InputStream;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.springframework.stereotype.Service;
 
+import co.edu.uco.parameterservices.catalog.parameter.domain.FlagContext;
+import co.edu.uco.parameterservices.catalog.parameter.domain.FlagDecision;
 import co.edu.uco.parameterservices.catalog.parameter.domain.Parameter;
+import co.edu.uco.parameterservices.catalog.parameter.domain.TypedParameter;
+import co.edu.uco.parameterservices.catalog.support.CatalogPage;
+import co.edu.uco.parameterservices.catalog.support.ImportResult;
+import co.edu.uco.parameterservices.catalog.support.SearchPage;
 
 @Service
 public interface ParameterService {
     Parameter findByKey(String key);
     Map<String, Parameter> findAll();
+    String catalogVersion();
+    TypedParameter findTypedByKey(String key);
+    Map<String, TypedParameter> findAllTyped();
+    CatalogPage<Parameter> findPage(String cursor, int size);
+    void forEachBatch(int batchSize, Consumer<Map<String, Parameter>> consumer);
+    SearchPage<Parameter> search(String prefix, String query, int page, int size);
+    ImportResult importEntries(InputStream input, String contentType);
+    Map<String, FlagDecision> evaluateFlags(List<String> keys, FlagContext context);
 }
\ No newline at end of file
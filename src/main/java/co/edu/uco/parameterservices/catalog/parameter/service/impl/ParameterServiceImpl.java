@@ -1,19 +1,52 @@
 package co.edu.uco.parameterservices.catalog.parameter.service.impl;
 
+import java.io.InputStream;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+
 import org.springframework.stereotype.Service;
 
 import co.edu.uco.parameterservices.catalog.parameter.ParameterCatalog;
+import co.edu.uco.parameterservices.catalog.parameter.domain.FlagContext;
+import co.edu.uco.parameterservices.catalog.parameter.domain.FlagDecision;
 import co.edu.uco.parameterservices.catalog.parameter.domain.Parameter;
+import co.edu.uco.parameterservices.catalog.parameter.domain.TypedParameter;
 import co.edu.uco.parameterservices.catalog.parameter.service.ParameterService;
+import co.edu.uco.parameterservices.catalog.support.CatalogImporter;
+import co.edu.uco.parameterservices.catalog.support.CatalogPage;
+import co.edu.uco.parameterservices.catalog.support.ImportResult;
+import co.edu.uco.parameterservices.catalog.support.SearchPage;
 
 @Service
 public class ParameterServiceImpl implements ParameterService {
 
+    private static final int MAX_FLAGS_PER_EVALUATION = 500;
+
     private final ParameterCatalog catalog;
+    private final CatalogImporter importer;
 
-    public ParameterServiceImpl(ParameterCatalog catalog) {
+    public ParameterServiceImpl(ParameterCatalog catalog, CatalogImporter importer) {
         this.catalog = catalog;
+        this.importer = importer;
+    }
+
+    @Override
+    public ImportResult importEntries(InputStream input, String contentType) {
+        return importer.importEntries(input, contentType, catalog);
+    }
+
+    /**
+     * Evalúa varios flags con un mismo contexto; sin claves evalúa todos los flags del catálogo
+     */
+    @Override
+    public Map<String, FlagDecision> evaluateFlags(List<String> keys, FlagContext context) {
+        List<String> flags = keys == null || keys.isEmpty() ? catalog.flagKeys() : keys;
+        if (flags.size() > MAX_FLAGS_PER_EVALUATION) {
+            throw new IllegalArgumentException(
+                    "Se pueden evaluar hasta " + MAX_FLAGS_PER_EVALUATION + " flags por petición");
+        }
+        return catalog.evaluateFlags(flags, context);
     }
 
     @Override
@@ -25,4 +58,34 @@ public class ParameterServiceImpl implements ParameterService {
     public Map<String, Parameter> findAll() {
         return catalog.getAllParameters();
     }
+
+    @Override
+    public String catalogVersion() {
+        return catalog.version();
+    }
+
+    @Override
+    public TypedParameter findTypedByKey(String key) {
+        return catalog.getTypedParameter(key);
+    }
+
+    @Override
+    public Map<String, TypedParameter> findAllTyped() {
+        return catalog.getAllTypedParameters();
+    }
+
+    @Override
+    public CatalogPage<Parameter> findPage(String cursor, int size) {
+        return catalog.getParametersPage(cursor, size);
+    }
+
+    @Override
+    public void forEachBatch(int batchSize, Consumer<Map<String, Parameter>> consumer) {
+        catalog.forEachBatch(batchSize, consumer);
+    }
+
+    @Override
+    public SearchPage<Parameter> search(String prefix, String query, int page, int size) {
+        return catalog.search(prefix, query, page, size);
+    }
 }
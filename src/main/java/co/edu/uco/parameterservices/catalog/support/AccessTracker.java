@@ -0,0 +1,49 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cuenta accesos por clave entre dos ejecuciones del refresh-ahead
+ * El número de claves rastreadas está acotado para no crecer con tráfico de escaneo
+ */
+public class AccessTracker {
+
+    private final Map<String, LongAdder> hits = new ConcurrentHashMap<>();
+    private final int maxTrackedKeys;
+
+    public AccessTracker(int maxTrackedKeys) {
+        this.maxTrackedKeys = maxTrackedKeys;
+    }
+
+    public void record(String key) {
+        LongAdder counter = hits.get(key);
+        if (counter == null) {
+            if (hits.size() >= maxTrackedKeys) {
+                return;
+            }
+            counter = hits.computeIfAbsent(key, k -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    /**
+     * Devuelve las claves con al menos minHits accesos y reinicia el conteo
+     */
+    public List<String> drainHotKeys(int minHits) {
+        List<String> hotKeys = new ArrayList<>();
+        Iterator<Map.Entry<String, LongAdder>> iterator = hits.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, LongAdder> entry = iterator.next();
+            iterator.remove();
+            if (entry.getValue().sum() >= minHits) {
+                hotKeys.add(entry.getKey());
+            }
+        }
+        return hotKeys;
+    }
+}
@@ -0,0 +1,13 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Fuente que entrega un catálogo completo por lotes (código -> valor)
+ */
+@FunctionalInterface
+public interface CatalogBatchSource<T> {
+
+    void forEachBatch(int batchSize, Consumer<Map<String, T>> consumer);
+}
@@ -0,0 +1,17 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+/**
+ * Cambio en un catálogo, publicado después de escribir en Redis y en memoria
+ * @param catalog nombre del catálogo (HotKeyTelemetry.PARAMETERS, MESSAGES o NOTIFICATIONS)
+ * @param key clave cambiada; null si el cambio afecta a todo el catálogo (clearAll, carga masiva)
+ */
+public record CatalogChangedEvent(String catalog, String key) {
+
+    public static CatalogChangedEvent all(String catalog) {
+        return new CatalogChangedEvent(catalog, null);
+    }
+
+    public boolean wholeCatalog() {
+        return key == null;
+    }
+}
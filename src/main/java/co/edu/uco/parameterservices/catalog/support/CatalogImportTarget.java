@@ -0,0 +1,39 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.util.List;
+
+/**
+ * Catálogo que admite importación masiva mediante CatalogImporter
+ */
+public interface CatalogImportTarget<T> {
+
+    String catalogName();
+
+    Class<T> entryType();
+
+    /**
+     * Código o clave de la entrada, usado en el reporte de errores
+     */
+    String keyOf(T entry);
+
+    /**
+     * Reglas propias del catálogo, además de las anotaciones de Bean Validation
+     * @throws IllegalArgumentException si la entrada no es válida
+     */
+    void validate(T entry);
+
+    /**
+     * Escribe un lote en Redis en un único MULTI/EXEC enviado en pipeline
+     */
+    void writeBatch(List<T> batch);
+
+    /**
+     * Registra en el journal de escrituras un lote que no pudo llegar a Redis
+     */
+    void journalBatch(List<T> batch);
+
+    /**
+     * Aplica todas las entradas importadas a la memoria local, una sola vez al final
+     */
+    void applyLocal(List<T> entries);
+}
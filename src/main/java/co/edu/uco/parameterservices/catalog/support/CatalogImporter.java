@@ -0,0 +1,211 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import co.edu.uco.parameterservices.config.CatalogProperties;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Importación masiva de un catálogo desde JSON (arreglo o mapa por código), NDJSON o CSV con cabecera.
+ * El archivo se lee en streaming, cada entrada se valida y las válidas se escriben en Redis por lotes;
+ * la memoria local y la versión del catálogo se actualizan una sola vez al terminar
+ */
+@Component
+public class CatalogImporter {
+
+    public static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogImporter.class);
+
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+    private final Validator validator;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public CatalogImporter(ObjectMapper objectMapper, Validator validator, CatalogProperties properties) {
+        this.objectMapper = objectMapper;
+        this.csvMapper = CsvMapper.builder()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        this.validator = validator;
+        this.batchSize = properties.getBulkImport().getBatchSize();
+        this.maxReportedErrors = properties.getBulkImport().getMaxReportedErrors();
+    }
+
+    public <T> ImportResult importEntries(InputStream input, String contentType, CatalogImportTarget<T> target) {
+        long start = System.nanoTime();
+        Run<T> run = new Run<>(target);
+        try {
+            read(input, mediaType(contentType), target.entryType(), run::accept);
+        } catch (IOException e) {
+            run.finish();
+            throw new IllegalArgumentException("Archivo de importación inválido cerca de la entrada "
+                    + run.received + " (" + run.imported.size() + " importadas antes del error): "
+                    + e.getMessage(), e);
+        }
+        run.finish();
+
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Importación de {}: {} recibidas, {} importadas, {} rechazadas en {} ms",
+                target.catalogName(), run.received, run.imported.size(), run.rejected, elapsed);
+        return new ImportResult(target.catalogName(), run.received, run.imported.size(), run.rejected,
+                run.batches, run.redisWritten, elapsed, run.errors);
+    }
+
+    private <T> void read(InputStream input, MediaType mediaType, Class<T> type, Consumer<T> sink)
+            throws IOException {
+        if (CSV.isCompatibleWith(mediaType)) {
+            CsvSchema schema = CsvSchema.emptySchema().withHeader();
+            try (MappingIterator<T> values = csvMapper.readerFor(type).with(schema).readValues(input)) {
+                while (values.hasNextValue()) {
+                    sink.accept(values.nextValue());
+                }
+            }
+        } else if (CatalogStreamWriter.NDJSON.isCompatibleWith(mediaType)) {
+            try (MappingIterator<T> values = objectMapper.readerFor(type).readValues(input)) {
+                while (values.hasNextValue()) {
+                    sink.accept(values.nextValue());
+                }
+            }
+        } else {
+            readJson(input, type, sink);
+        }
+    }
+
+    /**
+     * Arreglo de entradas o mapa código → entrada (el formato de los GET del catálogo)
+     */
+    private <T> void readJson(InputStream input, Class<T> type, Consumer<T> sink) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(input)) {
+            JsonToken first = parser.nextToken();
+            if (first == JsonToken.START_ARRAY) {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    sink.accept(objectMapper.readValue(parser, type));
+                }
+            } else if (first == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    parser.nextToken();
+                    sink.accept(objectMapper.readValue(parser, type));
+                }
+            } else if (first != null) {
+                throw new IllegalArgumentException("Se esperaba un arreglo o un objeto JSON");
+            }
+        }
+    }
+
+    private static MediaType mediaType(String contentType) {
+        if (contentType == null || contentType.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        try {
+            return MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            throw new IllegalArgumentException("Content-Type no soportado: " + contentType);
+        }
+    }
+
+    /**
+     * Estado de una importación en curso
+     */
+    private final class Run<T> {
+
+        private final CatalogImportTarget<T> target;
+        private final List<T> imported = new ArrayList<>();
+        private final List<T> batch = new ArrayList<>();
+        private final List<ImportResult.ImportError> errors = new ArrayList<>();
+        private int received;
+        private int rejected;
+        private int batches;
+        private boolean redisWritten = true;
+
+        private Run(CatalogImportTarget<T> target) {
+            this.target = target;
+        }
+
+        void accept(T entry) {
+            int index = received++;
+            String error = validate(entry);
+            if (error != null) {
+                rejected++;
+                if (errors.size() < maxReportedErrors) {
+                    errors.add(new ImportResult.ImportError(index, entry == null ? null : target.keyOf(entry), error));
+                }
+                return;
+            }
+            imported.add(entry);
+            batch.add(entry);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void finish() {
+            flush();
+            if (!imported.isEmpty()) {
+                target.applyLocal(imported);
+            }
+        }
+
+        private String validate(T entry) {
+            if (entry == null) {
+                return "Entrada vacía";
+            }
+            Set<ConstraintViolation<T>> violations = validator.validate(entry);
+            if (!violations.isEmpty()) {
+                return violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+            }
+            try {
+                target.validate(entry);
+                return null;
+            } catch (IllegalArgumentException e) {
+                return e.getMessage();
+            }
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            // Con Redis caído se sigue validando; los lotes restantes van a memoria local y al journal
+            List<T> pendingBatch = List.copyOf(batch);
+            batch.clear();
+            if (redisWritten) {
+                try {
+                    target.writeBatch(pendingBatch);
+                    batches++;
+                    return;
+                } catch (Exception e) {
+                    redisWritten = false;
+                    logger.warn("Redis no disponible durante la importación de {}, se continúa en memoria local: {}",
+                            target.catalogName(), e.getMessage());
+                }
+            }
+            target.journalBatch(pendingBatch);
+        }
+    }
+}
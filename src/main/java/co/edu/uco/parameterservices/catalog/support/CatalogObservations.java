@@ -0,0 +1,77 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import org.springframework.stereotype.Component;
+
+import co.edu.uco.parameterservices.config.CatalogProperties;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Observaciones (span + timer) de las búsquedas en los catálogos. Para que el costo sea
+ * despreciable a plena carga solo se crean dentro de una observación en curso (petición
+ * HTTP trazada); los hilos de fondo como refresh-ahead no generan spans. La clave buscada
+ * y el tamaño van como atributos de alta cardinalidad: solo llegan al span, no a las métricas
+ */
+@Component
+public class CatalogObservations {
+
+    public static final String LOOKUP = "catalog.lookup";
+    public static final String RENDER = "catalog.template.render";
+
+    public static final String TIER_REDIS = "redis";
+    public static final String TIER_MEMORY = "memory";
+    public static final String TIER_BUNDLE = "bundle";
+    public static final String TIER_NONE = "none";
+
+    private final ObservationRegistry registry;
+    private final boolean lookupsEnabled;
+
+    public CatalogObservations(ObservationRegistry registry, CatalogProperties properties) {
+        this.registry = registry;
+        this.lookupsEnabled = properties.getObservability().isLookups();
+    }
+
+    /**
+     * Inicia la observación de una búsqueda; Observation.NOOP si no hay traza activa
+     */
+    public Observation startLookup(String catalog, String key) {
+        if (!lookupsEnabled || registry.getCurrentObservation() == null) {
+            return Observation.NOOP;
+        }
+        return Observation.createNotStarted(LOOKUP, registry)
+                .contextualName(catalog + " lookup")
+                .lowCardinalityKeyValue("catalog", catalog)
+                .highCardinalityKeyValue("catalog.key", String.valueOf(key))
+                .start();
+    }
+
+    /**
+     * @param tier nivel que resolvió la búsqueda (redis, memory, bundle o none)
+     * @param payloadSize caracteres del contenido encontrado; negativo si no hubo
+     */
+    public void stopLookup(Observation observation, String tier, int payloadSize) {
+        if (observation.isNoop()) {
+            return;
+        }
+        observation.lowCardinalityKeyValue("tier", tier)
+                .lowCardinalityKeyValue("hit", String.valueOf(payloadSize >= 0));
+        if (payloadSize >= 0) {
+            observation.highCardinalityKeyValue("payload.size", String.valueOf(payloadSize));
+        }
+        observation.stop();
+    }
+
+    /**
+     * Observación del procesamiento de un template; siempre se crea (ocurre una vez por envío)
+     */
+    public Observation startRender(String templateCode) {
+        return Observation.createNotStarted(RENDER, registry)
+                .contextualName("render " + templateCode)
+                .highCardinalityKeyValue("template.code", String.valueOf(templateCode))
+                .start();
+    }
+
+    public static int sizeOf(String text) {
+        return text == null ? 0 : text.length();
+    }
+}
@@ -0,0 +1,14 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.util.Map;
+
+/**
+ * Página de un catálogo recorrido con cursor
+ * @param items entradas de la página (código -> valor)
+ * @param cursor cursor para pedir la siguiente página; "0" cuando ya no hay más
+ * @param complete true si esta es la última página
+ */
+public record CatalogPage<T>(Map<String, T> items, String cursor, boolean complete) {
+
+    public static final String START = "0";
+}
@@ -0,0 +1,222 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.ScanArgs;
+import io.lettuce.core.ScanCursor;
+import io.lettuce.core.api.async.RedisKeyAsyncCommands;
+
+/**
+ * Recorre un catálogo de Redis por lotes con SCAN + MGET en lugar de KEYS + un GET por clave
+ * Si Redis no está disponible pagina sobre la memoria local con cursores "local:{offset}"
+ */
+public class CatalogPager<T> implements CatalogBatchSource<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogPager.class);
+    private static final String LOCAL_CURSOR = "local:";
+    private static final long SCAN_TIMEOUT_SECONDS = 10;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final String prefix;
+    private final Class<T> type;
+    private final Supplier<Map<String, T>> localTier;
+
+    public CatalogPager(RedisTemplate<String, Object> redisTemplate, String prefix, Class<T> type,
+            Supplier<Map<String, T>> localTier) {
+        this.redisTemplate = redisTemplate;
+        this.prefix = prefix;
+        this.type = type;
+        this.localTier = localTier;
+    }
+
+    /**
+     * Devuelve al menos una entrada (salvo al final) y aproximadamente size entradas
+     * SCAN no garantiza el tamaño exacto de cada lote
+     */
+    public CatalogPage<T> page(String cursor, int size) {
+        if (size <= 0 || size > SearchPage.MAX_PAGE_SIZE * 10) {
+            throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y " + SearchPage.MAX_PAGE_SIZE * 10);
+        }
+        String current = (cursor == null || cursor.isBlank()) ? CatalogPage.START : cursor;
+        if (current.startsWith(LOCAL_CURSOR)) {
+            return localPage(parseOffset(current), size);
+        }
+        try {
+            Map<String, T> items = new LinkedHashMap<>();
+            do {
+                ScanBatch batch = scan(current, size);
+                if (batch == null) {
+                    break;
+                }
+                items.putAll(fetch(batch.keys()));
+                current = batch.cursor();
+            } while (items.size() < size && !CatalogPage.START.equals(current));
+            if (!items.isEmpty() || CatalogPage.START.equals(current)) {
+                return new CatalogPage<>(items, current, CatalogPage.START.equals(current));
+            }
+        } catch (Exception e) {
+            logger.warn("Redis no disponible para paginar '{}', usando memoria local: {}", prefix, e.getMessage());
+        }
+        return localPage(0, size);
+    }
+
+    /**
+     * Entrega el catálogo completo por lotes a medida que se lee de Redis
+     * Si Redis falla antes del primer lote se entrega la memoria local
+     */
+    @Override
+    public void forEachBatch(int batchSize, Consumer<Map<String, T>> consumer) {
+        String cursor = CatalogPage.START;
+        boolean delivered = false;
+        try {
+            do {
+                ScanBatch batch = scan(cursor, batchSize);
+                if (batch == null) {
+                    break;
+                }
+                Map<String, T> items = fetch(batch.keys());
+                if (!items.isEmpty()) {
+                    consumer.accept(items);
+                    delivered = true;
+                }
+                cursor = batch.cursor();
+            } while (!CatalogPage.START.equals(cursor));
+        } catch (RuntimeException e) {
+            if (delivered) {
+                throw e;
+            }
+            logger.warn("Redis no disponible para recorrer '{}', usando memoria local: {}", prefix, e.getMessage());
+        }
+        if (!delivered) {
+            List<Map.Entry<String, T>> entries = new ArrayList<>(new TreeMap<>(localTier.get()).entrySet());
+            for (int from = 0; from < entries.size(); from += batchSize) {
+                Map<String, T> items = new LinkedHashMap<>();
+                for (Map.Entry<String, T> entry : entries.subList(from, Math.min(from + batchSize, entries.size()))) {
+                    items.put(entry.getKey(), entry.getValue());
+                }
+                consumer.accept(items);
+            }
+        }
+    }
+
+    /**
+     * Recorre solo las claves del catálogo (sin prefijo y sin leer valores)
+     * A diferencia de forEachBatch, un fallo de Redis se propaga
+     */
+    public void forEachKey(int batchSize, Consumer<List<String>> consumer) {
+        String cursor = CatalogPage.START;
+        do {
+            ScanBatch batch = scan(cursor, batchSize);
+            if (batch == null) {
+                throw new IllegalStateException("SCAN sin respuesta para '" + prefix + "'");
+            }
+            List<String> keys = new ArrayList<>(batch.keys().size());
+            for (String key : batch.keys()) {
+                keys.add(key.substring(prefix.length()));
+            }
+            if (!keys.isEmpty()) {
+                consumer.accept(keys);
+            }
+            cursor = batch.cursor();
+        } while (!CatalogPage.START.equals(cursor));
+    }
+
+    /**
+     * Claves completas (con prefijo) del catálogo, para leerlas luego en otra operación
+     * Un fallo de Redis se propaga
+     */
+    public List<String> scanKeys(int batchSize) {
+        List<String> keys = new ArrayList<>();
+        String cursor = CatalogPage.START;
+        do {
+            ScanBatch batch = scan(cursor, batchSize);
+            if (batch == null) {
+                throw new IllegalStateException("SCAN sin respuesta para '" + prefix + "'");
+            }
+            keys.addAll(batch.keys());
+            cursor = batch.cursor();
+        } while (!CatalogPage.START.equals(cursor));
+        return keys;
+    }
+
+    /**
+     * Entradas (claves sin prefijo) a partir de un MGET de claves completas; descarta valores
+     * ausentes o de otro tipo
+     */
+    public Map<String, T> entries(List<String> keys, List<?> values) {
+        Map<String, T> items = new LinkedHashMap<>();
+        for (int i = 0; values != null && i < keys.size(); i++) {
+            Object value = values.get(i);
+            if (type.isInstance(value)) {
+                items.put(keys.get(i).substring(prefix.length()), type.cast(value));
+            }
+        }
+        return items;
+    }
+
+    private ScanBatch scan(String cursor, int count) {
+        return redisTemplate.execute((RedisCallback<ScanBatch>) connection -> {
+            @SuppressWarnings("unchecked")
+            RedisKeyAsyncCommands<byte[], byte[]> commands =
+                    (RedisKeyAsyncCommands<byte[], byte[]>) connection.getNativeConnection();
+            ScanArgs args = ScanArgs.Builder.matches(prefix + "*").limit(count);
+            try {
+                KeyScanCursor<byte[]> result = commands.scan(ScanCursor.of(cursor), args)
+                        .get(SCAN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                List<String> keys = new ArrayList<>(result.getKeys().size());
+                for (byte[] key : result.getKeys()) {
+                    keys.add(new String(key, StandardCharsets.UTF_8));
+                }
+                return new ScanBatch(keys, result.isFinished() ? CatalogPage.START : result.getCursor());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("SCAN interrumpido", e);
+            } catch (Exception e) {
+                throw new IllegalStateException("Error ejecutando SCAN: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    private Map<String, T> fetch(List<String> keys) {
+        if (keys.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        return entries(keys, redisTemplate.opsForValue().multiGet(keys));
+    }
+
+    private CatalogPage<T> localPage(int offset, int size) {
+        List<Map.Entry<String, T>> entries = new ArrayList<>(new TreeMap<>(localTier.get()).entrySet());
+        Map<String, T> items = new LinkedHashMap<>();
+        int end = Math.min(offset + size, entries.size());
+        for (int i = offset; i < end; i++) {
+            items.put(entries.get(i).getKey(), entries.get(i).getValue());
+        }
+        boolean complete = end >= entries.size();
+        return new CatalogPage<>(items, complete ? CatalogPage.START : LOCAL_CURSOR + end, complete);
+    }
+
+    private static int parseOffset(String cursor) {
+        try {
+            return Math.max(0, Integer.parseInt(cursor.substring(LOCAL_CURSOR.length())));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+    }
+
+    private record ScanBatch(List<String> keys, String cursor) {
+    }
+}
@@ -0,0 +1,189 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import co.edu.uco.parameterservices.config.CatalogProperties;
+
+/**
+ * Respuestas ya serializadas (y comprimidas con gzip) de los listados completos,
+ * guardadas por catálogo, formato y versión. Mientras la versión no cambie, una
+ * petición cuesta escribir el arreglo de bytes; un cambio de versión reemplaza la
+ * entrada completa de una vez
+ */
+@Component
+public class CatalogResponseCache {
+
+    public static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private static final String ENCODING_GZIP = "gzip";
+    // Las variantes dependen de cabeceras del cliente (ej: Accept-Language): se acota su número
+    private static final int MAX_ENTRIES = 256;
+
+    private final Map<MediaType, ObjectMapper> mappers = new LinkedHashMap<>();
+    private final Map<String, Encoded> entries = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long maxAgeMillis;
+    private final int gzipMinBytes;
+
+    public CatalogResponseCache(ObjectMapper objectMapper,
+            ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilders, CatalogProperties properties) {
+        // El orden define la preferencia cuando Accept admite varios formatos con igual calidad
+        mappers.put(MediaType.APPLICATION_JSON, objectMapper);
+        mappers.put(MediaType.APPLICATION_CBOR, objectMapperBuilders.getObject().factory(new CBORFactory()).build());
+        mappers.put(SMILE, objectMapperBuilders.getObject().factory(new SmileFactory()).build());
+        this.enabled = properties.getResponseCache().isEnabled();
+        this.maxAgeMillis = properties.getResponseCache().getMaxAge().toMillis();
+        this.gzipMinBytes = properties.getResponseCache().getGzipMinBytes();
+    }
+
+    /**
+     * Responde un listado completo desde la caché, reconstruyéndolo si la versión cambió
+     * @param cacheKey catálogo y variante (ej: "messages:en")
+     * @param version versión vigente del catálogo, leída antes de cargar los datos
+     * @param vary cabeceras de la petición que, además de Accept y Accept-Encoding, cambian la respuesta
+     */
+    public ResponseEntity<byte[]> respond(String cacheKey, String version, HttpHeaders request,
+            Supplier<?> loader, String... vary) {
+        MediaType mediaType = negotiate(request);
+        if (mediaType == null) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        }
+
+        String entryKey = cacheKey + "|" + mediaType;
+        long now = System.currentTimeMillis();
+        Encoded encoded = enabled ? entries.get(entryKey) : null;
+        if (encoded == null || !encoded.isValid(version, now, maxAgeMillis)) {
+            if (encoded == null && entries.size() >= MAX_ENTRIES) {
+                entries.clear();
+            }
+            // compute serializa la reconstrucción por entrada: una sola carga ante ráfagas
+            encoded = entries.compute(entryKey, (key, current) -> current != null
+                    && current.isValid(version, now, maxAgeMillis)
+                    ? current : encode(mediaType, version, loader.get()));
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(encoded.etag());
+        headers.setVary(varyHeaders(vary));
+        if (matches(request.getIfNoneMatch(), encoded.etag())) {
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+
+        headers.setContentType(mediaType);
+        if (encoded.gzip() != null && acceptsGzip(request)) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, ENCODING_GZIP);
+            return new ResponseEntity<>(encoded.gzip(), headers, HttpStatus.OK);
+        }
+        return new ResponseEntity<>(encoded.body(), headers, HttpStatus.OK);
+    }
+
+    private Encoded encode(MediaType mediaType, String version, Object value) {
+        try {
+            byte[] body = mappers.get(mediaType).writeValueAsBytes(value);
+            byte[] gzip = body.length >= gzipMinBytes ? gzip(body) : null;
+            String etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+            return new Encoded(version, System.currentTimeMillis(), body, gzip, etag);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el catálogo", e);
+        }
+    }
+
+    private MediaType negotiate(HttpHeaders request) {
+        List<MediaType> accepted;
+        try {
+            accepted = request.getAccept();
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        if (accepted.isEmpty()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        // Mayor calidad primero; a igual q, los tipos concretos antes que los comodines y luego
+        // el orden del encabezado (el sort es estable)
+        List<MediaType> byQuality = new ArrayList<>(accepted);
+        byQuality.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed()
+                .thenComparing(MediaType::isWildcardType)
+                .thenComparing(MediaType::isWildcardSubtype));
+        for (MediaType candidate : byQuality) {
+            if (candidate.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType produced : mappers.keySet()) {
+                if (candidate.isCompatibleWith(produced)) {
+                    return produced;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean acceptsGzip(HttpHeaders request) {
+        for (String value : request.getOrEmpty(HttpHeaders.ACCEPT_ENCODING)) {
+            for (String coding : value.split(",")) {
+                String[] parts = coding.trim().split(";");
+                if (ENCODING_GZIP.equalsIgnoreCase(parts[0].trim())) {
+                    return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(List<String> ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch) {
+            String tag = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+            if ("*".equals(tag) || etag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> varyHeaders(String... vary) {
+        List<String> headers = new ArrayList<>(List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING));
+        headers.addAll(List.of(vary));
+        return headers;
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private record Encoded(String version, long builtAt, byte[] body, byte[] gzip, String etag) {
+
+        boolean isValid(String currentVersion, long now, long maxAgeMillis) {
+            return version.equals(currentVersion) && now - builtAt < maxAgeMillis;
+        }
+    }
+}
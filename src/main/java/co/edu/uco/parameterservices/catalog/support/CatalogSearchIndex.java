@@ -0,0 +1,69 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Índices de búsqueda de un catálogo: trie por código y texto completo por contenido
+ * Se actualizan de forma incremental en cada synchronize/remove
+ */
+public class CatalogSearchIndex {
+
+    private final PrefixTrie codes = new PrefixTrie();
+    private final InvertedIndex texts = new InvertedIndex();
+
+    public void index(String code, String text) {
+        codes.insert(code);
+        texts.index(code, text);
+    }
+
+    public void remove(String code) {
+        codes.remove(code);
+        texts.remove(code);
+    }
+
+    public void clear() {
+        codes.clear();
+        texts.clear();
+    }
+
+    /**
+     * Códigos ordenados que cumplen el prefijo y/o contienen la frase
+     * @param prefix prefijo de código (acepta comodín final, ej: "USR_*")
+     * @param query frase a buscar en el contenido
+     */
+    public List<String> search(String prefix, String query) {
+        boolean byPrefix = prefix != null && !prefix.isBlank();
+        boolean byText = query != null && !query.isBlank();
+        if (!byPrefix && !byText) {
+            throw new IllegalArgumentException("Debe indicar 'prefix' o 'q' para la búsqueda");
+        }
+        if (!byText) {
+            return codes.withPrefix(stripWildcard(prefix));
+        }
+        Set<String> matches = texts.search(query);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        if (!byPrefix) {
+            List<String> result = new ArrayList<>(matches);
+            result.sort(Comparator.comparing((String code) -> code.toLowerCase(Locale.ROOT)));
+            return result;
+        }
+        List<String> result = new ArrayList<>();
+        for (String code : codes.withPrefix(stripWildcard(prefix))) {
+            if (matches.contains(code)) {
+                result.add(code);
+            }
+        }
+        return result;
+    }
+
+    private static String stripWildcard(String prefix) {
+        String trimmed = prefix.trim();
+        return trimmed.endsWith("*") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
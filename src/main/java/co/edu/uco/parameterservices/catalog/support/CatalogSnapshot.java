@@ -0,0 +1,122 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+
+/**
+ * Lee varios catálogos como una sola foto. Primero recorre las claves de cada uno con SCAN y
+ * después lee versiones y valores en un único MULTI/EXEC enviado en pipeline (un viaje de red).
+ * Si las versiones dentro de la transacción no coinciden con las leídas antes del SCAN, una
+ * escritura pudo agregar o quitar claves en medio y se repite la lectura
+ */
+public final class CatalogSnapshot {
+
+    /**
+     * Catálogo a leer
+     * @param fallback listado completo del catálogo cuando Redis no responde o está vacío
+     */
+    public record Source<T>(String catalog, CatalogPager<T> pager, CatalogVersion version,
+            Supplier<Map<String, T>> fallback) {
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshot.class);
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int MGET_BATCH_SIZE = 1_000;
+
+    private CatalogSnapshot() {
+    }
+
+    /**
+     * @return entradas de cada catálogo por nombre, en el orden de sources
+     */
+    public static Map<String, Map<String, ?>> read(RedisTemplate<String, Object> redisTemplate,
+            List<Source<?>> sources) {
+        List<String> versionKeys = sources.stream().map(source -> source.version().key()).toList();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                List<Object> before = redisTemplate.opsForValue().multiGet(versionKeys);
+                List<List<String>> keys = new ArrayList<>();
+                for (Source<?> source : sources) {
+                    keys.add(source.pager().scanKeys(MGET_BATCH_SIZE));
+                }
+                List<Object> results = readAtomically(redisTemplate, versionKeys, keys);
+                if (sameVersions(before, results.get(0)) || attempt == MAX_ATTEMPTS) {
+                    if (attempt == MAX_ATTEMPTS) {
+                        logger.debug("Foto de catálogos tomada con escrituras concurrentes tras {} intentos", attempt);
+                    }
+                    return assemble(sources, keys, results);
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Redis no disponible para la foto de catálogos, usando memoria local: {}", e.getMessage());
+            Map<String, Map<String, ?>> local = new LinkedHashMap<>();
+            sources.forEach(source -> local.put(source.catalog(), source.fallback().get()));
+            return local;
+        }
+    }
+
+    // Resultado del EXEC: versiones y luego un MGET por lote de claves de cada catálogo
+    @SuppressWarnings("unchecked")
+    private static List<Object> readAtomically(RedisTemplate<String, Object> redisTemplate,
+            List<String> versionKeys, List<List<String>> keys) {
+        List<Object> pipelined = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> session = (RedisOperations<String, Object>) operations;
+                session.multi();
+                session.opsForValue().multiGet(versionKeys);
+                for (List<String> catalogKeys : keys) {
+                    for (int from = 0; from < catalogKeys.size(); from += MGET_BATCH_SIZE) {
+                        session.opsForValue().multiGet(
+                                catalogKeys.subList(from, Math.min(from + MGET_BATCH_SIZE, catalogKeys.size())));
+                    }
+                }
+                session.exec();
+                return null;
+            }
+        });
+        if (pipelined.isEmpty() || !(pipelined.get(pipelined.size() - 1) instanceof List<?> exec)) {
+            throw new IllegalStateException("La transacción de lectura de catálogos no devolvió resultados");
+        }
+        return (List<Object>) exec;
+    }
+
+    private static boolean sameVersions(List<Object> before, Object during) {
+        if (before == null || !(during instanceof List<?> versions) || versions.size() != before.size()) {
+            return false;
+        }
+        for (int i = 0; i < before.size(); i++) {
+            if (CatalogVersion.shared(before.get(i)) != CatalogVersion.shared(versions.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<String, Map<String, ?>> assemble(List<Source<?>> sources, List<List<String>> keys,
+            List<Object> results) {
+        Map<String, Map<String, ?>> snapshot = new LinkedHashMap<>();
+        int result = 1;
+        for (int i = 0; i < sources.size(); i++) {
+            Source<?> source = sources.get(i);
+            List<String> catalogKeys = keys.get(i);
+            List<Object> values = new ArrayList<>(catalogKeys.size());
+            for (int from = 0; from < catalogKeys.size(); from += MGET_BATCH_SIZE) {
+                values.addAll((List<?>) results.get(result++));
+            }
+            Map<String, ?> entries = source.pager().entries(catalogKeys, values);
+            snapshot.put(source.catalog(), entries.isEmpty() ? source.fallback().get() : entries);
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,97 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Escribe un catálogo en la respuesta a medida que se lee de Redis
+ * Formatos: NDJSON (una entrada por línea) o arreglo JSON
+ * Admite proyección de campos para reducir el tamaño (ej: templates sin "body")
+ */
+public final class CatalogStreamWriter {
+
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    public static final int DEFAULT_BATCH_SIZE = 200;
+
+    private CatalogStreamWriter() {
+    }
+
+    public static <T> StreamingResponseBody stream(CatalogBatchSource<T> source, ObjectMapper mapper,
+            boolean ndjson, Set<String> fields) {
+        return outputStream -> {
+            JsonGenerator generator = mapper.getFactory().createGenerator(outputStream);
+            if (ndjson) {
+                generator.setRootValueSeparator(null);
+            } else {
+                generator.writeStartArray();
+            }
+            source.forEachBatch(DEFAULT_BATCH_SIZE, batch -> writeBatch(generator, mapper, batch, ndjson, fields));
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+            generator.flush();
+        };
+    }
+
+    /**
+     * Proyecta un valor a los campos pedidos; sin campos devuelve el valor tal cual
+     */
+    public static Object project(ObjectMapper mapper, Object value, Set<String> fields) {
+        if (fields.isEmpty() || value == null) {
+            return value;
+        }
+        JsonNode node = mapper.valueToTree(value);
+        if (node instanceof ObjectNode objectNode) {
+            objectNode.retain(fields);
+        }
+        return node;
+    }
+
+    public static Map<String, Object> project(ObjectMapper mapper, Map<String, ?> items, Set<String> fields) {
+        Map<String, Object> projected = new LinkedHashMap<>();
+        items.forEach((code, value) -> projected.put(code, project(mapper, value, fields)));
+        return projected;
+    }
+
+    /**
+     * Parsea "code,type,subject" a un conjunto de campos
+     */
+    public static Set<String> parseFields(String fields) {
+        Set<String> result = new LinkedHashSet<>();
+        if (fields != null) {
+            Arrays.stream(fields.split(","))
+                    .map(String::trim)
+                    .filter(field -> !field.isEmpty())
+                    .forEach(result::add);
+        }
+        return result;
+    }
+
+    private static void writeBatch(JsonGenerator generator, ObjectMapper mapper, Map<String, ?> batch,
+            boolean ndjson, Set<String> fields) {
+        try {
+            for (Object value : batch.values()) {
+                mapper.writeValue(generator, project(mapper, value, fields));
+                if (ndjson) {
+                    generator.writeRaw('\n');
+                }
+            }
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Política de expiración de un catálogo en Redis
+ * Aplica jitter aleatorio al TTL para que las entradas cargadas juntas
+ * no expiren en el mismo instante
+ */
+public final class CatalogTtlPolicy {
+
+    private final long baseTtlMillis;
+    private final long jitterMillis;
+    private final long refreshWindowMillis;
+
+    public CatalogTtlPolicy(Duration baseTtl, double jitter, Duration refreshWindow) {
+        if (baseTtl == null || baseTtl.isNegative() || baseTtl.isZero()) {
+            throw new IllegalArgumentException("El TTL del catálogo debe ser positivo");
+        }
+        if (jitter < 0 || jitter >= 1) {
+            throw new IllegalArgumentException("El jitter del TTL debe estar en [0, 1)");
+        }
+        this.baseTtlMillis = baseTtl.toMillis();
+        this.jitterMillis = (long) (baseTtlMillis * jitter);
+        this.refreshWindowMillis = refreshWindow.toMillis();
+    }
+
+    /**
+     * TTL para una escritura: base ± jitter
+     */
+    public Duration nextTtl() {
+        if (jitterMillis == 0) {
+            return Duration.ofMillis(baseTtlMillis);
+        }
+        long delta = ThreadLocalRandom.current().nextLong(-jitterMillis, jitterMillis + 1);
+        return Duration.ofMillis(baseTtlMillis + delta);
+    }
+
+    /**
+     * Indica si una clave con el TTL restante dado debe renovarse ya
+     * @param remainingMillis TTL restante reportado por Redis (-1 sin TTL, -2 inexistente)
+     */
+    public boolean isDueForRefresh(long remainingMillis) {
+        return remainingMillis >= 0 && remainingMillis <= refreshWindowMillis;
+    }
+}
@@ -0,0 +1,84 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * Versión de un catálogo: contador compartido en Redis (INCR catalog:version:{nombre})
+ * más una generación local, para que las escrituras hechas con Redis caído también
+ * invaliden lo que se haya derivado del catálogo
+ */
+public final class CatalogVersion {
+
+    public static final String KEY_PREFIX = "catalog:version:";
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogVersion.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final String key;
+    private final AtomicLong localGeneration = new AtomicLong();
+
+    public CatalogVersion(RedisTemplate<String, Object> redisTemplate, String catalog) {
+        this.redisTemplate = redisTemplate;
+        this.key = KEY_PREFIX + catalog;
+    }
+
+    /**
+     * Versión actual en formato "{redis}.{local}"; -1 en la parte compartida si Redis no responde
+     */
+    public String current() {
+        long shared;
+        try {
+            shared = shared(redisTemplate.opsForValue().get(key));
+        } catch (Exception e) {
+            shared = -1;
+        }
+        return shared + "." + localGeneration.get();
+    }
+
+    /**
+     * Versiones actuales de varios catálogos con un solo MGET
+     */
+    public static List<String> current(RedisTemplate<String, Object> redisTemplate, List<CatalogVersion> versions) {
+        List<Object> values;
+        try {
+            values = redisTemplate.opsForValue().multiGet(versions.stream().map(CatalogVersion::key).toList());
+        } catch (Exception e) {
+            values = null;
+        }
+        List<String> current = new ArrayList<>(versions.size());
+        for (int i = 0; i < versions.size(); i++) {
+            long shared = values == null ? -1 : shared(values.get(i));
+            current.add(shared + "." + versions.get(i).localGeneration.get());
+        }
+        return current;
+    }
+
+    /**
+     * Clave del contador compartido en Redis
+     */
+    public String key() {
+        return key;
+    }
+
+    static long shared(Object value) {
+        return value instanceof Number number ? number.longValue() : 0;
+    }
+
+    /**
+     * Marca un cambio en el catálogo
+     */
+    public void bump() {
+        localGeneration.incrementAndGet();
+        try {
+            redisTemplate.opsForValue().increment(key);
+        } catch (Exception e) {
+            logger.warn("No se pudo incrementar la versión '{}' en Redis: {}", key, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,497 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Memoria local compacta de un catálogo, con la misma API que un Map por código.
+ * Cada entrada es un único byte[] (código y campos en UTF-8 con longitudes varint); los
+ * campos de baja cardinalidad (tipo, formato, locale) se guardan como id de un diccionario
+ * compartido. El índice es de direccionamiento abierto (sondeo lineal) sobre arreglos
+ * paralelos de hashes y registros, sin nodos por entrada. Las lecturas son optimistas
+ * (StampedLock) y solo toman el lock de lectura si coincidieron con una escritura.
+ * get() decodifica una instancia nueva en cada llamada: modificarla no cambia lo guardado
+ */
+public final class CompactStore<T> extends AbstractMap<String, T> {
+
+    /**
+     * Conversión entre la entrada y los campos de su registro (sin el código)
+     */
+    public interface Codec<T> {
+
+        void write(T entry, Writer out);
+
+        T read(String code, Reader in);
+    }
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAX_LOAD_PERCENT = 75;
+    private static final byte[] DELETED = new byte[0];
+
+    private final Codec<T> codec;
+    private final Symbols symbols = new Symbols();
+    private final StampedLock lock = new StampedLock();
+    private volatile Table table = new Table(INITIAL_CAPACITY);
+    private int size;
+    // Ocupados + borrados: al superar el máximo de carga se reconstruye la tabla
+    private int used;
+
+    public CompactStore(Codec<T> codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public T get(Object key) {
+        byte[] record = find(key);
+        return record == null ? null : decode(record);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return find(key) != null;
+    }
+
+    @Override
+    public T put(String key, T value) {
+        byte[] code = key.getBytes(StandardCharsets.UTF_8);
+        byte[] record = encode(code, value);
+        int hash = hash(code);
+        byte[] previous;
+        long stamp = lock.writeLock();
+        try {
+            if ((used + 1) * 100L > table.capacity() * (long) MAX_LOAD_PERCENT) {
+                resize();
+            }
+            Table current = table;
+            int slot = current.slotOf(code, hash);
+            if (slot >= 0) {
+                previous = current.records[slot];
+                current.records[slot] = record;
+            } else {
+                previous = null;
+                slot = current.freeSlot(hash);
+                if (current.records[slot] == null) {
+                    used++;
+                }
+                current.hashes[slot] = hash;
+                current.records[slot] = record;
+                size++;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return previous == null ? null : decode(previous);
+    }
+
+    @Override
+    public T remove(Object key) {
+        if (!(key instanceof String text)) {
+            return null;
+        }
+        byte[] code = text.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(code);
+        byte[] previous = null;
+        long stamp = lock.writeLock();
+        try {
+            Table current = table;
+            int slot = current.slotOf(code, hash);
+            if (slot >= 0) {
+                previous = current.records[slot];
+                current.records[slot] = DELETED;
+                size--;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return previous == null ? null : decode(previous);
+    }
+
+    @Override
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            table = new Table(INITIAL_CAPACITY);
+            size = 0;
+            used = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Vista de las entradas tomada al iterar; los valores se decodifican al pedirlos
+     */
+    @Override
+    public Set<Map.Entry<String, T>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<String, T>> iterator() {
+                List<Map.Entry<String, T>> entries = new ArrayList<>();
+                for (byte[] record : snapshot()) {
+                    entries.add(new Entry(record));
+                }
+                return entries.iterator();
+            }
+
+            @Override
+            public int size() {
+                return CompactStore.this.size();
+            }
+        };
+    }
+
+    /**
+     * Bytes ocupados por los registros, sin cabeceras de objeto ni el índice
+     */
+    public long payloadBytes() {
+        long total = 0;
+        for (byte[] record : snapshot()) {
+            total += record.length;
+        }
+        return total;
+    }
+
+    /**
+     * Huecos del índice, ocupados, borrados y libres
+     */
+    int capacity() {
+        return table.capacity();
+    }
+
+    private List<byte[]> snapshot() {
+        long stamp = lock.readLock();
+        try {
+            List<byte[]> records = new ArrayList<>(size);
+            for (byte[] record : table.records) {
+                if (record != null && record != DELETED) {
+                    records.add(record);
+                }
+            }
+            return records;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private byte[] find(Object key) {
+        if (!(key instanceof String text)) {
+            return null;
+        }
+        byte[] code = text.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(code);
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                Table current = table;
+                int slot = current.slotOf(code, hash);
+                byte[] record = slot < 0 ? null : current.records[slot];
+                if (lock.validate(stamp)) {
+                    return record;
+                }
+            } catch (RuntimeException e) {
+                // Lectura concurrente con una escritura (registro a medio publicar): se repite con lock
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            Table current = table;
+            int slot = current.slotOf(code, hash);
+            return slot < 0 ? null : current.records[slot];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void resize() {
+        Table current = table;
+        int capacity = current.capacity();
+        if (size * 100L > capacity * (long) MAX_LOAD_PERCENT / 2) {
+            capacity <<= 1;
+        }
+        Table next = new Table(capacity);
+        for (int i = 0; i < current.capacity(); i++) {
+            byte[] record = current.records[i];
+            if (record != null && record != DELETED) {
+                int slot = next.freeSlot(current.hashes[i]);
+                next.hashes[slot] = current.hashes[i];
+                next.records[slot] = record;
+            }
+        }
+        table = next;
+        used = size;
+    }
+
+    private byte[] encode(byte[] code, T value) {
+        Writer out = new Writer(symbols, code.length + 64);
+        out.writeBytes(code);
+        codec.write(value, out);
+        return out.toByteArray();
+    }
+
+    private T decode(byte[] record) {
+        Reader in = new Reader(symbols, record);
+        String code = in.readString();
+        return codec.read(code, in);
+    }
+
+    // FNV-1a sobre los bytes del código con mezcla final para repartir en potencias de dos
+    private static int hash(byte[] code) {
+        int h = 0x811C9DC5;
+        for (byte b : code) {
+            h ^= b;
+            h *= 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Índice de direccionamiento abierto: hashes y registros en arreglos paralelos
+     */
+    private static final class Table {
+
+        private final int[] hashes;
+        private final byte[][] records;
+        private final int mask;
+
+        private Table(int capacity) {
+            this.hashes = new int[capacity];
+            this.records = new byte[capacity][];
+            this.mask = capacity - 1;
+        }
+
+        private int capacity() {
+            return records.length;
+        }
+
+        private int slotOf(byte[] code, int hash) {
+            // Siempre queda algún hueco (carga < 100%), así que el sondeo termina
+            for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+                byte[] record = records[slot];
+                if (record == null) {
+                    return -1;
+                }
+                if (record != DELETED && hashes[slot] == hash && sameCode(record, code)) {
+                    return slot;
+                }
+            }
+        }
+
+        private int freeSlot(int hash) {
+            for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+                byte[] record = records[slot];
+                if (record == null || record == DELETED) {
+                    return slot;
+                }
+            }
+        }
+
+        private static boolean sameCode(byte[] record, byte[] code) {
+            int length = 0;
+            int shift = 0;
+            int offset = 0;
+            int b;
+            do {
+                b = record[offset++];
+                length |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return length - 1 == code.length
+                    && Arrays.equals(record, offset, offset + code.length, code, 0, code.length);
+        }
+    }
+
+    /**
+     * Entrada de la vista entrySet
+     */
+    private final class Entry implements Map.Entry<String, T> {
+
+        private final byte[] record;
+        private final String key;
+
+        private Entry(byte[] record) {
+            this.record = record;
+            this.key = new Reader(symbols, record).readString();
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public T getValue() {
+            return decode(record);
+        }
+
+        @Override
+        public T setValue(T value) {
+            throw new UnsupportedOperationException("Vista de solo lectura");
+        }
+    }
+
+    /**
+     * Diccionario de valores repetidos (tipo, formato, locale); ids desde 1, 0 = null
+     */
+    static final class Symbols {
+
+        private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+        private volatile String[] values = new String[8];
+        private int count;
+
+        synchronized int idOf(String value) {
+            Integer id = ids.get(value);
+            if (id != null) {
+                return id;
+            }
+            String[] current = values;
+            if (count == current.length) {
+                current = Arrays.copyOf(current, count * 2);
+            }
+            current[count] = value;
+            count++;
+            values = current;
+            ids.put(value, count);
+            return count;
+        }
+
+        String valueOf(int id) {
+            return values[id - 1];
+        }
+    }
+
+    /**
+     * Escribe los campos de un registro
+     */
+    public static final class Writer {
+
+        private final Symbols symbols;
+        private byte[] buffer;
+        private int length;
+
+        Writer(Symbols symbols, int capacity) {
+            this.symbols = symbols;
+            this.buffer = new byte[capacity];
+        }
+
+        public void writeString(String value) {
+            if (value == null) {
+                writeVarint(0);
+                return;
+            }
+            writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Valor de baja cardinalidad, guardado como id del diccionario
+         */
+        public void writeSymbol(String value) {
+            writeVarint(value == null ? 0 : symbols.idOf(value));
+        }
+
+        public void writeInteger(Integer value) {
+            // ZigZag para que los negativos pequeños también ocupen un byte; 0 = null
+            writeVarint(value == null ? 0 : (((long) value << 1) ^ (value >> 31)) + 1);
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeVarint(bytes.length + 1);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, length, bytes.length);
+            length += bytes.length;
+        }
+
+        private void writeVarint(long value) {
+            ensure(10);
+            long remaining = value;
+            while ((remaining & ~0x7F) != 0) {
+                buffer[length++] = (byte) ((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            buffer[length++] = (byte) remaining;
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, length);
+        }
+    }
+
+    /**
+     * Lee los campos de un registro en el mismo orden en que se escribieron
+     */
+    public static final class Reader {
+
+        private final Symbols symbols;
+        private final byte[] record;
+        private int offset;
+
+        Reader(Symbols symbols, byte[] record) {
+            this.symbols = symbols;
+            this.record = record;
+        }
+
+        public String readString() {
+            int length = readLength();
+            if (length == 0) {
+                return null;
+            }
+            String value = new String(record, offset, length - 1, StandardCharsets.UTF_8);
+            offset += length - 1;
+            return value;
+        }
+
+        public String readSymbol() {
+            int id = readLength();
+            return id == 0 ? null : symbols.valueOf(id);
+        }
+
+        public Integer readInteger() {
+            long encoded = readVarint();
+            if (encoded == 0) {
+                return null;
+            }
+            long zigzag = encoded - 1;
+            return (int) ((zigzag >>> 1) ^ -(zigzag & 1));
+        }
+
+        private int readLength() {
+            return (int) readVarint();
+        }
+
+        private long readVarint() {
+            long value = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = record[offset++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriUtils;
+
+import co.edu.uco.parameterservices.config.CatalogProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Mantiene al día la micro-caché de nginx: ante cada cambio de catálogo vuelve a pedir,
+ * a través del listener interno de refresco de nginx (que ignora la caché y guarda la
+ * respuesta nueva), las rutas afectadas. Los cambios se agrupan durante catalog.edge-cache.debounce
+ * para que una carga masiva cueste un refresco por ruta. Sin catalog.edge-cache.refresh-url
+ * no hace nada y la caché solo depende de su TTL
+ */
+@Component
+public class EdgeCacheRefresher {
+
+    public static final String REFRESH_HEADER = "X-Catalog-Refresh";
+
+    private static final Logger logger = LoggerFactory.getLogger(EdgeCacheRefresher.class);
+
+    // Listados del catálogo completo y rutas por clave ({key} se reemplaza codificado)
+    private static final Map<String, List<String>> LISTS = Map.of(
+            HotKeyTelemetry.PARAMETERS, List.of("/api/v1/parameters", "/api/v1/parameters/typed"),
+            HotKeyTelemetry.MESSAGES, List.of("/api/v1/messages"),
+            HotKeyTelemetry.NOTIFICATIONS, List.of("/api/v1/notifications"));
+    private static final Map<String, List<String>> ENTRIES = Map.of(
+            HotKeyTelemetry.PARAMETERS, List.of("/api/v1/parameters/{key}", "/api/v1/parameters/{key}/typed"),
+            HotKeyTelemetry.MESSAGES, List.of("/api/v1/messages/{key}"),
+            HotKeyTelemetry.NOTIFICATIONS, List.of("/api/v1/notifications/{key}"));
+    // Variantes que nginx guarda por separado (Accept-Encoding normalizado a gzip o vacío)
+    private static final List<String> ENCODINGS = List.of("gzip", "");
+
+    private final String baseUrl;
+    private final Duration timeout;
+    private final long debounceMillis;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final ExecutorService requestExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("edge-cache-refresher").daemon(true).factory());
+    private final HttpClient client;
+
+    public EdgeCacheRefresher(CatalogProperties properties, MeterRegistry meterRegistry) {
+        CatalogProperties.EdgeCache settings = properties.getEdgeCache();
+        String url = settings.getRefreshUrl();
+        this.baseUrl = url == null || url.isBlank() ? null : url.replaceAll("/+$", "");
+        this.timeout = settings.getTimeout();
+        this.debounceMillis = Math.max(0, settings.getDebounce().toMillis());
+        this.meterRegistry = meterRegistry;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .executor(requestExecutor)
+                .build();
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (baseUrl == null) {
+            return;
+        }
+        pending.addAll(paths(event));
+        if (scheduled.compareAndSet(false, true)) {
+            flusher.schedule(this::flush, debounceMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Rutas de la caché de nginx afectadas por el cambio
+     */
+    static Set<String> paths(CatalogChangedEvent event) {
+        Set<String> paths = new LinkedHashSet<>(LISTS.getOrDefault(event.catalog(), List.of()));
+        if (!event.wholeCatalog()) {
+            String key = UriUtils.encodePathSegment(event.key(), StandardCharsets.UTF_8);
+            for (String template : ENTRIES.getOrDefault(event.catalog(), List.of())) {
+                paths.add(template.replace("{key}", key));
+            }
+        }
+        return paths;
+    }
+
+    void flush() {
+        scheduled.set(false);
+        List<String> paths = List.copyOf(pending);
+        pending.removeAll(paths);
+        for (String path : paths) {
+            for (String encoding : ENCODINGS) {
+                refresh(path, encoding);
+            }
+        }
+    }
+
+    private void refresh(String path, String encoding) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .header(REFRESH_HEADER, "1")
+                .GET();
+        if (!encoding.isEmpty()) {
+            request.header("Accept-Encoding", encoding);
+        }
+        client.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            String outcome = error != null ? "error" : response.statusCode() / 100 + "xx";
+            meterRegistry.counter("catalog.edge.refresh", "outcome", outcome).increment();
+            if (error != null) {
+                logger.warn("No se pudo refrescar '{}' en la caché de nginx: {}", path, error.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        flusher.shutdown();
+        client.shutdown();
+        requestExecutor.shutdown();
+    }
+}
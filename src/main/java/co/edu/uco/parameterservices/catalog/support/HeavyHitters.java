@@ -0,0 +1,83 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Tabla fija de candidatos a clave caliente, actualizada con CAS
+ * Cada clave compite por unas pocas posiciones; la de menor estimación
+ * se reemplaza cuando llega una clave más frecuente
+ */
+public class HeavyHitters {
+
+    private static final int PROBES = 4;
+
+    private final int mask;
+    private final AtomicReferenceArray<Candidate> slots;
+
+    public HeavyHitters(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * Ofrece una clave con su frecuencia estimada en la ventana actual
+     */
+    public void offer(String key, long estimate) {
+        int start = CountMinSketch.spread(key.hashCode()) & mask;
+        int victimIndex = -1;
+        Candidate victim = null;
+        for (int probe = 0; probe < PROBES; probe++) {
+            int index = (start + probe) & mask;
+            Candidate current = slots.get(index);
+            if (current == null) {
+                if (slots.compareAndSet(index, null, new Candidate(key, estimate))) {
+                    return;
+                }
+                current = slots.get(index);
+            }
+            if (current.key.equals(key)) {
+                if (estimate > current.estimate) {
+                    current.estimate = estimate;
+                }
+                return;
+            }
+            if (victim == null || current.estimate < victim.estimate) {
+                victim = current;
+                victimIndex = index;
+            }
+        }
+        if (victim != null && estimate > victim.estimate) {
+            slots.compareAndSet(victimIndex, victim, new Candidate(key, estimate));
+        }
+    }
+
+    public List<String> candidates() {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < slots.length(); i++) {
+            Candidate candidate = slots.get(i);
+            if (candidate != null) {
+                keys.add(candidate.key);
+            }
+        }
+        return keys;
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+
+    private static final class Candidate {
+        private final String key;
+        private volatile long estimate;
+
+        private Candidate(String key, long estimate) {
+            this.key = key;
+            this.estimate = estimate;
+        }
+    }
+}
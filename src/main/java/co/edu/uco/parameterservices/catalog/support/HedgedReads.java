@@ -0,0 +1,171 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+
+import co.edu.uco.parameterservices.config.CatalogProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Lecturas a Redis acotadas por un presupuesto de latencia. Si Redis no responde dentro
+ * del umbral (un percentil de su latencia reciente) y existe copia local, la lectura lanza
+ * QueryTimeoutException para que el catálogo responda desde memoria; el resultado tardío
+ * de Redis solo se usa para refrescar esa copia si no cambió mientras tanto
+ */
+@Component
+public class HedgedReads {
+
+    public static final String PRIMARY = "primary";
+    public static final String LOCAL = "local";
+    public static final String TIMEOUT = "timeout";
+
+    private static final Logger logger = LoggerFactory.getLogger(HedgedReads.class);
+
+    private final boolean enabled;
+    private final long budgetNanos;
+    private final long minThresholdNanos;
+    private final double percentile;
+    private final int minSamples;
+    private final LatencyWindow latencies;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private volatile long thresholdNanos;
+
+    public HedgedReads(CatalogProperties properties, MeterRegistry meterRegistry) {
+        CatalogProperties.Hedge hedge = properties.getHedge();
+        this.enabled = hedge.isEnabled();
+        this.budgetNanos = hedge.getBudget().toNanos();
+        this.minThresholdNanos = Math.min(hedge.getMinThreshold().toNanos(), budgetNanos);
+        this.percentile = hedge.getPercentile();
+        this.minSamples = hedge.getMinSamples();
+        this.latencies = new LatencyWindow(hedge.getWindow());
+        this.meterRegistry = meterRegistry;
+        this.thresholdNanos = budgetNanos;
+        Gauge.builder("catalog.read.hedge.threshold", this, reads -> reads.thresholdNanos / 1_000_000.0)
+                .description("Espera máxima actual antes de responder desde memoria (ms)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ejecuta la lectura primaria con presupuesto de latencia
+     * @param primary lectura a Redis; devuelve null si la clave no existe
+     * @param hasLocal si hay copia local a la que recurrir pasado el umbral
+     * @param lateResult recibe el valor de Redis que llegó después del umbral; puede ser más viejo que
+     *                   una escritura local posterior, así que debe aplicarse con LocalWrites.writeIfUnchanged
+     * @throws QueryTimeoutException si se agotó la espera (umbral con copia local, presupuesto sin ella)
+     */
+    public <T> T read(String catalog, Supplier<T> primary, boolean hasLocal, Consumer<T> lateResult) {
+        if (!enabled) {
+            return primary.get();
+        }
+        long start = System.nanoTime();
+        CompletableFuture<T> call = CompletableFuture.supplyAsync(primary, executor);
+        call.whenComplete((value, error) -> {
+            if (error == null) {
+                record(System.nanoTime() - start);
+            }
+        });
+
+        long wait = hasLocal ? thresholdNanos : budgetNanos;
+        try {
+            T value = call.get(wait, TimeUnit.NANOSECONDS);
+            counter(catalog, PRIMARY).increment();
+            return value;
+        } catch (TimeoutException e) {
+            counter(catalog, hasLocal ? LOCAL : TIMEOUT).increment();
+            call.thenAccept(value -> {
+                if (value != null) {
+                    lateResult.accept(value);
+                }
+            }).exceptionally(error -> {
+                logger.debug("Lectura tardía de {} descartada: {}", catalog, error.getMessage());
+                return null;
+            });
+            throw new QueryTimeoutException("Redis no respondió en " + TimeUnit.NANOSECONDS.toMillis(wait) + " ms");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException("Lectura interrumpida");
+        }
+    }
+
+    public long thresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+    }
+
+    private void record(long nanos) {
+        long samples = latencies.add(nanos);
+        // El percentil se recalcula cada cuarto de ventana para no ordenar en cada lectura
+        if (samples == minSamples || samples > minSamples && samples % Math.max(1, latencies.capacity() / 4) == 0) {
+            long p = latencies.percentile(percentile);
+            thresholdNanos = Math.max(minThresholdNanos, Math.min(budgetNanos, p));
+        }
+    }
+
+    private Counter counter(String catalog, String winner) {
+        return Counter.builder("catalog.read.hedge")
+                .description("Lecturas resueltas por Redis (primary), por memoria tras el umbral (local) o sin respuesta")
+                .tag("catalog", catalog)
+                .tag("winner", winner)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Ventana circular de latencias recientes
+     */
+    static final class LatencyWindow {
+
+        private final long[] samples;
+        private long count;
+
+        LatencyWindow(int capacity) {
+            this.samples = new long[Math.max(1, capacity)];
+        }
+
+        synchronized long add(long nanos) {
+            samples[(int) (count % samples.length)] = nanos;
+            return ++count;
+        }
+
+        int capacity() {
+            return samples.length;
+        }
+
+        synchronized long percentile(double p) {
+            int size = (int) Math.min(count, samples.length);
+            if (size == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(p * size) - 1;
+            return sorted[Math.max(0, Math.min(size - 1, index))];
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import co.edu.uco.parameterservices.config.CatalogProperties;
+
+/**
+ * Telemetría de claves calientes por catálogo
+ * Cada búsqueda en un catálogo se registra sin bloqueos en un sketch por ventanas
+ */
+@Component
+public class HotKeyTelemetry {
+
+    public static final String PARAMETERS = "parameters";
+    public static final String MESSAGES = "messages";
+    public static final String NOTIFICATIONS = "notifications";
+
+    private final Map<String, WindowedHotKeySketch> sketches = new LinkedHashMap<>();
+
+    public HotKeyTelemetry(CatalogProperties properties) {
+        CatalogProperties.Telemetry telemetry = properties.getTelemetry();
+        for (String catalog : List.of(PARAMETERS, MESSAGES, NOTIFICATIONS)) {
+            sketches.put(catalog, new WindowedHotKeySketch(
+                    telemetry.getWindows(),
+                    telemetry.getSketchDepth(),
+                    telemetry.getSketchWidth(),
+                    telemetry.getCandidates()));
+        }
+    }
+
+    public void record(String catalog, String key) {
+        WindowedHotKeySketch sketch = sketches.get(catalog);
+        if (sketch != null && key != null) {
+            sketch.record(key);
+        }
+    }
+
+    public Map<String, List<WindowedHotKeySketch.HotKey>> topKeys(int limit, int windows) {
+        Map<String, List<WindowedHotKeySketch.HotKey>> result = new LinkedHashMap<>();
+        sketches.forEach((catalog, sketch) -> result.put(catalog, sketch.topKeys(limit, windows)));
+        return result;
+    }
+
+    public List<WindowedHotKeySketch.HotKey> topKeys(String catalog, int limit, int windows) {
+        WindowedHotKeySketch sketch = sketches.get(catalog);
+        return sketch == null ? null : sketch.topKeys(limit, windows);
+    }
+
+    @Scheduled(fixedRateString = "${catalog.telemetry.window:PT1M}",
+            initialDelayString = "${catalog.telemetry.window:PT1M}")
+    public void rotateWindows() {
+        sketches.values().forEach(WindowedHotKeySketch::rotate);
+    }
+}
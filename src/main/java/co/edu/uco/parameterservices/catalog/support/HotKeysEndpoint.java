@@ -0,0 +1,58 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import co.edu.uco.parameterservices.config.CatalogProperties;
+
+/**
+ * GET /actuator/hotkeys?limit=20&windows=5
+ * GET /actuator/hotkeys/{catalog}
+ * Top-N de claves más consultadas por catálogo en las últimas ventanas
+ */
+@Component
+@Endpoint(id = "hotkeys")
+public class HotKeysEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final HotKeyTelemetry telemetry;
+    private final CatalogProperties properties;
+
+    public HotKeysEndpoint(HotKeyTelemetry telemetry, CatalogProperties properties) {
+        this.telemetry = telemetry;
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public Map<String, Object> hotKeys(@Nullable Integer limit, @Nullable Integer windows) {
+        int span = windows(windows);
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("window", properties.getTelemetry().getWindow().toString());
+        response.put("windows", span);
+        response.put("catalogs", telemetry.topKeys(limit(limit), span));
+        return response;
+    }
+
+    @ReadOperation
+    public List<WindowedHotKeySketch.HotKey> catalogHotKeys(
+            @Selector String catalog, @Nullable Integer limit, @Nullable Integer windows) {
+        return telemetry.topKeys(catalog, limit(limit), windows(windows));
+    }
+
+    private int limit(Integer limit) {
+        return (limit == null || limit <= 0) ? DEFAULT_LIMIT : limit;
+    }
+
+    private int windows(Integer windows) {
+        int max = properties.getTelemetry().getWindows();
+        return (windows == null || windows <= 0 || windows > max) ? max : windows;
+    }
+}
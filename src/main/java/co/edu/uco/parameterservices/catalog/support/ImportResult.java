@@ -0,0 +1,18 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.util.List;
+
+/**
+ * Resultado de una importación masiva
+ * @param redisWritten false si Redis falló; lo restante quedó en memoria local y en el journal de escrituras
+ * @param errors primeros errores de validación (limitados por catalog.bulk-import.max-reported-errors)
+ */
+public record ImportResult(String catalog, int received, int imported, int rejected, int batches,
+        boolean redisWritten, long elapsedMillis, List<ImportError> errors) {
+
+    /**
+     * @param index posición de la entrada en el archivo (desde 0)
+     */
+    public record ImportError(int index, String key, String message) {
+    }
+}
@@ -0,0 +1,107 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido token -> códigos sobre un texto libre
+ * Los tokens se normalizan a minúsculas y sin tildes ("Operación" -> "operacion")
+ */
+public class InvertedIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Map<String, Set<String>> postings = new ConcurrentHashMap<>();
+    private final Map<String, String> documents = new ConcurrentHashMap<>();
+
+    public void index(String code, String text) {
+        remove(code);
+        if (text == null) {
+            return;
+        }
+        List<String> tokens = tokenize(text);
+        documents.put(code, " " + String.join(" ", tokens) + " ");
+        for (String token : new LinkedHashSet<>(tokens)) {
+            postings.compute(token, (t, codes) -> {
+                Set<String> target = (codes == null) ? ConcurrentHashMap.newKeySet() : codes;
+                target.add(code);
+                return target;
+            });
+        }
+    }
+
+    public void remove(String code) {
+        String previous = documents.remove(code);
+        if (previous == null) {
+            return;
+        }
+        for (String token : new LinkedHashSet<>(tokenize(previous))) {
+            postings.computeIfPresent(token, (t, codes) -> {
+                codes.remove(code);
+                return codes.isEmpty() ? null : codes;
+            });
+        }
+    }
+
+    /**
+     * Códigos cuyo texto contiene la frase: se intersectan las listas de cada
+     * token empezando por la más corta y se verifica la frase completa
+     */
+    public Set<String> search(String phrase) {
+        List<String> tokens = tokenize(phrase);
+        if (tokens.isEmpty()) {
+            return Set.of();
+        }
+        List<Set<String>> lists = new ArrayList<>(tokens.size());
+        for (String token : new LinkedHashSet<>(tokens)) {
+            Set<String> codes = postings.get(token);
+            if (codes == null) {
+                return Set.of();
+            }
+            lists.add(codes);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<String> result = new LinkedHashSet<>();
+        String needle = " " + String.join(" ", tokens) + " ";
+        for (String code : lists.get(0)) {
+            boolean inAll = true;
+            for (int i = 1; i < lists.size() && inAll; i++) {
+                inAll = lists.get(i).contains(code);
+            }
+            String document = documents.get(code);
+            if (inAll && document != null && document.contains(needle)) {
+                result.add(code);
+            }
+        }
+        return result;
+    }
+
+    public void clear() {
+        postings.clear();
+        documents.clear();
+    }
+
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalize(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
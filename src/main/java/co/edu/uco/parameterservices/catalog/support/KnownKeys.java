@@ -0,0 +1,72 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import co.edu.uco.parameterservices.config.CatalogProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Crea los filtros de claves conocidas de cada catálogo y los reconstruye periódicamente
+ * cuando su versión cambia (escrituras de otras réplicas, cargas masivas, borrados)
+ */
+@Component
+public class KnownKeys {
+
+    record Sizing(long expectedKeys, double falsePositiveRate, int scanBatchSize) {
+    }
+
+    private final CatalogProperties.NegativeLookup settings;
+    private final MeterRegistry meterRegistry;
+    private final List<KnownKeysFilter> filters = new CopyOnWriteArrayList<>();
+    private final Map<String, KnownKeysFilter> byCatalog = new ConcurrentHashMap<>();
+
+    public KnownKeys(CatalogProperties properties, MeterRegistry meterRegistry) {
+        this.settings = properties.getNegativeLookup();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param localKeys claves de la memoria local del catálogo
+     * @param version versión vigente del catálogo
+     */
+    public KnownKeysFilter register(String catalog, CatalogPager<?> pager,
+            Supplier<? extends Collection<String>> localKeys, Supplier<String> version) {
+        Counter skipped = Counter.builder("catalog.lookup.filtered")
+                .description("Consultas de claves inexistentes resueltas sin ir a Redis")
+                .tag("catalog", catalog)
+                .register(meterRegistry);
+        KnownKeysFilter filter = new KnownKeysFilter(catalog, settings.isEnabled(), pager, localKeys, version,
+                new Sizing(settings.getExpectedKeys(), settings.getFalsePositiveRate(), settings.getScanBatchSize()),
+                skipped);
+        Gauge.builder("catalog.lookup.known.keys", filter, KnownKeysFilter::approximateKeys)
+                .description("Claves registradas en el filtro de pertenencia")
+                .tag("catalog", catalog)
+                .register(meterRegistry);
+        filters.add(filter);
+        byCatalog.put(catalog, filter);
+        return filter;
+    }
+
+    /**
+     * Filtro registrado para un catálogo; null si no existe
+     */
+    public KnownKeysFilter filter(String catalog) {
+        return byCatalog.get(catalog);
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.negative-lookup.refresh-interval:PT5S}",
+            initialDelayString = "${catalog.negative-lookup.initial-delay:PT1S}")
+    public void refresh() {
+        filters.forEach(KnownKeysFilter::refresh);
+    }
+}
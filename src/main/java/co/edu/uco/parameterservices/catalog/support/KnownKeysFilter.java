@@ -0,0 +1,131 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+
+/**
+ * Filtro de pertenencia de las claves conocidas de un catálogo. Si responde "ausente"
+ * la clave no existe ni en Redis ni en memoria y la consulta se resuelve sin ir a Redis.
+ * Se construye con SCAN de las claves (sin leer valores) más la memoria local, se
+ * actualiza con cada escritura local y se reconstruye cuando cambia la versión del
+ * catálogo. Las claves escritas en otras réplicas llegan por KnownKeysReplication; un
+ * cambio de todo el catálogo (carga masiva, clearAll) marca el filtro como desactualizado
+ * hasta reconstruirlo. Las eliminaciones no se quitan del filtro: solo dejan un falso
+ * positivo hasta la siguiente reconstrucción. Mientras no se haya construido desde Redis,
+ * o esté desactualizado, responde siempre "posiblemente presente"
+ */
+public final class KnownKeysFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(KnownKeysFilter.class);
+
+    private final String catalog;
+    private final boolean enabled;
+    private final CatalogPager<?> pager;
+    private final Supplier<? extends Collection<String>> localKeys;
+    private final Supplier<String> version;
+    private final long expectedKeys;
+    private final double falsePositiveRate;
+    private final int scanBatchSize;
+    private final Counter skipped;
+
+    private volatile BloomFilter filter;
+    // Filtro en construcción; las escrituras concurrentes a la reconstrucción también van aquí
+    private volatile BloomFilter building;
+    private volatile String builtVersion;
+    private volatile boolean stale;
+
+    KnownKeysFilter(String catalog, boolean enabled, CatalogPager<?> pager,
+            Supplier<? extends Collection<String>> localKeys, Supplier<String> version,
+            KnownKeys.Sizing sizing, Counter skipped) {
+        this.catalog = catalog;
+        this.enabled = enabled;
+        this.pager = pager;
+        this.localKeys = localKeys;
+        this.version = version;
+        this.expectedKeys = sizing.expectedKeys();
+        this.falsePositiveRate = sizing.falsePositiveRate();
+        this.scanBatchSize = sizing.scanBatchSize();
+        this.skipped = skipped;
+        this.filter = BloomFilter.create(expectedKeys, falsePositiveRate);
+    }
+
+    /**
+     * @return false solo si la clave definitivamente no existe
+     */
+    public boolean mightContain(String key) {
+        if (!enabled || builtVersion == null || stale || filter.mightContain(key)) {
+            return true;
+        }
+        skipped.increment();
+        return false;
+    }
+
+    /**
+     * Registra una clave escrita o cargada localmente
+     */
+    public void add(String key) {
+        filter.put(key);
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(key);
+        }
+    }
+
+    /**
+     * Deja de descartar claves hasta la próxima reconstrucción, que se fuerza
+     */
+    public void invalidate() {
+        stale = true;
+    }
+
+    public String catalog() {
+        return catalog;
+    }
+
+    /**
+     * Reconstruye el filtro si la versión del catálogo cambió, si se saturó o si se invalidó
+     * @return true si se reconstruyó
+     */
+    public synchronized boolean refresh() {
+        if (!enabled) {
+            return false;
+        }
+        String current = version.get();
+        if (current.equals(builtVersion) && !filter.isSaturated() && !stale) {
+            return false;
+        }
+        return rebuild(current);
+    }
+
+    public long approximateKeys() {
+        return filter.approximateCount();
+    }
+
+    private boolean rebuild(String current) {
+        BloomFilter fresh = BloomFilter.create(Math.max(expectedKeys, filter.approximateCount() * 2),
+                falsePositiveRate);
+        building = fresh;
+        // Una invalidación durante el SCAN vuelve a marcarlo y se reconstruye en el siguiente ciclo
+        stale = false;
+        try {
+            pager.forEachKey(scanBatchSize, keys -> keys.forEach(fresh::put));
+            localKeys.get().forEach(fresh::put);
+            filter = fresh;
+            builtVersion = current;
+            logger.debug("Filtro de claves de '{}' reconstruido: ~{} claves (versión {})",
+                    catalog, fresh.approximateCount(), current);
+            return true;
+        } catch (RuntimeException e) {
+            stale = true;
+            logger.warn("No se pudo reconstruir el filtro de claves de '{}': {}", catalog, e.getMessage());
+            return false;
+        } finally {
+            building = null;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.nio.charset.StandardCharsets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import co.edu.uco.parameterservices.config.CatalogProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Propaga las claves nuevas a los filtros de claves conocidas de todas las réplicas con
+ * pub/sub de Redis, para que una clave escrita en otra réplica no se responda como
+ * inexistente (y nginx guarde ese 404) hasta la siguiente reconstrucción. Un cambio de todo
+ * el catálogo invalida el filtro hasta reconstruirlo. Si se pierde un mensaje (reconexión),
+ * la reconstrucción por versión de KnownKeys lo corrige en catalog.negative-lookup.refresh-interval
+ */
+@Component
+public class KnownKeysReplication {
+
+    static final String CHANNEL = "catalog:known-keys";
+    static final String WHOLE_CATALOG = "*";
+
+    private static final Logger logger = LoggerFactory.getLogger(KnownKeysReplication.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final KnownKeys knownKeys;
+    private final boolean enabled;
+    private final RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+
+    public KnownKeysReplication(StringRedisTemplate redisTemplate, RedisConnectionFactory connectionFactory,
+            KnownKeys knownKeys, CatalogProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.knownKeys = knownKeys;
+        this.enabled = properties.getNegativeLookup().isEnabled();
+        this.container.setConnectionFactory(connectionFactory);
+        this.container.addMessageListener(this::onMessage, new ChannelTopic(CHANNEL));
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        container.afterPropertiesSet();
+        container.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        try {
+            container.destroy();
+        } catch (Exception e) {
+            logger.debug("Error al detener la suscripción de claves conocidas: {}", e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(CHANNEL, encode(event));
+        } catch (DataAccessException e) {
+            logger.warn("No se pudo propagar el cambio de '{}' a las otras réplicas: {}",
+                    event.catalog(), e.getMessage());
+        }
+    }
+
+    void onMessage(Message message, byte[] pattern) {
+        apply(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Aplica un mensaje "catálogo\nclave" (o "catálogo\n*") al filtro del catálogo
+     */
+    void apply(String payload) {
+        int separator = payload.indexOf('\n');
+        if (separator < 0) {
+            return;
+        }
+        KnownKeysFilter filter = knownKeys.filter(payload.substring(0, separator));
+        if (filter == null) {
+            return;
+        }
+        String key = payload.substring(separator + 1);
+        if (WHOLE_CATALOG.equals(key)) {
+            filter.invalidate();
+        } else {
+            filter.add(key);
+        }
+    }
+
+    static String encode(CatalogChangedEvent event) {
+        return event.catalog() + '\n' + (event.wholeCatalog() ? WHOLE_CATALOG : event.key());
+    }
+}
@@ -0,0 +1,80 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ordena las escrituras a la memoria local de un catálogo. Cada escritura o borrado de una
+ * clave recibe un número de secuencia y se ejecuta en exclusión con las demás de esa clave;
+ * así una lectura de Redis que empezó antes (ej: el resultado tardío de HedgedReads) se
+ * descarta en lugar de pisar un valor más nuevo. Guarda un número por clave escrita desde el
+ * último vaciado del catálogo
+ */
+public final class LocalWrites {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, Long> lastWrite = new ConcurrentHashMap<>();
+    private final ReadWriteLock clearLock = new ReentrantReadWriteLock();
+    private long clearedAt;
+
+    /**
+     * Marca el inicio de una lectura; se compara luego en writeIfUnchanged
+     */
+    public long mark() {
+        return sequence.get();
+    }
+
+    /**
+     * Ejecuta una escritura o borrado local de la clave
+     */
+    public void write(String key, Runnable write) {
+        clearLock.readLock().lock();
+        try {
+            lastWrite.compute(key, (k, previous) -> {
+                write.run();
+                return sequence.incrementAndGet();
+            });
+        } finally {
+            clearLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ejecuta la escritura solo si la clave no cambió localmente después de la marca
+     * @return false si se descartó por haber una escritura más nueva
+     */
+    public boolean writeIfUnchanged(String key, long mark, Runnable write) {
+        boolean[] applied = new boolean[1];
+        clearLock.readLock().lock();
+        try {
+            lastWrite.compute(key, (k, previous) -> {
+                if (clearedAt > mark || previous != null && previous > mark) {
+                    return previous;
+                }
+                write.run();
+                applied[0] = true;
+                return sequence.incrementAndGet();
+            });
+        } finally {
+            clearLock.readLock().unlock();
+        }
+        return applied[0];
+    }
+
+    /**
+     * Ejecuta el vaciado de todo el catálogo; invalida las lecturas en curso de cualquier clave
+     */
+    public void clear(Runnable clear) {
+        clearLock.writeLock().lock();
+        try {
+            clear.run();
+            clearedAt = sequence.incrementAndGet();
+            lastWrite.clear();
+        } finally {
+            clearLock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trie de códigos para búsquedas por prefijo sin distinguir mayúsculas
+ * Los resultados salen en orden lexicográfico, lo que permite paginar
+ */
+public class PrefixTrie {
+
+    private final Node root = new Node();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void insert(String code) {
+        String path = code.toLowerCase(Locale.ROOT);
+        lock.writeLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < path.length(); i++) {
+                node = node.children.computeIfAbsent(path.charAt(i), c -> new Node());
+            }
+            node.code = code;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String code) {
+        String path = code.toLowerCase(Locale.ROOT);
+        lock.writeLock().lock();
+        try {
+            Deque<Node> trail = new ArrayDeque<>();
+            Node node = root;
+            for (int i = 0; i < path.length() && node != null; i++) {
+                trail.push(node);
+                node = node.children.get(path.charAt(i));
+            }
+            if (node == null || !code.equals(node.code)) {
+                return;
+            }
+            node.code = null;
+            // Poda de ramas que quedaron vacías
+            for (int i = path.length() - 1; i >= 0 && node.code == null && node.children.isEmpty(); i--) {
+                Node parent = trail.pop();
+                parent.children.remove(path.charAt(i));
+                node = parent;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Códigos que empiezan por el prefijo, en orden lexicográfico
+     */
+    public List<String> withPrefix(String prefix) {
+        String path = prefix.toLowerCase(Locale.ROOT);
+        List<String> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < path.length() && node != null; i++) {
+                node = node.children.get(path.charAt(i));
+            }
+            if (node != null) {
+                collect(node, result);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root.children.clear();
+            root.code = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void collect(Node start, List<String> result) {
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(start);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            if (node.code != null) {
+                result.add(node.code);
+            }
+            // Se apilan en orden inverso para visitar los hijos en orden
+            List<Node> children = new ArrayList<>(node.children.values());
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(children.get(i));
+            }
+        }
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new TreeMap<>();
+        private String code;
+    }
+}
@@ -0,0 +1,33 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.util.function.Consumer;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+
+/**
+ * Escrituras en bloque: los comandos se encolan en un MULTI/EXEC y se envían en pipeline,
+ * un viaje de red por lote y aplicados de forma atómica
+ */
+public final class RedisBulkWriter {
+
+    private RedisBulkWriter() {
+    }
+
+    public static void writeAtomically(RedisTemplate<String, Object> redisTemplate,
+            Consumer<RedisOperations<String, Object>> commands) {
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> session = (RedisOperations<String, Object>) operations;
+                session.multi();
+                commands.accept(session);
+                session.exec();
+                return null;
+            }
+        });
+    }
+}
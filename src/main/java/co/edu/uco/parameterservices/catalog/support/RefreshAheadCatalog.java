@@ -0,0 +1,16 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+/**
+ * Catálogo cuyas entradas calientes pueden renovarse antes de expirar en Redis
+ */
+public interface RefreshAheadCatalog {
+
+    String catalogName();
+
+    /**
+     * Renueva el TTL de las claves con al menos minHits accesos desde la última llamada
+     * y refresca con ellas la memoria local
+     * @return número de claves renovadas
+     */
+    int refreshHotEntries(int minHits);
+}
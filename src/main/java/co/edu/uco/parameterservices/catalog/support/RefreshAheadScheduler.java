@@ -0,0 +1,42 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import co.edu.uco.parameterservices.config.CatalogProperties;
+
+/**
+ * Renueva periódicamente en Redis las entradas más consultadas de cada catálogo
+ * antes de que venza su TTL
+ */
+@Component
+@ConditionalOnProperty(prefix = "catalog.refresh-ahead", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RefreshAheadScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshAheadScheduler.class);
+
+    private final List<RefreshAheadCatalog> catalogs;
+    private final CatalogProperties properties;
+
+    public RefreshAheadScheduler(List<RefreshAheadCatalog> catalogs, CatalogProperties properties) {
+        this.catalogs = catalogs;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.refresh-ahead.interval:PT30S}",
+            initialDelayString = "${catalog.refresh-ahead.interval:PT30S}")
+    public void refreshHotEntries() {
+        int minHits = properties.getRefreshAhead().getMinHits();
+        for (RefreshAheadCatalog catalog : catalogs) {
+            int refreshed = catalog.refreshHotEntries(minHits);
+            if (refreshed > 0) {
+                logger.debug("Refresh-ahead de '{}': {} claves renovadas", catalog.catalogName(), refreshed);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados de búsqueda
+ */
+public record SearchPage<T>(List<T> items, int page, int size, long total) {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Pagina una lista ordenada de códigos y resuelve solo los de la página pedida
+     */
+    public static <T> SearchPage<T> of(List<String> codes, int page, int size, Function<String, T> resolver) {
+        if (page < 0) {
+            throw new IllegalArgumentException("La página debe ser mayor o igual a 0");
+        }
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+        long from = (long) page * size;
+        List<T> items = new ArrayList<>();
+        for (long i = from; i < codes.size() && items.size() < size; i++) {
+            T item = resolver.apply(codes.get((int) i));
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return new SearchPage<>(items, page, size, codes.size());
+    }
+}
@@ -0,0 +1,49 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice secundario en memoria: valor de un atributo -> códigos que lo tienen
+ * Los valores se normalizan a mayúsculas para búsquedas sin distinguir mayúsculas
+ */
+public class SecondaryIndex {
+
+    private final Map<String, Set<String>> entries = new ConcurrentHashMap<>();
+
+    public void add(String value, String code) {
+        if (value == null || code == null) {
+            return;
+        }
+        entries.compute(normalize(value), (v, codes) -> {
+            Set<String> target = (codes == null) ? ConcurrentHashMap.newKeySet() : codes;
+            target.add(code);
+            return target;
+        });
+    }
+
+    public void remove(String value, String code) {
+        if (value == null || code == null) {
+            return;
+        }
+        entries.computeIfPresent(normalize(value), (v, codes) -> {
+            codes.remove(code);
+            return codes.isEmpty() ? null : codes;
+        });
+    }
+
+    public Set<String> get(String value) {
+        Set<String> codes = (value == null) ? null : entries.get(normalize(value));
+        return (codes == null) ? Set.of() : Set.copyOf(codes);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public static String normalize(String value) {
+        return value.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,77 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Frecuencias de acceso de un catálogo en ventanas deslizantes
+ * Un anillo de ventanas (sketch + candidatos) de tamaño fijo: la memoria
+ * no depende de la cardinalidad de claves
+ */
+public class WindowedHotKeySketch {
+
+    private final CountMinSketch[] sketches;
+    private final HeavyHitters[] candidates;
+    private volatile int current;
+
+    public WindowedHotKeySketch(int windows, int depth, int width, int candidatesPerWindow) {
+        this.sketches = new CountMinSketch[windows];
+        this.candidates = new HeavyHitters[windows];
+        for (int i = 0; i < windows; i++) {
+            sketches[i] = new CountMinSketch(depth, width);
+            candidates[i] = new HeavyHitters(candidatesPerWindow);
+        }
+    }
+
+    public void record(String key) {
+        int window = current;
+        long estimate = sketches[window].add(key);
+        candidates[window].offer(key, estimate);
+    }
+
+    /**
+     * Cierra la ventana actual; la más antigua se limpia y pasa a ser la actual
+     */
+    public void rotate() {
+        int next = (current + 1) % sketches.length;
+        sketches[next].clear();
+        candidates[next].clear();
+        current = next;
+    }
+
+    /**
+     * Claves más frecuentes en las últimas ventanas (incluida la actual)
+     */
+    public List<HotKey> topKeys(int limit, int windows) {
+        int span = Math.max(1, Math.min(windows, sketches.length));
+        int head = current;
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < span; i++) {
+            keys.addAll(candidates[index(head, i)].candidates());
+        }
+        List<HotKey> result = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            long total = 0;
+            for (int i = 0; i < span; i++) {
+                total += sketches[index(head, i)].estimate(key);
+            }
+            result.add(new HotKey(key, total));
+        }
+        result.sort(Comparator.comparingLong(HotKey::estimate).reversed());
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    public int windowCount() {
+        return sketches.length;
+    }
+
+    private int index(int head, int back) {
+        return Math.floorMod(head - back, sketches.length);
+    }
+
+    public record HotKey(String key, long estimate) {
+    }
+}
@@ -0,0 +1,399 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import co.edu.uco.parameterservices.config.CatalogProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Journal local de escrituras que no llegaron a Redis. Cada escritura fallida se agrega
+ * a un archivo NDJSON de solo anexado; al volver Redis se reenvían en lotes atómicos
+ * conservando solo la última escritura por clave. Cada escritura a Redis deja su hora en
+ * catalog:written-at:{clave}, y el reenvío omite las entradas más viejas que lo que ya hay en
+ * Redis (escrito por otra réplica mientras esta no llegaba). Esa hora vence a los
+ * catalog.journal.stamp-ttl; una entrada pendiente más vieja que eso se reenvía sin comparar
+ */
+@Component
+public class WriteBehindJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindJournal.class);
+    // Solo se reconstruyen clases del dominio a partir del archivo
+    private static final String DOMAIN_PACKAGE = "co.edu.uco.parameterservices.";
+    // Prefijo de la hora (epoch ms) de la última escritura de cada clave de catálogo
+    static final String WRITTEN_AT_PREFIX = "catalog:written-at:";
+
+    // KEYS: n claves de las entradas, sus n claves de hora, claves de versión
+    // ARGV: n, vigencia de la hora (ms), y por entrada operación, hora, ttl (ms) y valor  →  cantidad omitida
+    static final RedisScript<Long> REPLAY_SCRIPT = new DefaultRedisScript<>("""
+            local n = tonumber(ARGV[1])
+            local skipped = 0
+            for i = 1, n do
+              local key, stamp = KEYS[i], KEYS[n + i]
+              local op, at, ttl, value = ARGV[i * 4 - 1], ARGV[i * 4], ARGV[i * 4 + 1], ARGV[i * 4 + 2]
+              if op == 'SADD' then
+                redis.call('SADD', key, value)
+              elseif tonumber(redis.call('GET', stamp) or '0') > tonumber(at) then
+                skipped = skipped + 1
+              else
+                if op == 'SET' then
+                  redis.call('SET', key, value, 'PX', ttl)
+                else
+                  redis.call('DEL', key)
+                end
+                redis.call('SET', stamp, at, 'PX', ARGV[2])
+              end
+            end
+            for i = 2 * n + 1, #KEYS do
+              redis.call('INCR', KEYS[i])
+            end
+            return skipped
+            """, Long.class);
+
+    // Argumentos del script: bytes ya serializados tal cual, el resto como texto
+    private static final RedisSerializer<Object> ARGS = new RedisSerializer<>() {
+        @Override
+        public byte[] serialize(Object value) {
+            return value instanceof byte[] bytes ? bytes : String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Object deserialize(byte[] bytes) {
+            return bytes;
+        }
+    };
+    // El script responde un entero, que no pasa por el deserializador
+    private static final RedisSerializer<Long> COUNT = new GenericToStringSerializer<>(Long.class);
+
+    /**
+     * Operaciones registrables
+     */
+    public enum Operation {
+        SET, DEL, SADD
+    }
+
+    /**
+     * Línea del journal; value es el objeto en JSON (SET) o el miembro del conjunto (SADD)
+     */
+    record Entry(long timestamp, String catalog, Operation operation, String key, String type,
+            JsonNode value, long ttlMillis) {
+
+        String coalescingKey() {
+            return operation == Operation.SADD ? key + '\u0000' + value.asText() : key;
+        }
+    }
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Path path;
+    private final boolean fsync;
+    private final int replayBatchSize;
+    private final Duration stampTtl;
+    private final Counter replayed;
+    private final Counter superseded;
+
+    // Escrituras pendientes, una por clave, en orden de llegada
+    private final Map<String, Entry> pending = new LinkedHashMap<>();
+    private volatile int depth;
+    private volatile long oldestPendingMillis;
+    // El archivo tiene entradas ya reemplazadas por escrituras directas; se compacta en el próximo replay
+    private volatile boolean stale;
+
+    public WriteBehindJournal(RedisTemplate<String, Object> redisTemplate, ObjectMapper objectMapper,
+            CatalogProperties properties, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = properties.getJournal().isEnabled();
+        this.path = Path.of(properties.getJournal().getPath());
+        this.fsync = properties.getJournal().isFsync();
+        this.replayBatchSize = properties.getJournal().getReplayBatchSize();
+        this.stampTtl = properties.getJournal().getStampTtl();
+        this.replayed = Counter.builder("catalog.journal.replayed")
+                .description("Escrituras del journal reenviadas a Redis")
+                .register(meterRegistry);
+        this.superseded = Counter.builder("catalog.journal.superseded")
+                .description("Escrituras del journal omitidas porque Redis ya tenía un valor más reciente")
+                .register(meterRegistry);
+        Gauge.builder("catalog.journal.depth", this, journal -> journal.depth)
+                .description("Escrituras pendientes de reenviar a Redis")
+                .register(meterRegistry);
+        Gauge.builder("catalog.journal.lag", this, WriteBehindJournal::lagSeconds)
+                .description("Antigüedad en segundos de la escritura pendiente más vieja")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        if (enabled) {
+            load();
+        }
+    }
+
+    public void set(String catalog, String key, Object value, Duration ttl) {
+        append(new Entry(System.currentTimeMillis(), catalog, Operation.SET, key, value.getClass().getName(),
+                objectMapper.valueToTree(value), ttl.toMillis()));
+    }
+
+    public void delete(String catalog, String key) {
+        append(new Entry(System.currentTimeMillis(), catalog, Operation.DEL, key, null, null, 0));
+    }
+
+    public void addToSet(String catalog, String key, String member) {
+        append(new Entry(System.currentTimeMillis(), catalog, Operation.SADD, key, null,
+                objectMapper.getNodeFactory().textNode(member), 0));
+    }
+
+    /**
+     * Una escritura directa a Redis tuvo éxito: se registra su hora para que ningún journal
+     * la pise con algo más viejo, y lo pendiente para esa clave queda obsoleto. El archivo no
+     * se reescribe aquí: si se reinicia antes del próximo replay, el script omite esa entrada
+     */
+    public void written(String key) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(WRITTEN_AT_PREFIX + key, System.currentTimeMillis(), stampTtl);
+        } catch (Exception e) {
+            logger.warn("No se pudo registrar la hora de escritura de '{}': {}", key, e.getMessage());
+        }
+        if (depth == 0) {
+            return;
+        }
+        synchronized (this) {
+            if (pending.remove(key) != null) {
+                updateStats();
+                stale = true;
+            }
+        }
+    }
+
+    /**
+     * Registra la hora de escritura de una clave dentro de un lote (cargas masivas)
+     */
+    public void stamp(RedisOperations<String, Object> operations, String key) {
+        if (enabled) {
+            operations.opsForValue().set(WRITTEN_AT_PREFIX + key, System.currentTimeMillis(), stampTtl);
+        }
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * Reenvía lo pendiente a Redis; se detiene en el primer lote que falle
+     * @return escrituras reenviadas
+     */
+    @Scheduled(fixedDelayString = "${catalog.journal.replay-interval:PT5S}",
+            initialDelayString = "${catalog.journal.replay-interval:PT5S}")
+    public int replay() {
+        if (depth == 0) {
+            if (stale) {
+                synchronized (this) {
+                    compact();
+                }
+            }
+            return 0;
+        }
+        List<Entry> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(pending.values());
+        }
+
+        int done = 0;
+        int skipped = 0;
+        try {
+            for (int from = 0; from < snapshot.size(); from += replayBatchSize) {
+                List<Entry> batch = snapshot.subList(from, Math.min(from + replayBatchSize, snapshot.size()));
+                skipped += apply(batch);
+                done += batch.size();
+            }
+        } catch (Exception e) {
+            logger.debug("Redis sigue sin responder, {} escrituras del journal en espera: {}",
+                    snapshot.size() - done, e.getMessage());
+        }
+
+        if (done > 0) {
+            synchronized (this) {
+                // Solo se descartan las entradas reenviadas que nadie reemplazó mientras tanto
+                for (Entry entry : snapshot.subList(0, done)) {
+                    pending.remove(entry.coalescingKey(), entry);
+                }
+                updateStats();
+                compact();
+            }
+            replayed.increment(done - skipped);
+            superseded.increment(skipped);
+            logger.info("Journal: {} escrituras reenviadas a Redis, {} omitidas por más viejas, {} pendientes",
+                    done - skipped, skipped, depth);
+        }
+        return done - skipped;
+    }
+
+    /**
+     * Aplica un lote con el script de reenvío
+     * @return entradas omitidas porque Redis tenía una escritura posterior
+     */
+    @SuppressWarnings("unchecked")
+    private int apply(List<Entry> batch) {
+        RedisSerializer<Object> values = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        List<String> keys = new ArrayList<>(batch.size() * 2 + 4);
+        List<Object> args = new ArrayList<>(batch.size() * 4 + 2);
+        Set<String> catalogs = new LinkedHashSet<>();
+        args.add(String.valueOf(batch.size()));
+        args.add(String.valueOf(stampTtl.toMillis()));
+        batch.forEach(entry -> keys.add(entry.key()));
+        batch.forEach(entry -> keys.add(WRITTEN_AT_PREFIX + entry.key()));
+        for (Entry entry : batch) {
+            args.add(entry.operation().name());
+            args.add(String.valueOf(entry.timestamp()));
+            args.add(String.valueOf(entry.ttlMillis()));
+            args.add(switch (entry.operation()) {
+                case SET -> values.serialize(toValue(entry));
+                case SADD -> values.serialize(entry.value().asText());
+                case DEL -> new byte[0];
+            });
+            catalogs.add(entry.catalog());
+        }
+        // Las demás réplicas deben ver el cambio de versión de los catálogos reenviados
+        catalogs.forEach(catalog -> keys.add(CatalogVersion.KEY_PREFIX + catalog));
+        Long skipped = redisTemplate.execute(REPLAY_SCRIPT, ARGS, COUNT, keys, args.toArray());
+        return skipped == null ? 0 : skipped.intValue();
+    }
+
+    private Object toValue(Entry entry) {
+        if (entry.type() == null || !entry.type().startsWith(DOMAIN_PACKAGE)) {
+            throw new IllegalStateException("Tipo no permitido en el journal: " + entry.type());
+        }
+        try {
+            return objectMapper.treeToValue(entry.value(), Class.forName(entry.type()));
+        } catch (ClassNotFoundException | JsonProcessingException e) {
+            throw new IllegalStateException("Entrada del journal ilegible para " + entry.key(), e);
+        }
+    }
+
+    private synchronized void append(Entry entry) {
+        if (!enabled) {
+            return;
+        }
+        pending.remove(entry.coalescingKey());
+        pending.put(entry.coalescingKey(), entry);
+        updateStats();
+        try {
+            write(List.of(entry), StandardOpenOption.APPEND);
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("No se pudo escribir el journal {}, la escritura queda solo en memoria: {}",
+                    path, e.getMessage());
+        }
+    }
+
+    /**
+     * Reescribe el archivo con lo pendiente para que un reinicio no reenvíe entradas obsoletas
+     */
+    private void compact() {
+        stale = false;
+        try {
+            if (pending.isEmpty()) {
+                Files.deleteIfExists(path);
+                return;
+            }
+            Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.deleteIfExists(temporary);
+            write(temporary, new ArrayList<>(pending.values()), StandardOpenOption.APPEND);
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("No se pudo compactar el journal {}: {}", path, e.getMessage());
+        }
+    }
+
+    private void write(List<Entry> entries, StandardOpenOption mode) throws IOException {
+        write(path, entries, mode);
+    }
+
+    private void write(Path target, List<Entry> entries, StandardOpenOption mode) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (Entry entry : entries) {
+            lines.append(objectMapper.writeValueAsString(entry)).append('\n');
+        }
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, mode)) {
+            channel.write(ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8)));
+            if (fsync) {
+                channel.force(false);
+            }
+        }
+    }
+
+    private synchronized void load() {
+        if (!Files.exists(path)) {
+            return;
+        }
+        int lines = 0;
+        try {
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    Entry entry = objectMapper.readValue(line, Entry.class);
+                    pending.remove(entry.coalescingKey());
+                    pending.put(entry.coalescingKey(), entry);
+                    lines++;
+                } catch (JsonProcessingException e) {
+                    // Una línea truncada por una caída a mitad de escritura se descarta
+                    logger.warn("Línea ilegible en el journal {}: {}", path, e.getOriginalMessage());
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("No se pudo leer el journal {}: {}", path, e.getMessage());
+            return;
+        }
+        updateStats();
+        if (depth > 0) {
+            logger.info("Journal {} cargado: {} líneas, {} escrituras pendientes", path, lines, depth);
+        }
+    }
+
+    private void updateStats() {
+        depth = pending.size();
+        oldestPendingMillis = pending.isEmpty() ? 0 : pending.values().iterator().next().timestamp();
+    }
+
+    private double lagSeconds() {
+        long oldest = oldestPendingMillis;
+        return oldest == 0 ? 0 : (System.currentTimeMillis() - oldest) / 1000.0;
+    }
+}
@@ -0,0 +1,110 @@
+package co.edu.uco.parameterservices.config;
+
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Límite de concurrencia AIMD guiado por la latencia. Se mantiene una latencia base que
+ * baja rápido y sube despacio (aproxima la latencia sin carga); si una petición tarda más
+ * de tolerance veces la base el límite se multiplica por backoffRatio (como mucho una vez
+ * por latencia base, para que una ráfaga de respuestas lentas no lo desplome), y si no, y
+ * el límite se está usando, crece 1/límite, es decir, alrededor de uno por ventana.
+ * Cuando las peticiones en curso alcanzan el límite, tryAcquire rechaza sin esperar
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    private static final double BASELINE_RISE = 0.01;
+    private static final double BASELINE_FALL = 0.1;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoffRatio;
+    private final int warmupSamples;
+    private final LongSupplier clock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private double baselineNanos;
+    private long samples;
+    private long lastDecrease;
+
+    public AdaptiveConcurrencyLimit(CatalogProperties.Limiter limiter, CatalogProperties.ConcurrencyLimit settings) {
+        this(limiter, settings, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimit(CatalogProperties.Limiter limiter, CatalogProperties.ConcurrencyLimit settings,
+            LongSupplier clock) {
+        if (limiter.getMinLimit() < 1 || limiter.getMaxLimit() < limiter.getMinLimit()) {
+            throw new IllegalArgumentException("Límites de concurrencia inválidos: min="
+                    + limiter.getMinLimit() + ", max=" + limiter.getMaxLimit());
+        }
+        this.minLimit = limiter.getMinLimit();
+        this.maxLimit = limiter.getMaxLimit();
+        this.tolerance = Math.max(1.0, settings.getTolerance());
+        this.backoffRatio = Math.min(Math.max(settings.getBackoffRatio(), 0.1), 0.99);
+        this.warmupSamples = Math.max(0, settings.getWarmupSamples());
+        this.clock = clock;
+        this.limit = Math.min(Math.max(limiter.getInitialLimit(), minLimit), maxLimit);
+        this.lastDecrease = clock.getAsLong();
+    }
+
+    /**
+     * @return instante de inicio para release (cualquier valor de nanoTime, incluso negativo),
+     *         o vacío si se alcanzó el límite
+     */
+    public OptionalLong tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= (int) limit) {
+                return OptionalLong.empty();
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return OptionalLong.of(clock.getAsLong());
+    }
+
+    /**
+     * Libera el permiso obtenido con tryAcquire y ajusta el límite con la latencia medida
+     */
+    public void release(long startNanos) {
+        int concurrent = inFlight.getAndDecrement();
+        long now = clock.getAsLong();
+        onSample(now - startNanos, concurrent, now);
+    }
+
+    private synchronized void onSample(long rttNanos, int concurrent, long now) {
+        samples++;
+        if (baselineNanos == 0) {
+            baselineNanos = rttNanos;
+        }
+        if (samples > warmupSamples) {
+            if (rttNanos > baselineNanos * tolerance) {
+                if (now - lastDecrease >= baselineNanos) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecrease = now;
+                }
+            } else if (concurrent * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+        }
+        double weight = rttNanos > baselineNanos ? BASELINE_RISE : BASELINE_FALL;
+        baselineNanos += weight * (rttNanos - baselineNanos);
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Segundos sugeridos al cliente rechazado: lo que tarda en vaciarse una ventana congestionada
+     */
+    public synchronized long retryAfterSeconds() {
+        return Math.max(1, (long) Math.ceil(baselineNanos * tolerance / 1_000_000_000.0));
+    }
+}
@@ -0,0 +1,13 @@
+package co.edu.uco.parameterservices.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(CatalogProperties.class)
+@ImportRuntimeHints(CatalogRuntimeHints.class)
+public class CatalogConfig {
+}
@@ -0,0 +1,891 @@
+package co.edu.uco.parameterservices.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de los catálogos (prefijo "catalog")
+ * TTL por catálogo, jitter y refresh-ahead de entradas calientes
+ */
+@ConfigurationProperties(prefix = "catalog")
+public class CatalogProperties {
+
+    private final Tier parameters = new Tier(Duration.ofMinutes(10));
+    private final Tier messages = new Tier(Duration.ofMinutes(10));
+    private final Tier notifications = new Tier(Duration.ofMinutes(30));
+
+    // Fracción del TTL usada como jitter aleatorio (0.1 = ±10%)
+    private double ttlJitter = 0.1;
+
+    private final RefreshAhead refreshAhead = new RefreshAhead();
+    private final Telemetry telemetry = new Telemetry();
+    private final ResponseCache responseCache = new ResponseCache();
+    private final BulkImport bulkImport = new BulkImport();
+    private final Journal journal = new Journal();
+    private final Observability observability = new Observability();
+    private final Hedge hedge = new Hedge();
+    private final Idempotency idempotency = new Idempotency();
+    private final ScheduledSends scheduledSends = new ScheduledSends();
+    private final Digest digest = new Digest();
+    private final Sms sms = new Sms();
+    private final NegativeLookup negativeLookup = new NegativeLookup();
+    private final EdgeCache edgeCache = new EdgeCache();
+    private final ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+
+    public Tier getParameters() {
+        return parameters;
+    }
+
+    public Tier getMessages() {
+        return messages;
+    }
+
+    public Tier getNotifications() {
+        return notifications;
+    }
+
+    public double getTtlJitter() {
+        return ttlJitter;
+    }
+
+    public void setTtlJitter(double ttlJitter) {
+        this.ttlJitter = ttlJitter;
+    }
+
+    public RefreshAhead getRefreshAhead() {
+        return refreshAhead;
+    }
+
+    public Telemetry getTelemetry() {
+        return telemetry;
+    }
+
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    public BulkImport getBulkImport() {
+        return bulkImport;
+    }
+
+    public Journal getJournal() {
+        return journal;
+    }
+
+    public Observability getObservability() {
+        return observability;
+    }
+
+    public Hedge getHedge() {
+        return hedge;
+    }
+
+    public Idempotency getIdempotency() {
+        return idempotency;
+    }
+
+    public ScheduledSends getScheduledSends() {
+        return scheduledSends;
+    }
+
+    public Digest getDigest() {
+        return digest;
+    }
+
+    public Sms getSms() {
+        return sms;
+    }
+
+    public NegativeLookup getNegativeLookup() {
+        return negativeLookup;
+    }
+
+    public EdgeCache getEdgeCache() {
+        return edgeCache;
+    }
+
+    public ConcurrencyLimit getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    /**
+     * Configuración de un catálogo en Redis
+     */
+    public static class Tier {
+
+        private Duration ttl;
+
+        public Tier(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+
+    /**
+     * Renovación anticipada de las claves más consultadas
+     */
+    public static class RefreshAhead {
+
+        private boolean enabled = true;
+        private Duration interval = Duration.ofSeconds(30);   // Periodo del scheduler
+        private Duration window = Duration.ofMinutes(2);      // Se renueva si al TTL le queda menos que esto
+        private int minHits = 2;                              // Accesos mínimos por intervalo para ser "caliente"
+        private int maxTrackedKeys = 10_000;                  // Límite de claves rastreadas por catálogo
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getInterval() {
+            return interval;
+        }
+
+        public void setInterval(Duration interval) {
+            this.interval = interval;
+        }
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+
+        public int getMinHits() {
+            return minHits;
+        }
+
+        public void setMinHits(int minHits) {
+            this.minHits = minHits;
+        }
+
+        public int getMaxTrackedKeys() {
+            return maxTrackedKeys;
+        }
+
+        public void setMaxTrackedKeys(int maxTrackedKeys) {
+            this.maxTrackedKeys = maxTrackedKeys;
+        }
+    }
+
+    /**
+     * Sketch de frecuencias para detectar claves calientes (memoria fija)
+     */
+    public static class Telemetry {
+
+        private Duration window = Duration.ofMinutes(1);   // Duración de cada ventana
+        private int windows = 5;                            // Ventanas conservadas
+        private int sketchDepth = 4;
+        private int sketchWidth = 2048;
+        private int candidates = 128;                       // Candidatos a top-N por ventana
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+
+        public int getWindows() {
+            return windows;
+        }
+
+        public void setWindows(int windows) {
+            this.windows = windows;
+        }
+
+        public int getSketchDepth() {
+            return sketchDepth;
+        }
+
+        public void setSketchDepth(int sketchDepth) {
+            this.sketchDepth = sketchDepth;
+        }
+
+        public int getSketchWidth() {
+            return sketchWidth;
+        }
+
+        public void setSketchWidth(int sketchWidth) {
+            this.sketchWidth = sketchWidth;
+        }
+
+        public int getCandidates() {
+            return candidates;
+        }
+
+        public void setCandidates(int candidates) {
+            this.candidates = candidates;
+        }
+    }
+
+    /**
+     * Respuestas serializadas de los listados completos, por versión de catálogo
+     */
+    public static class ResponseCache {
+
+        private boolean enabled = true;
+        private Duration maxAge = Duration.ofMinutes(1);   // Reconstrucción forzada aunque la versión no cambie
+        private int gzipMinBytes = 1024;                    // Por debajo no se guarda la variante gzip
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getMaxAge() {
+            return maxAge;
+        }
+
+        public void setMaxAge(Duration maxAge) {
+            this.maxAge = maxAge;
+        }
+
+        public int getGzipMinBytes() {
+            return gzipMinBytes;
+        }
+
+        public void setGzipMinBytes(int gzipMinBytes) {
+            this.gzipMinBytes = gzipMinBytes;
+        }
+    }
+
+    /**
+     * Importación masiva: tamaño de cada MULTI/EXEC y errores reportados
+     */
+    public static class BulkImport {
+
+        private int batchSize = 500;
+        private int maxReportedErrors = 100;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxReportedErrors() {
+            return maxReportedErrors;
+        }
+
+        public void setMaxReportedErrors(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+    }
+
+    /**
+     * Journal de escrituras que fallaron en Redis, reenviadas al recuperarse
+     */
+    public static class Journal {
+
+        private boolean enabled = true;
+        private String path = "data/catalog-journal.ndjson";
+        private boolean fsync = true;                          // force() tras cada anexado
+        private Duration replayInterval = Duration.ofSeconds(5);
+        private int replayBatchSize = 500;
+        private Duration stampTtl = Duration.ofDays(7);        // Vigencia de la hora de escritura por clave
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public boolean isFsync() {
+            return fsync;
+        }
+
+        public void setFsync(boolean fsync) {
+            this.fsync = fsync;
+        }
+
+        public Duration getReplayInterval() {
+            return replayInterval;
+        }
+
+        public void setReplayInterval(Duration replayInterval) {
+            this.replayInterval = replayInterval;
+        }
+
+        public int getReplayBatchSize() {
+            return replayBatchSize;
+        }
+
+        public void setReplayBatchSize(int replayBatchSize) {
+            this.replayBatchSize = replayBatchSize;
+        }
+
+        public Duration getStampTtl() {
+            return stampTtl;
+        }
+
+        public void setStampTtl(Duration stampTtl) {
+            this.stampTtl = stampTtl;
+        }
+    }
+
+    /**
+     * Spans de búsqueda en los catálogos (el muestreo global está en management.tracing.sampling)
+     */
+    public static class Observability {
+
+        private boolean lookups = true;
+
+        public boolean isLookups() {
+            return lookups;
+        }
+
+        public void setLookups(boolean lookups) {
+            this.lookups = lookups;
+        }
+    }
+
+    /**
+     * Lecturas con presupuesto de latencia: pasado el umbral responde el nivel local
+     */
+    public static class Hedge {
+
+        private boolean enabled = true;
+        private Duration budget = Duration.ofMillis(250);        // Espera máxima cuando no hay copia local
+        private double percentile = 0.95;                         // Umbral = este percentil de la latencia de Redis
+        private Duration minThreshold = Duration.ofMillis(2);     // Piso del umbral
+        private int window = 1024;                                // Muestras de latencia conservadas
+        private int minSamples = 100;                             // Antes de esto el umbral es el presupuesto
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getBudget() {
+            return budget;
+        }
+
+        public void setBudget(Duration budget) {
+            this.budget = budget;
+        }
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public Duration getMinThreshold() {
+            return minThreshold;
+        }
+
+        public void setMinThreshold(Duration minThreshold) {
+            this.minThreshold = minThreshold;
+        }
+
+        public int getWindow() {
+            return window;
+        }
+
+        public void setWindow(int window) {
+            this.window = window;
+        }
+
+        public int getMinSamples() {
+            return minSamples;
+        }
+
+        public void setMinSamples(int minSamples) {
+            this.minSamples = minSamples;
+        }
+    }
+
+    /**
+     * Claves de idempotencia de los envíos (Idempotency-Key)
+     */
+    public static class Idempotency {
+
+        private Duration ttl = Duration.ofHours(24);              // Vida de la respuesta guardada
+        private Duration inFlightTtl = Duration.ofMinutes(1);     // Vida del reclamo; se renueva mientras se envía
+        private long bloomExpectedKeys = 100_000;                  // Al superarlo el filtro local se renueva
+        private double bloomFalsePositiveRate = 0.01;
+        private int localResults = 10_000;                         // Respuestas recientes conservadas en memoria
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public Duration getInFlightTtl() {
+            return inFlightTtl;
+        }
+
+        public void setInFlightTtl(Duration inFlightTtl) {
+            this.inFlightTtl = inFlightTtl;
+        }
+
+        public long getBloomExpectedKeys() {
+            return bloomExpectedKeys;
+        }
+
+        public void setBloomExpectedKeys(long bloomExpectedKeys) {
+            this.bloomExpectedKeys = bloomExpectedKeys;
+        }
+
+        public double getBloomFalsePositiveRate() {
+            return bloomFalsePositiveRate;
+        }
+
+        public void setBloomFalsePositiveRate(double bloomFalsePositiveRate) {
+            this.bloomFalsePositiveRate = bloomFalsePositiveRate;
+        }
+
+        public int getLocalResults() {
+            return localResults;
+        }
+
+        public void setLocalResults(int localResults) {
+            this.localResults = localResults;
+        }
+    }
+
+    /**
+     * Envíos programados (sendAt) en un sorted set de Redis
+     */
+    public static class ScheduledSends {
+
+        private boolean enabled = true;
+        private Duration pollInterval = Duration.ofSeconds(1);
+        private int batchSize = 100;                          // Envíos reclamados por script
+        private int maxBatchesPerPoll = 10;
+        private Duration lease = Duration.ofMinutes(1);       // Si la réplica no confirma, vuelven a la cola
+        private int maxAttempts = 3;
+        private Duration retryDelay = Duration.ofSeconds(30);
+        private Duration maxHorizon = Duration.ofDays(365);   // sendAt más lejano aceptado
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxBatchesPerPoll() {
+            return maxBatchesPerPoll;
+        }
+
+        public void setMaxBatchesPerPoll(int maxBatchesPerPoll) {
+            this.maxBatchesPerPoll = maxBatchesPerPoll;
+        }
+
+        public Duration getLease() {
+            return lease;
+        }
+
+        public void setLease(Duration lease) {
+            this.lease = lease;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getRetryDelay() {
+            return retryDelay;
+        }
+
+        public void setRetryDelay(Duration retryDelay) {
+            this.retryDelay = retryDelay;
+        }
+
+        public Duration getMaxHorizon() {
+            return maxHorizon;
+        }
+
+        public void setMaxHorizon(Duration maxHorizon) {
+            this.maxHorizon = maxHorizon;
+        }
+    }
+
+    /**
+     * Resúmenes de envíos repetidos (la ventana se define por template)
+     */
+    public static class Digest {
+
+        private boolean enabled = true;
+        private Duration flushInterval = Duration.ofSeconds(5);
+        private int batchSize = 50;          // Resúmenes reclamados por ciclo
+        private int maxItems = 200;          // Elementos detallados por resumen; el resto solo se cuenta
+        private Duration lease = Duration.ofMinutes(1);         // Tras reclamar, vuelve a entregarse si no se confirma
+        private Duration retryDelay = Duration.ofSeconds(30);
+        private int maxAttempts = 5;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxItems() {
+            return maxItems;
+        }
+
+        public void setMaxItems(int maxItems) {
+            this.maxItems = maxItems;
+        }
+
+        public Duration getLease() {
+            return lease;
+        }
+
+        public void setLease(Duration lease) {
+            this.lease = lease;
+        }
+
+        public Duration getRetryDelay() {
+            return retryDelay;
+        }
+
+        public void setRetryDelay(Duration retryDelay) {
+            this.retryDelay = retryDelay;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+    }
+
+    /**
+     * Proveedor de SMS; "console" solo imprime los mensajes
+     */
+    public static class Sms {
+
+        private String provider = "console";
+        private String baseUrl;
+        private String apiKey;
+        private boolean batchSupported = true;                 // POST {baseUrl}/messages/batch
+        private int batchSize = 100;
+        private Duration linger = Duration.ofMillis(20);       // Espera máxima para completar un lote
+        private Duration timeout = Duration.ofSeconds(5);
+        private int maxSegments = 10;                          // Mensajes más largos se rechazan
+
+        public String getProvider() {
+            return provider;
+        }
+
+        public void setProvider(String provider) {
+            this.provider = provider;
+        }
+
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        public void setBaseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        public String getApiKey() {
+            return apiKey;
+        }
+
+        public void setApiKey(String apiKey) {
+            this.apiKey = apiKey;
+        }
+
+        public boolean isBatchSupported() {
+            return batchSupported;
+        }
+
+        public void setBatchSupported(boolean batchSupported) {
+            this.batchSupported = batchSupported;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getLinger() {
+            return linger;
+        }
+
+        public void setLinger(Duration linger) {
+            this.linger = linger;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public int getMaxSegments() {
+            return maxSegments;
+        }
+
+        public void setMaxSegments(int maxSegments) {
+            this.maxSegments = maxSegments;
+        }
+    }
+
+    /**
+     * Filtro de claves conocidas para responder 404 sin consultar Redis
+     */
+    public static class NegativeLookup {
+
+        private boolean enabled = true;
+        private Duration refreshInterval = Duration.ofSeconds(5);  // Reconstrucción si la versión cambió
+        private long expectedKeys = 100_000;                        // Tamaño inicial; crece al saturarse
+        private double falsePositiveRate = 0.01;
+        private int scanBatchSize = 1_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+
+        public long getExpectedKeys() {
+            return expectedKeys;
+        }
+
+        public void setExpectedKeys(long expectedKeys) {
+            this.expectedKeys = expectedKeys;
+        }
+
+        public double getFalsePositiveRate() {
+            return falsePositiveRate;
+        }
+
+        public void setFalsePositiveRate(double falsePositiveRate) {
+            this.falsePositiveRate = falsePositiveRate;
+        }
+
+        public int getScanBatchSize() {
+            return scanBatchSize;
+        }
+
+        public void setScanBatchSize(int scanBatchSize) {
+            this.scanBatchSize = scanBatchSize;
+        }
+    }
+
+    /**
+     * Refresco de la micro-caché de nginx cuando cambia un catálogo
+     */
+    public static class EdgeCache {
+
+        private String refreshUrl;                              // Listener interno de nginx; vacío = sin refresco
+        private Duration debounce = Duration.ofMillis(50);      // Agrupa cambios seguidos en un solo refresco
+        private Duration timeout = Duration.ofSeconds(2);
+
+        public String getRefreshUrl() {
+            return refreshUrl;
+        }
+
+        public void setRefreshUrl(String refreshUrl) {
+            this.refreshUrl = refreshUrl;
+        }
+
+        public Duration getDebounce() {
+            return debounce;
+        }
+
+        public void setDebounce(Duration debounce) {
+            this.debounce = debounce;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    /**
+     * Límite adaptativo de peticiones concurrentes (AIMD sobre la latencia observada)
+     */
+    public static class ConcurrencyLimit {
+
+        private boolean enabled = true;
+        private double tolerance = 2.0;         // Latencia aceptada como múltiplo de la latencia base
+        private double backoffRatio = 0.9;      // Factor de reducción del límite ante congestión
+        private int warmupSamples = 20;         // Muestras antes de empezar a ajustar
+        private final Limiter send = new Limiter(20, 2, 200);
+        private final Limiter reads = new Limiter(100, 10, 400);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getTolerance() {
+            return tolerance;
+        }
+
+        public void setTolerance(double tolerance) {
+            this.tolerance = tolerance;
+        }
+
+        public double getBackoffRatio() {
+            return backoffRatio;
+        }
+
+        public void setBackoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+        }
+
+        public int getWarmupSamples() {
+            return warmupSamples;
+        }
+
+        public void setWarmupSamples(int warmupSamples) {
+            this.warmupSamples = warmupSamples;
+        }
+
+        public Limiter getSend() {
+            return send;
+        }
+
+        public Limiter getReads() {
+            return reads;
+        }
+    }
+
+    /**
+     * Límites de un grupo de endpoints
+     */
+    public static class Limiter {
+
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+
+        public Limiter(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package co.edu.uco.parameterservices.config;
+
+import java.util.List;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import co.edu.uco.parameterservices.catalog.message.domain.Message;
+import co.edu.uco.parameterservices.catalog.notification.domain.NotificationTemplate;
+import co.edu.uco.parameterservices.catalog.parameter.controller.FlagController;
+import co.edu.uco.parameterservices.catalog.parameter.domain.FlagRule;
+import co.edu.uco.parameterservices.catalog.parameter.domain.Parameter;
+import co.edu.uco.parameterservices.catalog.parameter.domain.ParameterType;
+import co.edu.uco.parameterservices.catalog.parameter.domain.TypedParameter;
+import co.edu.uco.parameterservices.catalog.support.CatalogPage;
+import co.edu.uco.parameterservices.catalog.support.ImportResult;
+import co.edu.uco.parameterservices.catalog.support.SearchPage;
+import co.edu.uco.parameterservices.catalog.support.WindowedHotKeySketch;
+import co.edu.uco.parameterservices.sender.IdempotencyRecord;
+import co.edu.uco.parameterservices.sender.ScheduledSend;
+
+/**
+ * Hints de reflexión para el modo AOT: los valores en Redis llevan "@class" y Jackson
+ * resuelve la clase por nombre, algo que el análisis estático no puede deducir
+ */
+public class CatalogRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final MemberCategory[] JACKSON = {
+        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+        MemberCategory.INVOKE_PUBLIC_METHODS,
+        MemberCategory.DECLARED_FIELDS
+    };
+
+    // Tipos guardados en Redis o en el journal de escrituras
+    static final List<Class<?>> STORED_TYPES = List.of(
+            Parameter.class, ParameterType.class, Message.class, NotificationTemplate.class,
+            IdempotencyRecord.class, ScheduledSend.class);
+
+    // Tipos que solo viajan en respuestas HTTP
+    static final List<Class<?>> RESPONSE_TYPES = List.of(
+            TypedParameter.class, CatalogPage.class, SearchPage.class, ImportResult.class,
+            ImportResult.ImportError.class, WindowedHotKeySketch.HotKey.class, FlagRule.class,
+            FlagController.FlagEvaluationRequest.class, FlagController.FlagEvaluation.class);
+
+    // Records privados al paquete, se referencian por nombre
+    static final String JOURNAL_ENTRY = "co.edu.uco.parameterservices.catalog.support.WriteBehindJournal$Entry";
+    static final String DIGEST_ITEM = "co.edu.uco.parameterservices.sender.DigestCoalescer$Item";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        STORED_TYPES.forEach(type -> hints.reflection().registerType(type, JACKSON));
+        RESPONSE_TYPES.forEach(type -> hints.reflection().registerType(type, JACKSON));
+        hints.reflection().registerType(TypeReference.of(JOURNAL_ENTRY), JACKSON);
+        hints.reflection().registerType(TypeReference.of(DIGEST_ITEM), JACKSON);
+    }
+}
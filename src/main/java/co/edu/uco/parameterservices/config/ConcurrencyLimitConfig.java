@@ -0,0 +1,50 @@
+package co.edu.uco.parameterservices.config;
+
+import java.util.Set;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Límites de concurrencia independientes para los envíos y para las lecturas de catálogo,
+ * de modo que una avalancha de envíos no agote los hilos que sirven los catálogos
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "catalog.concurrency-limit", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    // Después de la observación de Spring (HIGHEST_PRECEDENCE + 1) para que los 503 cuenten en las métricas HTTP
+    private static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> sendConcurrencyLimit(CatalogProperties properties,
+            MeterRegistry meterRegistry) {
+        CatalogProperties.ConcurrencyLimit settings = properties.getConcurrencyLimit();
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter("send",
+                new AdaptiveConcurrencyLimit(settings.getSend(), settings), Set.of("POST"), meterRegistry);
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/v1/send/*");
+        registration.setOrder(ORDER);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> readConcurrencyLimit(CatalogProperties properties,
+            MeterRegistry meterRegistry) {
+        CatalogProperties.ConcurrencyLimit settings = properties.getConcurrencyLimit();
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter("catalog-reads",
+                new AdaptiveConcurrencyLimit(settings.getReads(), settings), Set.of("GET", "HEAD"), meterRegistry);
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/v1/parameters", "/api/v1/parameters/*",
+                "/api/v1/messages", "/api/v1/messages/*",
+                "/api/v1/notifications", "/api/v1/notifications/*", "/api/v1/catalogs/*");
+        registration.setOrder(ORDER);
+        return registration;
+    }
+}
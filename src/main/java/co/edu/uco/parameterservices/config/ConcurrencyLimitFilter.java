@@ -0,0 +1,86 @@
+package co.edu.uco.parameterservices.config;
+
+import java.io.IOException;
+import java.util.OptionalLong;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Aplica un AdaptiveConcurrencyLimit a un grupo de endpoints: por encima del límite
+ * responde 503 con Retry-After de inmediato, sin encolar ni ocupar el controlador.
+ * Los streams quedan fuera porque su duración no refleja la carga del servicio
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    private final String group;
+    private final AdaptiveConcurrencyLimit limit;
+    private final Set<String> methods;
+    private final Counter rejected;
+
+    public ConcurrencyLimitFilter(String group, AdaptiveConcurrencyLimit limit, Set<String> methods,
+            MeterRegistry meterRegistry) {
+        this.group = group;
+        this.limit = limit;
+        this.methods = methods;
+        Gauge.builder("http.server.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Límite adaptativo de peticiones concurrentes")
+                .tag("group", group)
+                .register(meterRegistry);
+        Gauge.builder("http.server.concurrency.in.flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Peticiones en curso dentro del límite")
+                .tag("group", group)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("http.server.concurrency.rejected")
+                .description("Peticiones rechazadas con 503 por superar el límite")
+                .tag("group", group)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !methods.contains(request.getMethod()) || request.getRequestURI().endsWith("/stream");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        OptionalLong start = limit.tryAcquire();
+        if (start.isEmpty()) {
+            reject(response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limit.release(start.getAsLong());
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        rejected.increment();
+        logger.debug("Petición de '{}' rechazada: {} en curso, límite {}", group, limit.getInFlight(),
+                limit.getLimit());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(limit.retryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("{\"status\":503,\"error\":\"Servicio sobrecargado\","
+                + "\"message\":\"Demasiadas peticiones en curso, intente de nuevo más tarde\"}");
+    }
+}
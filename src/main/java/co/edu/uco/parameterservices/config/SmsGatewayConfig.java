@@ -0,0 +1,27 @@
+package co.edu.uco.parameterservices.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import co.edu.uco.parameterservices.sender.sms.ConsoleSmsGateway;
+import co.edu.uco.parameterservices.sender.sms.HttpSmsGateway;
+import co.edu.uco.parameterservices.sender.sms.SmsGateway;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Selección del proveedor de SMS (catalog.sms.provider)
+ */
+@Configuration
+public class SmsGatewayConfig {
+
+    @Bean
+    public SmsGateway smsGateway(CatalogProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        CatalogProperties.Sms sms = properties.getSms();
+        if (ConsoleSmsGateway.PROVIDER.equalsIgnoreCase(sms.getProvider())) {
+            return new ConsoleSmsGateway();
+        }
+        return new HttpSmsGateway(sms, objectMapper, meterRegistry);
+    }
+}
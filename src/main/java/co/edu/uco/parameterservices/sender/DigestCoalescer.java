@@ -0,0 +1,322 @@
+package co.edu.uco.parameterservices.sender;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import co.edu.uco.parameterservices.catalog.notification.domain.NotificationTemplate;
+import co.edu.uco.parameterservices.config.CatalogProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Agrupa envíos repetidos al mismo destinatario y template. El primero de cada ventana
+ * sale de inmediato; los siguientes se anexan a una lista en Redis y, al cerrar la
+ * ventana, se entregan juntos en un único mensaje con el template de resumen
+ */
+@Component
+public class DigestCoalescer {
+
+    // Fuera de "notification:" para que clearAll, el SCAN y los templates del catálogo no las alcancen
+    static final String OPEN_PREFIX = "digest:open:";
+    static final String ITEMS_PREFIX = "digest:items:";
+    static final String COUNT_PREFIX = "digest:count:";
+    static final String DUE_KEY = "digest:due";
+
+    static final String PROCESSING_KEY = "digest:processing";
+    static final String SEQUENCE_KEY = "digest:sequence";
+    static final String ATTEMPTS_KEY = "digest:attempts";
+    static final String CLAIMED_ITEMS_PREFIX = "digest:claimed:items:";
+    static final String CLAIMED_COUNT_PREFIX = "digest:claimed:count:";
+
+    // KEYS: open, items, count, due  ARGV: now, windowMs, member, item, maxItems
+    // Devuelve 0 si abrió la ventana (enviar ya) o el total acumulado en el resumen.
+    // El vencimiento se calcula desde la apertura guardada en "open", no desde este envío
+    static final RedisScript<Long> ABSORB_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('SET', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then
+              return 0
+            end
+            local window = tonumber(ARGV[2])
+            local opened = tonumber(redis.call('GET', KEYS[1])) or tonumber(ARGV[1])
+            redis.call('RPUSH', KEYS[2], ARGV[4])
+            redis.call('LTRIM', KEYS[2], -tonumber(ARGV[5]), -1)
+            local total = redis.call('INCR', KEYS[3])
+            redis.call('PEXPIRE', KEYS[2], window * 4)
+            redis.call('PEXPIRE', KEYS[3], window * 4)
+            redis.call('ZADD', KEYS[4], 'NX', opened + window, ARGV[3])
+            return total
+            """, Long.class);
+
+    // KEYS: due, processing, sequence, attempts
+    // ARGV: now, batch, leaseUntil, itemsPrefix, countPrefix, claimedItemsPrefix, claimedCountPrefix
+    // → [id, attempts, total, n, item1..itemN, ...]
+    // Un resumen vencido se mueve a claves propias del reclamo (id = secuencia|miembro) y queda
+    // en "processing" con un lease hasta confirmarse; los reclamos con lease o espera vencidos
+    // se entregan de nuevo. Así una ventana nueva del mismo destinatario no se mezcla con uno en curso
+    static final RedisScript<List> CLAIM_SCRIPT = new DefaultRedisScript<>("""
+            local claimed = {}
+            local function emit(id)
+              local items = redis.call('LRANGE', ARGV[6] .. id, 0, -1)
+              local total = redis.call('GET', ARGV[7] .. id)
+              redis.call('ZADD', KEYS[2], ARGV[3], id)
+              table.insert(claimed, id)
+              table.insert(claimed, redis.call('HGET', KEYS[4], id) or '0')
+              table.insert(claimed, total or tostring(#items))
+              table.insert(claimed, tostring(#items))
+              for _, item in ipairs(items) do
+                table.insert(claimed, item)
+              end
+            end
+            for _, id in ipairs(redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2])) do
+              emit(id)
+            end
+            for _, member in ipairs(redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2])) do
+              redis.call('ZREM', KEYS[1], member)
+              if redis.call('EXISTS', ARGV[4] .. member) == 1 then
+                local id = redis.call('INCR', KEYS[3]) .. '|' .. member
+                redis.call('RENAME', ARGV[4] .. member, ARGV[6] .. id)
+                redis.call('PERSIST', ARGV[6] .. id)
+                if redis.call('EXISTS', ARGV[5] .. member) == 1 then
+                  redis.call('RENAME', ARGV[5] .. member, ARGV[7] .. id)
+                  redis.call('PERSIST', ARGV[7] .. id)
+                end
+                emit(id)
+              end
+            end
+            return claimed
+            """, List.class);
+
+    private static final Logger logger = LoggerFactory.getLogger(DigestCoalescer.class);
+
+    /**
+     * Elemento agrupado: variables del envío original y cuándo llegó
+     */
+    record Item(Instant at, Map<String, String> variables) {
+    }
+
+    /**
+     * Resumen listo para enviar
+     * @param total envíos agrupados; puede superar items.size() si se recortó la lista
+     * @param id reclamo en Redis, para confirmarlo o reintentarlo
+     * @param attempts entregas fallidas previas
+     */
+    public record Digest(String channel, String templateCode, String to, long total, List<Item> items,
+            String id, int attempts) {
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final CatalogProperties.Digest settings;
+    private final Clock clock;
+
+    @Autowired
+    public DigestCoalescer(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+            CatalogProperties properties, MeterRegistry meterRegistry) {
+        this(redisTemplate, objectMapper, properties, meterRegistry, Clock.systemUTC());
+    }
+
+    DigestCoalescer(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+            CatalogProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.settings = properties.getDigest();
+        this.clock = clock;
+    }
+
+    /**
+     * Intenta agregar el envío al resumen abierto de su destinatario
+     * @return true si quedó agrupado; false si debe enviarse ya (primero de la ventana,
+     *         template sin ventana o Redis no disponible: ante la duda no se retiene nada)
+     */
+    public boolean absorb(String channel, String to, NotificationTemplate template, Map<String, String> variables) {
+        if (!settings.isEnabled() || !template.digestEnabled() || to == null) {
+            return false;
+        }
+        String member = member(channel, template.getCode(), to);
+        Instant now = clock.instant();
+        try {
+            Long total = redisTemplate.execute(ABSORB_SCRIPT,
+                    List.of(OPEN_PREFIX + member, ITEMS_PREFIX + member, COUNT_PREFIX + member, DUE_KEY),
+                    String.valueOf(now.toEpochMilli()),
+                    String.valueOf(Duration.ofSeconds(template.getDigestWindowSeconds()).toMillis()),
+                    member,
+                    objectMapper.writeValueAsString(new Item(now, variables == null ? Map.of() : variables)),
+                    String.valueOf(settings.getMaxItems()));
+            boolean absorbed = total != null && total > 0;
+            meterRegistry.counter("notification.digest", "outcome", absorbed ? "absorbed" : "sent").increment();
+            return absorbed;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el envío para el resumen", e);
+        } catch (Exception e) {
+            logger.warn("Redis no disponible para resúmenes, se envía sin agrupar: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Reclama los resúmenes cuya ventana cerró, más los reclamos anteriores cuyo lease o espera
+     * de reintento venció; atómico entre réplicas. Cada uno debe confirmarse con acknowledge
+     * o devolverse con retry
+     */
+    public List<Digest> claimDue() {
+        if (!settings.isEnabled()) {
+            return List.of();
+        }
+        Instant now = clock.instant();
+        List<?> claimed = redisTemplate.execute(CLAIM_SCRIPT,
+                List.of(DUE_KEY, PROCESSING_KEY, SEQUENCE_KEY, ATTEMPTS_KEY),
+                String.valueOf(now.toEpochMilli()),
+                String.valueOf(settings.getBatchSize()),
+                String.valueOf(now.plus(settings.getLease()).toEpochMilli()),
+                ITEMS_PREFIX,
+                COUNT_PREFIX,
+                CLAIMED_ITEMS_PREFIX,
+                CLAIMED_COUNT_PREFIX);
+        if (claimed == null || claimed.isEmpty()) {
+            return List.of();
+        }
+        List<Digest> digests = new ArrayList<>();
+        int i = 0;
+        while (i + 3 < claimed.size()) {
+            String id = String.valueOf(claimed.get(i));
+            int attempts = Integer.parseInt(String.valueOf(claimed.get(i + 1)));
+            long total = Long.parseLong(String.valueOf(claimed.get(i + 2)));
+            int count = Integer.parseInt(String.valueOf(claimed.get(i + 3)));
+            List<Item> items = new ArrayList<>(count);
+            for (int j = 0; j < count; j++) {
+                Item item = read(String.valueOf(claimed.get(i + 4 + j)));
+                if (item != null) {
+                    items.add(item);
+                }
+            }
+            i += 4 + count;
+            // id = secuencia|canal|template|destinatario
+            String[] parts = id.split("\\|", 4);
+            Digest digest = new Digest(parts.length == 4 ? parts[1] : null, parts.length == 4 ? parts[2] : null,
+                    parts.length == 4 ? parts[3] : null, total, items, id, attempts);
+            if (parts.length == 4 && !items.isEmpty()) {
+                digests.add(digest);
+            } else {
+                acknowledge(digest);
+            }
+        }
+        return digests;
+    }
+
+    /**
+     * Confirma un resumen entregado
+     */
+    public void delivered(Digest digest) {
+        acknowledge(digest);
+        meterRegistry.counter("notification.digest", "outcome", "flushed").increment();
+    }
+
+    /**
+     * Descarta un resumen que el proveedor rechazó (4xx): reintentarlo no cambiaría el resultado
+     */
+    public void rejected(Digest digest) {
+        acknowledge(digest);
+        meterRegistry.counter("notification.digest", "outcome", "rejected").increment();
+    }
+
+    /**
+     * Borra un reclamo y su contenido
+     */
+    public void acknowledge(Digest digest) {
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                RedisOperations<String, String> ops = operations;
+                ops.opsForZSet().remove(PROCESSING_KEY, digest.id());
+                ops.opsForHash().delete(ATTEMPTS_KEY, digest.id());
+                ops.delete(List.of(CLAIMED_ITEMS_PREFIX + digest.id(), CLAIMED_COUNT_PREFIX + digest.id()));
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Devuelve un resumen no entregado para reintentarlo tras catalog.digest.retry-delay;
+     * agotados los intentos se descarta
+     * @return true si quedó programado otro intento
+     */
+    public boolean retry(Digest digest) {
+        if (digest.attempts() + 1 >= settings.getMaxAttempts()) {
+            logger.warn("Resumen de '{}' para {} descartado tras {} intentos", digest.templateCode(), digest.to(),
+                    digest.attempts() + 1);
+            acknowledge(digest);
+            meterRegistry.counter("notification.digest", "outcome", "failed").increment();
+            return false;
+        }
+        redisTemplate.opsForHash().increment(ATTEMPTS_KEY, digest.id(), 1);
+        redisTemplate.opsForZSet().add(PROCESSING_KEY, digest.id(),
+                clock.instant().plus(settings.getRetryDelay()).toEpochMilli());
+        meterRegistry.counter("notification.digest", "outcome", "retried").increment();
+        return true;
+    }
+
+    /**
+     * Variables del template de resumen: count, items, firstAt, lastAt, omitted y template
+     */
+    public static Map<String, String> variables(Digest digest, boolean html) {
+        StringBuilder items = new StringBuilder();
+        for (Item item : digest.items()) {
+            StringBuilder line = new StringBuilder();
+            item.variables().forEach((key, value) -> {
+                if (!line.isEmpty()) {
+                    line.append(", ");
+                }
+                line.append(key).append(": ").append(value);
+            });
+            if (html) {
+                items.append("<li>").append(HtmlUtils.htmlEscape(line.toString())).append("</li>");
+            } else {
+                items.append("- ").append(line).append('\n');
+            }
+        }
+        long omitted = digest.total() - digest.items().size();
+        Map<String, String> variables = new LinkedHashMap<>();
+        variables.put("count", String.valueOf(digest.total()));
+        variables.put("items", items.toString());
+        variables.put("firstAt", digest.items().get(0).at().toString());
+        variables.put("lastAt", digest.items().get(digest.items().size() - 1).at().toString());
+        variables.put("omitted", omitted <= 0 ? "" : html
+                ? "<p>... y " + omitted + " más</p>"
+                : "... y " + omitted + " más\n");
+        variables.put("template", digest.templateCode());
+        return variables;
+    }
+
+    private static String member(String channel, String templateCode, String to) {
+        return channel + "|" + templateCode + "|" + to;
+    }
+
+    private Item read(String payload) {
+        try {
+            return objectMapper.readValue(payload, Item.class);
+        } catch (JsonProcessingException e) {
+            logger.warn("Elemento de resumen ilegible descartado: {}", e.getOriginalMessage());
+            return null;
+        }
+    }
+}
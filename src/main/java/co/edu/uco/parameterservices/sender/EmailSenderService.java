@@ -1,14 +1,42 @@
 package co.edu.uco.parameterservices.sender;
 
+import co.edu.uco.parameterservices.config.CatalogProperties;
+import co.edu.uco.parameterservices.sender.sms.SmsGateway;
+import co.edu.uco.parameterservices.sender.sms.SmsGatewayException;
+import co.edu.uco.parameterservices.sender.sms.SmsMessage;
+import co.edu.uco.parameterservices.sender.sms.SmsRejectedException;
+import co.edu.uco.parameterservices.sender.sms.SmsResult;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 /**
  * Servicio para enviar emails/SMS reales
- * Este es un ejemplo básico - en producción usar SendGrid/Twilio
+ * El email es un ejemplo básico - en producción usar SendGrid; el SMS sale por el SmsGateway configurado
  */
 @Service
 public class EmailSenderService {
 
+    public static final String SEND = "notification.send";
+
+    private final ObservationRegistry observationRegistry;
+    private final SmsGateway smsGateway;
+    private final Duration smsTimeout;
+
+    public EmailSenderService(ObservationRegistry observationRegistry, SmsGateway smsGateway,
+            CatalogProperties properties) {
+        this.observationRegistry = observationRegistry;
+        this.smsGateway = smsGateway;
+        // Margen sobre el timeout HTTP para incluir la espera del lote
+        this.smsTimeout = properties.getSms().getTimeout().plus(properties.getSms().getLinger()).plusSeconds(1);
+    }
+
     /**
      * Envía un email
      * @param to Destinatario
@@ -17,32 +45,61 @@ public class EmailSenderService {
      * @param format HTML o PLAIN_TEXT
      */
     public void sendEmail(String to, String subject, String body, String format) {
-        // TODO: Implementar con JavaMailSender o API externa
-        
-        System.out.println("═══════════════════════════════════════");
-        System.out.println("📧 EMAIL ENVIADO");
-        System.out.println("═══════════════════════════════════════");
-        System.out.println("Para: " + to);
-        System.out.println("Asunto: " + subject);
-        System.out.println("Formato: " + format);
-        System.out.println("Cuerpo:");
-        System.out.println(body);
-        System.out.println("═══════════════════════════════════════");
+        // El destinatario no se agrega como atributo: es dato personal
+        sendObservation("email", format, body).observe(() -> {
+            // TODO: Implementar con JavaMailSender o API externa
+
+            System.out.println("═══════════════════════════════════════");
+            System.out.println("📧 EMAIL ENVIADO");
+            System.out.println("═══════════════════════════════════════");
+            System.out.println("Para: " + to);
+            System.out.println("Asunto: " + subject);
+            System.out.println("Formato: " + format);
+            System.out.println("Cuerpo:");
+            System.out.println(body);
+            System.out.println("═══════════════════════════════════════");
+        });
     }
 
     /**
-     * Envía un SMS
+     * Envía un SMS y espera la confirmación del proveedor
      * @param to Número de teléfono
      * @param message Mensaje de texto
+     * @throws SmsGatewayException si el proveedor rechaza el mensaje o no responde a tiempo
      */
     public void sendSms(String to, String message) {
-        // TODO: Implementar con notification API
-        
-        System.out.println("═══════════════════════════════════════");
-        System.out.println("📱 SMS ENVIADO");
-        System.out.println("═══════════════════════════════════════");
-        System.out.println("Para: " + to);
-        System.out.println("Mensaje: " + message);
-        System.out.println("═══════════════════════════════════════");
+        sendObservation("sms", "PLAIN_TEXT", message)
+                .lowCardinalityKeyValue("provider", smsGateway.provider())
+                .observe(() -> {
+                    SmsResult result = await(smsGateway.send(new SmsMessage(to, message)));
+                    if (!result.accepted()) {
+                        throw new SmsRejectedException("SMS rechazado por " + smsGateway.provider() + ": "
+                                + result.error());
+                    }
+                });
+    }
+
+    private SmsResult await(CompletableFuture<SmsResult> future) {
+        try {
+            return future.get(smsTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new SmsGatewayException("Error enviando SMS", e.getCause());
+        } catch (TimeoutException e) {
+            throw new SmsGatewayException("El proveedor " + smsGateway.provider() + " no respondió a tiempo", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SmsGatewayException("Envío de SMS interrumpido", e);
+        }
+    }
+
+    private Observation sendObservation(String channel, String format, String payload) {
+        return Observation.createNotStarted(SEND, observationRegistry)
+                .contextualName(channel + " send")
+                .lowCardinalityKeyValue("channel", channel)
+                .lowCardinalityKeyValue("format", String.valueOf(format))
+                .highCardinalityKeyValue("payload.size", String.valueOf(payload == null ? 0 : payload.length()));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,29 @@
+package co.edu.uco.parameterservices.sender;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Resultado guardado para una Idempotency-Key
+ * @param fingerprint huella del contenido de la solicitud original
+ * @param status código HTTP de la respuesta; 0 mientras el envío está en curso
+ * @param body cuerpo de la respuesta original
+ */
+public record IdempotencyRecord(String fingerprint, int status, Map<String, String> body) {
+
+    public IdempotencyRecord {
+        // Copia mutable: los Map.of no se pueden reconstruir desde el "@class" guardado en Redis
+        body = body == null ? null : new LinkedHashMap<>(body);
+    }
+
+    public static IdempotencyRecord inFlight(String fingerprint) {
+        return new IdempotencyRecord(fingerprint, 0, null);
+    }
+
+    @JsonIgnore
+    public boolean isInFlight() {
+        return status == 0;
+    }
+}
@@ -0,0 +1,301 @@
+package co.edu.uco.parameterservices.sender;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import co.edu.uco.parameterservices.catalog.support.BloomFilter;
+import co.edu.uco.parameterservices.config.CatalogProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Deduplicación de envíos por Idempotency-Key. Redis es la autoridad entre réplicas
+ * (SET NX con TTL); delante hay un filtro de Bloom local: si dice "nunca vista" se va
+ * directo al reclamo sin consultar antes, y las respuestas recientes se repiten desde
+ * memoria sin ir a Redis. El reclamo vive in-flight-ttl y se renueva mientras el envío
+ * sigue en curso, así un envío lento no lo pierde y un reintento no envía dos veces
+ */
+@Component
+public class IdempotentSends {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final String PREFIX = "idempotency:";
+    static final int MAX_KEY_LENGTH = 255;
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotentSends.class);
+    // Forma canónica de la huella: mapas ordenados por clave y fechas en ISO-8601
+    private static final ObjectMapper CANONICAL = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+    private record LocalResult(IdempotencyRecord record, long expiresAt) {
+    }
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Duration ttl;
+    private final Duration inFlightTtl;
+    private final long bloomExpectedKeys;
+    private final double bloomFalsePositiveRate;
+    private final Map<String, LocalResult> localResults;
+    // Reclamos en curso en esta réplica; evita duplicados concurrentes si Redis no responde
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService renewals = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("idempotency-renewal").factory());
+
+    private volatile BloomFilter seenKeys;
+
+    public IdempotentSends(RedisTemplate<String, Object> redisTemplate, CatalogProperties properties,
+            MeterRegistry meterRegistry) {
+        CatalogProperties.Idempotency idempotency = properties.getIdempotency();
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.ttl = idempotency.getTtl();
+        this.inFlightTtl = idempotency.getInFlightTtl();
+        this.bloomExpectedKeys = idempotency.getBloomExpectedKeys();
+        this.bloomFalsePositiveRate = idempotency.getBloomFalsePositiveRate();
+        this.seenKeys = BloomFilter.create(bloomExpectedKeys, bloomFalsePositiveRate);
+        int capacity = idempotency.getLocalResults();
+        this.localResults = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LocalResult> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    /**
+     * Ejecuta el envío una sola vez por clave; las repeticiones devuelven la respuesta original
+     * @param scope tipo de envío (email, sms); la misma clave en otro scope es independiente
+     * @param key Idempotency-Key del cliente; null o vacía ejecuta sin deduplicar
+     * @param fingerprint huella del contenido; reutilizar la clave con otro contenido es un error
+     * @throws IllegalArgumentException si la clave excede la longitud permitida
+     */
+    public ResponseEntity<Map<String, String>> execute(String scope, String key, String fingerprint,
+            Supplier<ResponseEntity<Map<String, String>>> send) {
+        if (key == null || key.isBlank()) {
+            return send.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(HEADER + " no puede exceder " + MAX_KEY_LENGTH + " caracteres");
+        }
+        String redisKey = PREFIX + scope + ":" + key;
+
+        if (seenKeys.mightContain(redisKey)) {
+            IdempotencyRecord known = local(redisKey);
+            if (known != null) {
+                return replay(known, fingerprint, "local");
+            }
+            IdempotencyRecord stored = fetch(redisKey);
+            if (stored != null) {
+                return replay(stored, fingerprint, "redis");
+            }
+        }
+
+        if (!inFlight.add(redisKey)) {
+            return replay(IdempotencyRecord.inFlight(fingerprint), fingerprint, "local");
+        }
+        try {
+            Boolean claimed = claim(redisKey, fingerprint);
+            if (Boolean.FALSE.equals(claimed)) {
+                IdempotencyRecord stored = fetch(redisKey);
+                remember(redisKey);
+                return replay(stored != null ? stored : IdempotencyRecord.inFlight(fingerprint), fingerprint, "redis");
+            }
+            remember(redisKey);
+            count("new");
+            return sendAndStore(redisKey, fingerprint, claimed != null, send);
+        } finally {
+            inFlight.remove(redisKey);
+        }
+    }
+
+    /**
+     * Huella estable del contenido de una solicitud: SHA-256 de sus partes serializadas en
+     * forma canónica, igual en todas las réplicas e independiente del orden de los mapas
+     */
+    public static String fingerprint(Object... parts) {
+        try {
+            byte[] canonical = CANONICAL.writeValueAsString(Arrays.asList(parts)).getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(canonical));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("No se pudo calcular la huella de la solicitud", e);
+        }
+    }
+
+    private ResponseEntity<Map<String, String>> sendAndStore(String redisKey, String fingerprint, boolean claimedInRedis,
+            Supplier<ResponseEntity<Map<String, String>>> send) {
+        ResponseEntity<Map<String, String>> response;
+        Renewal renewal = claimedInRedis ? new Renewal(redisKey) : null;
+        try {
+            response = send.get();
+        } catch (RuntimeException e) {
+            release(redisKey, claimedInRedis);
+            throw e;
+        } finally {
+            if (renewal != null) {
+                renewal.stop();
+            }
+        }
+        // Los errores del servidor no se guardan: el cliente debe poder reintentar
+        if (response.getStatusCode().is5xxServerError()) {
+            release(redisKey, claimedInRedis);
+            return response;
+        }
+        IdempotencyRecord result = new IdempotencyRecord(fingerprint, response.getStatusCode().value(), response.getBody());
+        localResults.put(redisKey, new LocalResult(result, System.currentTimeMillis() + ttl.toMillis()));
+        try {
+            redisTemplate.opsForValue().set(redisKey, result, ttl);
+        } catch (Exception e) {
+            logger.warn("Redis no disponible guardando resultado de '{}', solo queda en memoria local: {}",
+                    redisKey, e.getMessage());
+        }
+        return response;
+    }
+
+    private ResponseEntity<Map<String, String>> replay(IdempotencyRecord record, String fingerprint, String source) {
+        if (!Objects.equals(record.fingerprint(), fingerprint)) {
+            count("mismatch");
+            return ResponseEntity.unprocessableEntity()
+                    .body(Map.of("error", HEADER + " ya usada con un contenido distinto"));
+        }
+        if (record.isInFlight()) {
+            count("in_flight");
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header("Retry-After", "1")
+                    .body(Map.of("error", "Ya hay un envío en curso con esta " + HEADER));
+        }
+        count("replay_" + source);
+        return ResponseEntity.status(record.status())
+                .header(REPLAYED_HEADER, "true")
+                .body(record.body());
+    }
+
+    /**
+     * @return true si se reclamó, false si ya existía, null si Redis no respondió
+     */
+    private Boolean claim(String redisKey, String fingerprint) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue()
+                    .setIfAbsent(redisKey, IdempotencyRecord.inFlight(fingerprint), inFlightTtl));
+        } catch (Exception e) {
+            logger.warn("Redis no disponible reclamando '{}', deduplicando solo en memoria local: {}",
+                    redisKey, e.getMessage());
+            return null;
+        }
+    }
+
+    private IdempotencyRecord fetch(String redisKey) {
+        try {
+            Object stored = redisTemplate.opsForValue().get(redisKey);
+            return stored instanceof IdempotencyRecord record ? record : null;
+        } catch (Exception e) {
+            logger.warn("Redis no disponible consultando '{}': {}", redisKey, e.getMessage());
+            return null;
+        }
+    }
+
+    private void release(String redisKey, boolean claimedInRedis) {
+        if (!claimedInRedis) {
+            return;
+        }
+        try {
+            redisTemplate.delete(redisKey);
+        } catch (Exception e) {
+            logger.warn("Redis no disponible liberando '{}', expirará en {}: {}", redisKey, inFlightTtl, e.getMessage());
+        }
+    }
+
+    private IdempotencyRecord local(String redisKey) {
+        LocalResult result = localResults.get(redisKey);
+        if (result == null) {
+            return null;
+        }
+        if (result.expiresAt() < System.currentTimeMillis()) {
+            localResults.remove(redisKey);
+            return null;
+        }
+        return result.record();
+    }
+
+    private void remember(String redisKey) {
+        BloomFilter filter = seenKeys;
+        if (filter.isSaturated()) {
+            // Un filtro nuevo solo cuesta consultas extra: el reclamo en Redis sigue deduplicando
+            filter = BloomFilter.create(bloomExpectedKeys, bloomFalsePositiveRate);
+            seenKeys = filter;
+        }
+        filter.put(redisKey);
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("notification.idempotency", "outcome", outcome).increment();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renewals.shutdownNow();
+    }
+
+    /**
+     * Extiende el TTL del reclamo cada tercio de in-flight-ttl mientras el envío sigue en curso
+     */
+    private final class Renewal {
+
+        private final String redisKey;
+        private final ScheduledFuture<?> task;
+        private boolean stopped;
+
+        Renewal(String redisKey) {
+            this.redisKey = redisKey;
+            long period = Math.max(1, inFlightTtl.toMillis() / 3);
+            this.task = renewals.scheduleAtFixedRate(this::extend, period, period, TimeUnit.MILLISECONDS);
+        }
+
+        // Sincronizado con stop: una renovación tardía no debe acortar el TTL del resultado guardado
+        private synchronized void extend() {
+            if (stopped) {
+                return;
+            }
+            try {
+                redisTemplate.expire(redisKey, inFlightTtl);
+            } catch (Exception e) {
+                logger.warn("Redis no disponible renovando el reclamo '{}': {}", redisKey, e.getMessage());
+            }
+        }
+
+        synchronized void stop() {
+            stopped = true;
+            task.cancel(false);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package co.edu.uco.parameterservices.sender;
+
+import co.edu.uco.parameterservices.catalog.notification.domain.NotificationTemplate;
+import co.edu.uco.parameterservices.catalog.notification.service.NotificationService;
+import co.edu.uco.parameterservices.sender.sms.SmsRejectedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Camino normal de envío: resuelve el template, reemplaza placeholders y entrega.
+ * Lo usan tanto los envíos inmediatos como los programados al vencer. Si el template
+ * define ventana de resumen, los repetidos al mismo destinatario se agrupan
+ */
+@Service
+public class NotificationDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private final NotificationService notificationService;
+    private final EmailSenderService senderService;
+    private final DigestCoalescer digests;
+
+    public NotificationDispatcher(NotificationService notificationService, EmailSenderService senderService,
+            DigestCoalescer digests) {
+        this.notificationService = notificationService;
+        this.senderService = senderService;
+        this.digests = digests;
+    }
+
+    /**
+     * Procesa el template y envía el email
+     */
+    public ResponseEntity<Map<String, String>> deliverEmail(String to, String templateCode,
+            Map<String, String> variables) {
+        return deliverEmail(to, templateCode, variables, true);
+    }
+
+    /**
+     * Procesa el template y envía el SMS
+     */
+    public ResponseEntity<Map<String, String>> deliverSms(String to, String templateCode,
+            Map<String, String> variables) {
+        return deliverSms(to, templateCode, variables, true);
+    }
+
+    /**
+     * Envía los resúmenes cuya ventana cerró. Cada uno se confirma solo tras entregarse;
+     * ante un error vuelve a la cola con espera y no afecta al resto del lote
+     */
+    @Scheduled(fixedDelayString = "${catalog.digest.flush-interval:PT5S}",
+            initialDelayString = "${catalog.digest.flush-interval:PT5S}")
+    public void flushDigests() {
+        List<DigestCoalescer.Digest> due;
+        try {
+            due = digests.claimDue();
+        } catch (Exception e) {
+            logger.warn("Redis no disponible para enviar resúmenes, se reintenta en el siguiente ciclo: {}",
+                    e.getMessage());
+            return;
+        }
+        for (DigestCoalescer.Digest digest : due) {
+            try {
+                flushDigest(digest);
+            } catch (Exception e) {
+                logger.warn("Error enviando resumen de '{}' para {}: {}", digest.templateCode(), digest.to(),
+                        e.getMessage());
+                retryDigest(digest);
+            }
+        }
+    }
+
+    private void flushDigest(DigestCoalescer.Digest digest) {
+        NotificationTemplate template = notificationService.findByCode(digest.templateCode());
+        if (template == null || !template.digestEnabled()) {
+            logger.warn("Resumen de '{}' descartado: el template ya no define resumen", digest.templateCode());
+            digests.rejected(digest);
+            return;
+        }
+        NotificationTemplate digestTemplate = notificationService.findByCode(template.getDigestTemplate());
+        boolean html = digestTemplate != null && "HTML".equals(digestTemplate.getFormat());
+        Map<String, String> variables = DigestCoalescer.variables(digest, html);
+        ResponseEntity<Map<String, String>> result = ScheduledSend.SMS.equals(digest.channel())
+                ? deliverSms(digest.to(), template.getDigestTemplate(), variables, false)
+                : deliverEmail(digest.to(), template.getDigestTemplate(), variables, false);
+        if (result.getStatusCode().is2xxSuccessful()) {
+            digests.delivered(digest);
+        } else if (result.getStatusCode().is4xxClientError()) {
+            logger.warn("Resumen de '{}' para {} rechazado: {}", digest.templateCode(), digest.to(), result.getBody());
+            digests.rejected(digest);
+        } else {
+            logger.warn("Resumen de '{}' para {} no enviado: {}", digest.templateCode(), digest.to(),
+                    result.getBody());
+            retryDigest(digest);
+        }
+    }
+
+    // Si Redis tampoco responde aquí, el lease vencido devuelve el resumen a la cola
+    private void retryDigest(DigestCoalescer.Digest digest) {
+        try {
+            digests.retry(digest);
+        } catch (Exception e) {
+            logger.warn("No se pudo reprogramar el resumen '{}', se reintenta al vencer su lease: {}",
+                    digest.id(), e.getMessage());
+        }
+    }
+
+    private ResponseEntity<Map<String, String>> deliverEmail(String to, String templateCode,
+            Map<String, String> variables, boolean coalesce) {
+        try {
+            // 1. Obtener template
+            var template = notificationService.findByCode(templateCode);
+            if (template == null) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Template no encontrado: " + templateCode));
+            }
+
+            // 2. Agrupar en el resumen abierto, si el template lo define
+            if (coalesce && digests.absorb(ScheduledSend.EMAIL, to, template, variables)) {
+                return digested("Email", to, template);
+            }
+
+            // 3. Procesar placeholders
+            String processedBody = notificationService.processTemplate(
+                templateCode, 
+                variables
+            );
+
+            String processedSubject = template.getSubject();
+            if (variables != null) {
+                for (Map.Entry<String, String> entry : variables.entrySet()) {
+                    processedSubject = processedSubject.replace(
+                        "{" + entry.getKey() + "}", 
+                        entry.getValue()
+                    );
+                }
+            }
+
+            // 4. Enviar email
+            senderService.sendEmail(
+                to,
+                processedSubject,
+                processedBody,
+                template.getFormat()
+            );
+
+            return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "message", "Email enviado correctamente a " + to
+            ));
+
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                .body(Map.of("error", "Error enviando email: " + e.getMessage()));
+        }
+    }
+
+    private ResponseEntity<Map<String, String>> deliverSms(String to, String templateCode,
+            Map<String, String> variables, boolean coalesce) {
+        try {
+            // 1. Obtener template
+            var template = notificationService.findByCode(templateCode);
+            if (template == null) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Template no encontrado: " + templateCode));
+            }
+
+            // 2. Agrupar en el resumen abierto, si el template lo define
+            if (coalesce && digests.absorb(ScheduledSend.SMS, to, template, variables)) {
+                return digested("SMS", to, template);
+            }
+
+            // 3. Procesar template
+            String processedMessage = notificationService.processTemplate(
+                templateCode,
+                variables
+            );
+
+            // 4. Enviar SMS
+            senderService.sendSms(to, processedMessage);
+
+            return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "message", "SMS enviado correctamente a " + to
+            ));
+
+        } catch (IllegalArgumentException e) {
+            // Errores del contenido (ej: excede catalog.sms.max-segments): no se reintentan
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "SMS inválido: " + e.getMessage()));
+        } catch (SmsRejectedException e) {
+            return ResponseEntity.unprocessableEntity()
+                .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                .body(Map.of("error", "Error enviando SMS: " + e.getMessage()));
+        }
+    }
+
+    // Misma forma de respuesta que un envío: el cliente no distingue salvo por el status
+    private static ResponseEntity<Map<String, String>> digested(String channel, String to,
+            NotificationTemplate template) {
+        return ResponseEntity.ok(Map.of(
+            "status", "digested",
+            "message", channel + " agregado al resumen " + template.getDigestTemplate() + " para " + to
+        ));
+    }
+}
@@ -1,23 +1,27 @@
 package co.edu.uco.parameterservices.sender;
 
-import co.edu.uco.parameterservices.catalog.notification.service.NotificationService;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/send")
 public class NotificationSenderController {
 
-    private final NotificationService notificationService;
-    private final EmailSenderService senderService;
+    private final NotificationDispatcher dispatcher;
+    private final IdempotentSends idempotentSends;
+    private final ScheduledSendQueue scheduledSends;
 
     public NotificationSenderController(
-            NotificationService notificationService,
-            EmailSenderService senderService) {
-        this.notificationService = notificationService;
-        this.senderService = senderService;
+            NotificationDispatcher dispatcher,
+            IdempotentSends idempotentSends,
+            ScheduledSendQueue scheduledSends) {
+        this.dispatcher = dispatcher;
+        this.idempotentSends = idempotentSends;
+        this.scheduledSends = scheduledSends;
     }
 
     /**
@@ -31,78 +35,69 @@ public class NotificationSenderController {
      *   "variables": {
      *     "nombre": "Juan",
      *     "email": "juan@example.com"
-     *   }
+     *   },
+     *   "idempotencyKey": "opcional, equivale al header Idempotency-Key",
+     *   "sendAt": "opcional, ISO-8601 (2026-10-20T08:00:00Z)"
      * }
+     *
+     * Con Idempotency-Key los reintentos devuelven la respuesta original sin reenviar.
+     * Con sendAt futuro responde 202 y el envío sale al vencer
      */
     @PostMapping("/email")
-    public ResponseEntity<Map<String, String>> sendEmail(@RequestBody SendEmailRequest request) {
-        try {
-            // 1. Obtener template
-            var template = notificationService.findByCode(request.getTemplateCode());
-            if (template == null) {
-                return ResponseEntity.badRequest()
-                    .body(Map.of("error", "Template no encontrado: " + request.getTemplateCode()));
-            }
-
-            // 2. Procesar placeholders
-            String processedBody = notificationService.processTemplate(
-                request.getTemplateCode(), 
-                request.getVariables()
-            );
-
-            String processedSubject = template.getSubject();
-            if (request.getVariables() != null) {
-                for (Map.Entry<String, String> entry : request.getVariables().entrySet()) {
-                    processedSubject = processedSubject.replace(
-                        "{" + entry.getKey() + "}", 
-                        entry.getValue()
-                    );
-                }
-            }
-
-            // 3. Enviar email
-            senderService.sendEmail(
-                request.getTo(),
-                processedSubject,
-                processedBody,
-                template.getFormat()
-            );
-
-            return ResponseEntity.ok(Map.of(
-                "status", "success",
-                "message", "Email enviado correctamente a " + request.getTo()
-            ));
-
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError()
-                .body(Map.of("error", "Error enviando email: " + e.getMessage()));
-        }
+    public ResponseEntity<Map<String, String>> sendEmail(
+            @RequestHeader(value = IdempotentSends.HEADER, required = false) String idempotencyKey,
+            @RequestBody SendEmailRequest request) {
+        return idempotentSends.execute("email",
+                idempotencyKey != null ? idempotencyKey : request.getIdempotencyKey(),
+                IdempotentSends.fingerprint(request.getTo(), request.getTemplateCode(), request.getVariables(),
+                        request.getSendAt()),
+                () -> request.getSendAt() != null && request.getSendAt().isAfter(Instant.now())
+                        ? schedule(ScheduledSend.EMAIL, request.getSendAt(), request.getTo(),
+                                request.getTemplateCode(), request.getVariables())
+                        : dispatcher.deliverEmail(request.getTo(), request.getTemplateCode(), request.getVariables()));
     }
 
     /**
      * POST /api/v1/send/sms
-     * Procesa template y envía SMS
+     * Procesa template y envía SMS; admite Idempotency-Key y sendAt igual que /email
      */
     @PostMapping("/sms")
-    public ResponseEntity<Map<String, String>> sendSms(@RequestBody SendSmsRequest request) {
-        try {
-            // 1. Procesar template
-            String processedMessage = notificationService.processTemplate(
-                request.getTemplateCode(),
-                request.getVariables()
-            );
+    public ResponseEntity<Map<String, String>> sendSms(
+            @RequestHeader(value = IdempotentSends.HEADER, required = false) String idempotencyKey,
+            @RequestBody SendSmsRequest request) {
+        return idempotentSends.execute("sms",
+                idempotencyKey != null ? idempotencyKey : request.getIdempotencyKey(),
+                IdempotentSends.fingerprint(request.getTo(), request.getTemplateCode(), request.getVariables(),
+                        request.getSendAt()),
+                () -> request.getSendAt() != null && request.getSendAt().isAfter(Instant.now())
+                        ? schedule(ScheduledSend.SMS, request.getSendAt(), request.getTo(),
+                                request.getTemplateCode(), request.getVariables())
+                        : dispatcher.deliverSms(request.getTo(), request.getTemplateCode(), request.getVariables()));
+    }
 
-            // 2. Enviar SMS
-            senderService.sendSms(request.getTo(), processedMessage);
+    /**
+     * DELETE /api/v1/send/scheduled/{id}
+     * Cancela un envío programado que aún no venció
+     */
+    @DeleteMapping("/scheduled/{id}")
+    public ResponseEntity<Void> cancelScheduled(@PathVariable String id) {
+        return scheduledSends.cancel(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
 
-            return ResponseEntity.ok(Map.of(
-                "status", "success",
-                "message", "SMS enviado correctamente a " + request.getTo()
+    private ResponseEntity<Map<String, String>> schedule(String channel, Instant sendAt, String to,
+            String templateCode, Map<String, String> variables) {
+        try {
+            ScheduledSend send = scheduledSends.schedule(channel, sendAt, to, templateCode, variables);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of(
+                "status", "scheduled",
+                "id", send.id(),
+                "sendAt", send.sendAt().toString()
             ));
-
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
-                .body(Map.of("error", "Error enviando SMS: " + e.getMessage()));
+                .body(Map.of("error", "Error programando envío: " + e.getMessage()));
         }
     }
 
@@ -111,6 +106,8 @@ public class NotificationSenderController {
         private String to;
         private String templateCode;
         private Map<String, String> variables;
+        private String idempotencyKey;
+        private Instant sendAt;
 
         public String getTo() { return to; }
         public void setTo(String to) { this.to = to; }
@@ -118,12 +115,18 @@ public class NotificationSenderController {
         public void setTemplateCode(String templateCode) { this.templateCode = templateCode; }
         public Map<String, String> getVariables() { return variables; }
         public void setVariables(Map<String, String> variables) { this.variables = variables; }
+        public String getIdempotencyKey() { return idempotencyKey; }
+        public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+        public Instant getSendAt() { return sendAt; }
+        public void setSendAt(Instant sendAt) { this.sendAt = sendAt; }
     }
 
     public static class SendSmsRequest {
         private String to;
         private String templateCode;
         private Map<String, String> variables;
+        private String idempotencyKey;
+        private Instant sendAt;
 
         public String getTo() { return to; }
         public void setTo(String to) { this.to = to; }
@@ -131,5 +134,9 @@ public class NotificationSenderController {
         public void setTemplateCode(String templateCode) { this.templateCode = templateCode; }
         public Map<String, String> getVariables() { return variables; }
         public void setVariables(Map<String, String> variables) { this.variables = variables; }
+        public String getIdempotencyKey() { return idempotencyKey; }
+        public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+        public Instant getSendAt() { return sendAt; }
+        public void setSendAt(Instant sendAt) { this.sendAt = sendAt; }
     }
 }
@@ -0,0 +1,20 @@
+package co.edu.uco.parameterservices.sender;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Envío programado guardado en Redis hasta su vencimiento
+ * @param channel email o sms
+ * @param attempts entregas ya intentadas sin éxito
+ */
+public record ScheduledSend(String id, String channel, Instant sendAt, String to, String templateCode,
+        Map<String, String> variables, int attempts) {
+
+    public static final String EMAIL = "email";
+    public static final String SMS = "sms";
+
+    public ScheduledSend retried(Instant nextAttempt) {
+        return new ScheduledSend(id, channel, nextAttempt, to, templateCode, variables, attempts + 1);
+    }
+}
@@ -0,0 +1,305 @@
+package co.edu.uco.parameterservices.sender;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import co.edu.uco.parameterservices.config.CatalogProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Cola de envíos programados. Cada envío es un miembro de un sorted set con su vencimiento
+ * como score (ZADD, O(log n)) y su contenido en un hash. Un poll periódico reclama los
+ * vencidos por lotes con un script Lua atómico, así dos réplicas nunca toman el mismo;
+ * lo reclamado pasa a un sorted set de "en proceso" con un lease y vuelve a la cola si
+ * la réplica cae antes de confirmar. Cada envío renueva su lease justo antes de entregarse
+ * (y se omite si ya no es de esta réplica) y se confirma apenas termina, así un lote lento
+ * no deja vencer el lease de lo ya enviado
+ */
+@Component
+public class ScheduledSendQueue {
+
+    // Fuera de "notification:" para que clearAll, el SCAN y los templates del catálogo no las alcancen
+    static final String DUE_KEY = "send-queue:scheduled";
+    static final String PROCESSING_KEY = "send-queue:scheduled:processing";
+    static final String PAYLOAD_KEY = "send-queue:scheduled:payload";
+    // Claves de versiones anteriores, que se mueven al arrancar
+    private static final Map<String, String> LEGACY_KEYS = Map.of(
+            "notification:scheduled", DUE_KEY,
+            "notification:scheduled:processing", PROCESSING_KEY,
+            "notification:scheduled:payload", PAYLOAD_KEY);
+
+    // KEYS: due, processing, payload  ARGV: now, batch, leaseUntil  →  [id1, payload1, id2, payload2, ...]
+    static final RedisScript<List> CLAIM_SCRIPT = new DefaultRedisScript<>("""
+            local expired = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2])
+            for _, id in ipairs(expired) do
+              redis.call('ZREM', KEYS[2], id)
+              redis.call('ZADD', KEYS[1], ARGV[1], id)
+            end
+            local ids = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2])
+            local claimed = {}
+            for _, id in ipairs(ids) do
+              redis.call('ZREM', KEYS[1], id)
+              local payload = redis.call('HGET', KEYS[3], id)
+              if payload then
+                redis.call('ZADD', KEYS[2], ARGV[3], id)
+                table.insert(claimed, id)
+                table.insert(claimed, payload)
+              end
+            end
+            return claimed
+            """, List.class);
+
+    // KEYS: processing  ARGV: id, lease con que se reclamó, nuevo lease  →  1 si el lease seguía vigente
+    static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>("""
+            local score = redis.call('ZSCORE', KEYS[1], ARGV[1])
+            if score and tonumber(score) == tonumber(ARGV[2]) then
+              redis.call('ZADD', KEYS[1], ARGV[3], ARGV[1])
+              return 1
+            end
+            return 0
+            """, Long.class);
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduledSendQueue.class);
+
+    // SENT: entregado; REJECTED: 4xx, no mejora al reintentar; FAILED: error transitorio, se reintenta
+    private enum Delivery { SENT, REJECTED, FAILED }
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final NotificationDispatcher dispatcher;
+    private final MeterRegistry meterRegistry;
+    private final CatalogProperties.ScheduledSends settings;
+    private final Clock clock;
+
+    @Autowired
+    public ScheduledSendQueue(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+            NotificationDispatcher dispatcher, CatalogProperties properties, MeterRegistry meterRegistry) {
+        this(redisTemplate, objectMapper, dispatcher, properties, meterRegistry, Clock.systemUTC());
+    }
+
+    ScheduledSendQueue(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+            NotificationDispatcher dispatcher, CatalogProperties properties, MeterRegistry meterRegistry,
+            Clock clock) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.dispatcher = dispatcher;
+        this.meterRegistry = meterRegistry;
+        this.settings = properties.getScheduledSends();
+        this.clock = clock;
+    }
+
+    /**
+     * Mueve la cola guardada con las claves anteriores (dentro de "notification:"); solo
+     * si la clave vieja tiene el tipo esperado, por si un template ocupó ese nombre
+     */
+    @PostConstruct
+    public void migrateLegacyKeys() {
+        try {
+            LEGACY_KEYS.forEach((legacy, current) -> {
+                DataType expected = current.equals(PAYLOAD_KEY) ? DataType.HASH : DataType.ZSET;
+                if (redisTemplate.type(legacy) == expected
+                        && Boolean.TRUE.equals(redisTemplate.renameIfAbsent(legacy, current))) {
+                    logger.info("Cola de envíos programados movida de '{}' a '{}'", legacy, current);
+                }
+            });
+        } catch (DataAccessException e) {
+            logger.warn("No se pudo revisar la cola de envíos programados anterior: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Programa un envío
+     * @return envío guardado, con su id
+     * @throws IllegalArgumentException si sendAt excede el horizonte permitido
+     */
+    public ScheduledSend schedule(String channel, Instant sendAt, String to, String templateCode,
+            Map<String, String> variables) {
+        if (sendAt.isAfter(clock.instant().plus(settings.getMaxHorizon()))) {
+            throw new IllegalArgumentException("sendAt no puede superar " + settings.getMaxHorizon() + " desde ahora");
+        }
+        ScheduledSend send = new ScheduledSend(UUID.randomUUID().toString(), channel, sendAt, to, templateCode,
+                variables, 0);
+        enqueue(send);
+        count("scheduled");
+        return send;
+    }
+
+    /**
+     * Cancela un envío que todavía no fue reclamado
+     * @return true si estaba pendiente
+     */
+    public boolean cancel(String id) {
+        Long removed = redisTemplate.opsForZSet().remove(DUE_KEY, id);
+        if (removed == null || removed == 0) {
+            return false;
+        }
+        redisTemplate.opsForHash().delete(PAYLOAD_KEY, id);
+        count("cancelled");
+        return true;
+    }
+
+    public long pending() {
+        Long size = redisTemplate.opsForZSet().zCard(DUE_KEY);
+        return size == null ? 0 : size;
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.scheduled-sends.poll-interval:PT1S}",
+            initialDelayString = "${catalog.scheduled-sends.poll-interval:PT1S}")
+    public void poll() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        try {
+            for (int batch = 0; batch < settings.getMaxBatchesPerPoll(); batch++) {
+                if (deliverDue() < settings.getBatchSize()) {
+                    break;
+                }
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Redis no disponible para envíos programados, se reintenta en el siguiente ciclo: {}",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Reclama y entrega un lote de envíos vencidos
+     * @return cantidad reclamada
+     */
+    int deliverDue() {
+        Instant now = clock.instant();
+        String lease = String.valueOf(now.plus(settings.getLease()).toEpochMilli());
+        List<?> claimed = redisTemplate.execute(CLAIM_SCRIPT,
+                List.of(DUE_KEY, PROCESSING_KEY, PAYLOAD_KEY),
+                String.valueOf(now.toEpochMilli()),
+                String.valueOf(settings.getBatchSize()),
+                lease);
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+        for (int i = 0; i + 1 < claimed.size(); i += 2) {
+            String id = String.valueOf(claimed.get(i));
+            ScheduledSend send = read(String.valueOf(claimed.get(i + 1)));
+            if (send == null) {
+                acknowledge(id, null);
+                continue;
+            }
+            if (!renew(id, lease)) {
+                // El lease venció mientras se entregaba el resto del lote: otra réplica lo reclama de nuevo
+                logger.debug("Envío programado '{}' omitido: su lease ya no es de esta réplica", id);
+                count("expired");
+                continue;
+            }
+            Delivery delivery = deliver(send);
+            ScheduledSend retry = null;
+            if (delivery == Delivery.SENT) {
+                count("sent");
+            } else if (delivery == Delivery.REJECTED) {
+                count("rejected");
+            } else if (send.attempts() + 1 < settings.getMaxAttempts()) {
+                retry = send.retried(clock.instant().plus(settings.getRetryDelay()));
+                count("retried");
+            } else {
+                logger.warn("Envío programado '{}' descartado tras {} intentos", send.id(), send.attempts() + 1);
+                count("failed");
+            }
+            acknowledge(id, retry);
+        }
+        return claimed.size() / 2;
+    }
+
+    /**
+     * Extiende el lease de un envío si sigue siendo el que puso este reclamo
+     */
+    private boolean renew(String id, String lease) {
+        Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(PROCESSING_KEY), id, lease,
+                String.valueOf(clock.instant().plus(settings.getLease()).toEpochMilli()));
+        return renewed != null && renewed == 1;
+    }
+
+    private Delivery deliver(ScheduledSend send) {
+        try {
+            ResponseEntity<Map<String, String>> result = ScheduledSend.SMS.equals(send.channel())
+                    ? dispatcher.deliverSms(send.to(), send.templateCode(), send.variables())
+                    : dispatcher.deliverEmail(send.to(), send.templateCode(), send.variables());
+            if (result.getStatusCode().is4xxClientError()) {
+                // No mejora al reintentar (template inexistente): se descarta
+                logger.warn("Envío programado '{}' rechazado: {}", send.id(), result.getBody());
+                return Delivery.REJECTED;
+            }
+            return result.getStatusCode().is2xxSuccessful() ? Delivery.SENT : Delivery.FAILED;
+        } catch (Exception e) {
+            logger.warn("Error entregando envío programado '{}': {}", send.id(), e.getMessage());
+            return Delivery.FAILED;
+        }
+    }
+
+    private void enqueue(ScheduledSend send) {
+        String payload = write(send);
+        // El contenido va primero: el script ignora ids sin contenido
+        redisTemplate.opsForHash().put(PAYLOAD_KEY, send.id(), payload);
+        redisTemplate.opsForZSet().add(DUE_KEY, send.id(), send.sendAt().toEpochMilli());
+    }
+
+    /**
+     * Confirma un envío terminado y, si corresponde, lo reprograma
+     * @param retry envío a reprogramar; null si no se reintenta
+     */
+    private void acknowledge(String id, ScheduledSend retry) {
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                RedisOperations<String, String> ops = operations;
+                ops.opsForZSet().remove(PROCESSING_KEY, id);
+                ops.opsForHash().delete(PAYLOAD_KEY, id);
+                if (retry != null) {
+                    ops.opsForHash().put(PAYLOAD_KEY, retry.id(), write(retry));
+                    ops.opsForZSet().add(DUE_KEY, retry.id(), retry.sendAt().toEpochMilli());
+                }
+                return null;
+            }
+        });
+    }
+
+    private String write(ScheduledSend send) {
+        try {
+            return objectMapper.writeValueAsString(send);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el envío programado " + send.id(), e);
+        }
+    }
+
+    private ScheduledSend read(String payload) {
+        try {
+            return objectMapper.readValue(payload, ScheduledSend.class);
+        } catch (JsonProcessingException e) {
+            logger.warn("Envío programado ilegible descartado: {}", e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("notification.scheduled", "outcome", outcome).increment();
+    }
+}
@@ -0,0 +1,33 @@
+package co.edu.uco.parameterservices.sender.sms;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Gateway de desarrollo: imprime el SMS en consola (comportamiento previo a tener proveedor)
+ */
+public class ConsoleSmsGateway implements SmsGateway {
+
+    public static final String PROVIDER = "console";
+
+    @Override
+    public String provider() {
+        return PROVIDER;
+    }
+
+    @Override
+    public CompletableFuture<SmsResult> send(SmsMessage message) {
+        SmsSegmenter.Segmentation segmentation = SmsSegmenter.split(message.text());
+
+        System.out.println("═══════════════════════════════════════");
+        System.out.println("📱 SMS ENVIADO");
+        System.out.println("═══════════════════════════════════════");
+        System.out.println("Para: " + message.to());
+        System.out.println("Mensaje: " + message.text());
+        System.out.println("Segmentos: " + segmentation.segments() + " (" + segmentation.encoding() + ")");
+        System.out.println("═══════════════════════════════════════");
+
+        return CompletableFuture.completedFuture(
+                SmsResult.accepted(message.to(), UUID.randomUUID().toString(), segmentation.segments()));
+    }
+}
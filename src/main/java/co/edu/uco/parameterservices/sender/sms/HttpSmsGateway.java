@@ -0,0 +1,269 @@
+package co.edu.uco.parameterservices.sender.sms;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import co.edu.uco.parameterservices.config.CatalogProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Gateway de SMS sobre HTTP con java.net.http.HttpClient (HTTP/2, conexiones reutilizadas
+ * y multiplexadas). Los envíos se acumulan hasta completar un lote o vencer el linger y
+ * salen en un único POST /messages/batch; sin soporte de lotes se usa POST /messages por
+ * mensaje. Cada mensaje viaja ya segmentado (encoding + partes)
+ *
+ * Protocolo esperado del proveedor:
+ *   POST /messages        {"to","text","encoding","parts":[...]}  →  {"id"}
+ *   POST /messages/batch  {"messages":[...]}  →  {"results":[{"id","status":"accepted|rejected","error"}]}
+ */
+public class HttpSmsGateway implements SmsGateway, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpSmsGateway.class);
+
+    private record Pending(SmsMessage message, SmsSegmenter.Segmentation segmentation,
+            CompletableFuture<SmsResult> result) {
+    }
+
+    private final String provider;
+    private final URI singleUri;
+    private final URI batchUri;
+    private final String apiKey;
+    private final boolean batchSupported;
+    private final int batchSize;
+    private final Duration timeout;
+    private final int maxSegments;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService requestExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient client;
+    private final ScheduledExecutorService flusher;
+    private final LinkedBlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Counter segmentsCounter;
+    private final DistributionSummary batchSizes;
+    // Un timer por tipo de solicitud y resultado, registrado la primera vez que se usa
+    private final Map<String, Timer> latencies = new ConcurrentHashMap<>();
+
+    public HttpSmsGateway(CatalogProperties.Sms settings, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        if (settings.getBaseUrl() == null || settings.getBaseUrl().isBlank()) {
+            throw new IllegalStateException("catalog.sms.base-url es requerido para el proveedor " + settings.getProvider());
+        }
+        String base = settings.getBaseUrl().endsWith("/") ? settings.getBaseUrl() : settings.getBaseUrl() + "/";
+        this.provider = settings.getProvider();
+        this.singleUri = URI.create(base).resolve("messages");
+        this.batchUri = URI.create(base).resolve("messages/batch");
+        this.apiKey = settings.getApiKey();
+        this.batchSupported = settings.isBatchSupported();
+        this.batchSize = Math.max(1, settings.getBatchSize());
+        this.timeout = settings.getTimeout();
+        this.maxSegments = settings.getMaxSegments();
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(timeout)
+                .executor(requestExecutor)
+                .build();
+        this.flusher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("sms-" + provider + "-flusher").daemon(true).factory());
+        long lingerMicros = Math.max(1, settings.getLinger().toNanos() / 1000);
+        flusher.scheduleWithFixedDelay(this::drain, lingerMicros, lingerMicros, TimeUnit.MICROSECONDS);
+
+        this.segmentsCounter = Counter.builder("sms.gateway.segments")
+                .description("Segmentos SMS enviados al proveedor")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("sms.gateway.batch.size")
+                .description("Mensajes por solicitud al proveedor")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        Gauge.builder("sms.gateway.queue", queue, LinkedBlockingQueue::size)
+                .description("Mensajes esperando a completar un lote")
+                .tag("provider", provider)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String provider() {
+        return provider;
+    }
+
+    @Override
+    public CompletableFuture<SmsResult> send(SmsMessage message) {
+        SmsSegmenter.Segmentation segmentation = SmsSegmenter.split(message.text());
+        if (segmentation.segments() > maxSegments) {
+            count("rejected");
+            return CompletableFuture.failedFuture(new IllegalArgumentException(
+                    "El SMS ocupa " + segmentation.segments() + " segmentos; el máximo es " + maxSegments));
+        }
+        Pending pending = new Pending(message, segmentation, new CompletableFuture<>());
+        if (!batchSupported) {
+            submitSingle(pending);
+            return pending.result();
+        }
+        queue.add(pending);
+        if (queue.size() >= batchSize) {
+            flusher.execute(this::drain);
+        }
+        return pending.result();
+    }
+
+    /**
+     * Vacía la cola en lotes de batchSize
+     */
+    void drain() {
+        while (true) {
+            List<Pending> batch = new ArrayList<>(Math.min(batchSize, queue.size()));
+            queue.drainTo(batch, batchSize);
+            if (batch.isEmpty()) {
+                return;
+            }
+            if (batch.size() == 1) {
+                submitSingle(batch.get(0));
+            } else {
+                submitBatch(batch);
+            }
+        }
+    }
+
+    private void submitSingle(Pending pending) {
+        long start = System.nanoTime();
+        post(singleUri, payload(pending)).whenComplete((body, error) -> {
+            record("single", start, error);
+            if (error != null) {
+                fail(pending, error);
+                return;
+            }
+            complete(pending, body.path("id").asText(null), true, null);
+        });
+    }
+
+    private void submitBatch(List<Pending> batch) {
+        List<Map<String, Object>> messages = new ArrayList<>(batch.size());
+        batch.forEach(pending -> messages.add(payload(pending)));
+        long start = System.nanoTime();
+        batchSizes.record(batch.size());
+        post(batchUri, Map.of("messages", messages)).whenComplete((body, error) -> {
+            record("batch", start, error);
+            if (error != null) {
+                batch.forEach(pending -> fail(pending, error));
+                return;
+            }
+            JsonNode results = body.path("results");
+            for (int i = 0; i < batch.size(); i++) {
+                JsonNode result = results.path(i);
+                if (result.isMissingNode()) {
+                    fail(batch.get(i), new SmsGatewayException("El proveedor no informó el resultado del mensaje", 0));
+                    continue;
+                }
+                boolean accepted = "accepted".equalsIgnoreCase(result.path("status").asText("accepted"));
+                complete(batch.get(i), result.path("id").asText(null), accepted, result.path("error").asText(null));
+            }
+        });
+    }
+
+    private CompletableFuture<JsonNode> post(URI uri, Object payload) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+        if (apiKey != null && !apiKey.isBlank()) {
+            request.header("Authorization", "Bearer " + apiKey);
+        }
+        try {
+            request.POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(payload)));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new SmsGatewayException("No se pudo serializar el SMS", e));
+        }
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if (response.statusCode() / 100 != 2) {
+                        throw new SmsGatewayException("El proveedor " + provider + " respondió "
+                                + response.statusCode(), response.statusCode());
+                    }
+                    try {
+                        byte[] body = response.body();
+                        return body.length == 0 ? objectMapper.createObjectNode() : objectMapper.readTree(body);
+                    } catch (IOException e) {
+                        throw new SmsGatewayException("Respuesta ilegible del proveedor " + provider, e);
+                    }
+                });
+    }
+
+    private static Map<String, Object> payload(Pending pending) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("to", pending.message().to());
+        payload.put("text", pending.message().text());
+        payload.put("encoding", pending.segmentation().encoding().name());
+        payload.put("parts", pending.segmentation().parts());
+        return payload;
+    }
+
+    private void complete(Pending pending, String messageId, boolean accepted, String error) {
+        int segments = pending.segmentation().segments();
+        if (accepted) {
+            segmentsCounter.increment(segments);
+            count("accepted");
+            pending.result().complete(SmsResult.accepted(pending.message().to(), messageId, segments));
+        } else {
+            count("rejected");
+            pending.result().complete(SmsResult.rejected(pending.message().to(), segments, error));
+        }
+    }
+
+    private void fail(Pending pending, Throwable error) {
+        count("error");
+        Throwable cause = error.getCause() != null && !(error instanceof SmsGatewayException) ? error.getCause() : error;
+        logger.warn("Error enviando SMS por {}: {}", provider, cause.getMessage());
+        pending.result().completeExceptionally(cause instanceof SmsGatewayException
+                ? cause : new SmsGatewayException("Error de transporte con " + provider, cause));
+    }
+
+    private void record(String kind, long start, Throwable error) {
+        String outcome = error == null ? "success" : "error";
+        latencies.computeIfAbsent(kind + ":" + outcome, k -> Timer.builder("sms.gateway.latency")
+                        .description("Latencia de las solicitudes al proveedor de SMS")
+                        .tag("provider", provider)
+                        .tag("kind", kind)
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("sms.gateway.messages", "provider", provider, "outcome", outcome).increment();
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        drain();
+        client.shutdown();
+        requestExecutor.shutdown();
+    }
+}
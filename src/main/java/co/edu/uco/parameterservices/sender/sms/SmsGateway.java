@@ -0,0 +1,29 @@
+package co.edu.uco.parameterservices.sender.sms;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Transporte de SMS hacia un proveedor
+ */
+public interface SmsGateway {
+
+    /**
+     * Nombre del proveedor, usado como tag de las métricas
+     */
+    String provider();
+
+    /**
+     * Encola un SMS; el future se completa cuando el proveedor responde
+     */
+    CompletableFuture<SmsResult> send(SmsMessage message);
+
+    /**
+     * Envía varios SMS, en lotes del proveedor cuando los soporta
+     */
+    default CompletableFuture<List<SmsResult>> sendAll(List<SmsMessage> messages) {
+        List<CompletableFuture<SmsResult>> futures = messages.stream().map(this::send).toList();
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+    }
+}
@@ -0,0 +1,28 @@
+package co.edu.uco.parameterservices.sender.sms;
+
+/**
+ * Falla de transporte o respuesta inesperada del proveedor de SMS
+ */
+public class SmsGatewayException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    public SmsGatewayException(String message, int status) {
+        super(message);
+        this.status = status;
+    }
+
+    public SmsGatewayException(String message, Throwable cause) {
+        super(message, cause);
+        this.status = 0;
+    }
+
+    /**
+     * Código HTTP del proveedor; 0 si no hubo respuesta
+     */
+    public int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,9 @@
+package co.edu.uco.parameterservices.sender.sms;
+
+/**
+ * SMS a entregar
+ * @param to número de destino
+ * @param text texto completo; el gateway lo segmenta si excede un SMS
+ */
+public record SmsMessage(String to, String text) {
+}
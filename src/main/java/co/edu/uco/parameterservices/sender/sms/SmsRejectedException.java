@@ -0,0 +1,14 @@
+package co.edu.uco.parameterservices.sender.sms;
+
+/**
+ * El proveedor recibió el SMS pero lo rechazó (destino inválido, contenido no permitido);
+ * reintentarlo no cambia el resultado
+ */
+public class SmsRejectedException extends SmsGatewayException {
+
+    private static final long serialVersionUID = 1L;
+
+    public SmsRejectedException(String message) {
+        super(message, 0);
+    }
+}
@@ -0,0 +1,17 @@
+package co.edu.uco.parameterservices.sender.sms;
+
+/**
+ * Resultado de entrega reportado por el proveedor
+ * @param messageId id asignado por el proveedor; null si fue rechazado
+ * @param segments segmentos facturables del mensaje
+ */
+public record SmsResult(String to, String messageId, int segments, boolean accepted, String error) {
+
+    public static SmsResult accepted(String to, String messageId, int segments) {
+        return new SmsResult(to, messageId, segments, true, null);
+    }
+
+    public static SmsResult rejected(String to, int segments, String error) {
+        return new SmsResult(to, null, segments, false, error);
+    }
+}
@@ -0,0 +1,98 @@
+package co.edu.uco.parameterservices.sender.sms;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Segmentación de SMS según GSM 03.38. Si todo el texto cabe en el alfabeto GSM de 7 bits
+ * un SMS lleva 160 septetos (153 por parte al concatenar); los caracteres de la tabla de
+ * extensión ocupan dos. Si no, se usa UCS-2: 70 unidades (67 por parte). Las partes nunca
+ * cortan un escape GSM ni un par sustituto
+ */
+public final class SmsSegmenter {
+
+    /**
+     * Codificación del mensaje
+     */
+    public enum Encoding {
+        GSM7(160, 153),
+        UCS2(70, 67);
+
+        private final int singleLimit;
+        private final int partLimit;
+
+        Encoding(int singleLimit, int partLimit) {
+            this.singleLimit = singleLimit;
+            this.partLimit = partLimit;
+        }
+    }
+
+    /**
+     * Texto dividido en las partes que se facturan
+     */
+    public record Segmentation(Encoding encoding, List<String> parts) {
+
+        public int segments() {
+            return parts.size();
+        }
+    }
+
+    private static final String GSM_BASIC =
+            "@£$¥èéùìòÇ\nØø\rÅåΔ_ΦΓΛΩΠΨΣΘΞÆæßÉ !\"#¤%&'()*+,-./0123456789:;<=>?"
+            + "¡ABCDEFGHIJKLMNOPQRSTUVWXYZÄÖÑÜ§¿abcdefghijklmnopqrstuvwxyzäöñüà";
+    private static final String GSM_EXTENSION = "\f^{}\\[~]|€";
+
+    private SmsSegmenter() {
+    }
+
+    public static Segmentation split(String text) {
+        String body = text == null ? "" : text;
+        Encoding encoding = isGsm7(body) ? Encoding.GSM7 : Encoding.UCS2;
+        if (units(body, encoding) <= encoding.singleLimit) {
+            return new Segmentation(encoding, List.of(body));
+        }
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        int used = 0;
+        int i = 0;
+        while (i < body.length()) {
+            int codePoint = body.codePointAt(i);
+            int chars = Character.charCount(codePoint);
+            int cost = encoding == Encoding.GSM7 ? septets(body.charAt(i)) : chars;
+            if (used + cost > encoding.partLimit) {
+                parts.add(body.substring(start, i));
+                start = i;
+                used = 0;
+            }
+            used += cost;
+            i += chars;
+        }
+        parts.add(body.substring(start));
+        return new Segmentation(encoding, List.copyOf(parts));
+    }
+
+    static boolean isGsm7(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (GSM_BASIC.indexOf(c) < 0 && GSM_EXTENSION.indexOf(c) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int units(String text, Encoding encoding) {
+        if (encoding == Encoding.UCS2) {
+            return text.length();
+        }
+        int septets = 0;
+        for (int i = 0; i < text.length(); i++) {
+            septets += septets(text.charAt(i));
+        }
+        return septets;
+    }
+
+    private static int septets(char c) {
+        return GSM_EXTENSION.indexOf(c) >= 0 ? 2 : 1;
+    }
+}
@@ -0,0 +1,82 @@
+package co.edu.uco.parameterservices.benchmark;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import co.edu.uco.parameterservices.catalog.notification.domain.NotificationTemplate;
+
+/**
+ * Compara tamaño y tiempos de codificación/decodificación de JSON, CBOR y Smile
+ * sobre un mapa de templates con cuerpos HTML, como el de GET /api/v1/notifications.
+ * No es un test: se ejecuta a mano tras mvn test-compile, por ejemplo
+ * java -cp target/classes:target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)
+ *     co.edu.uco.parameterservices.benchmark.CatalogFormatBenchmark
+ */
+public final class CatalogFormatBenchmark {
+
+    private static final int TEMPLATES = 2_000;
+    private static final int WARMUP_ROUNDS = 30;
+    private static final int MEASURED_ROUNDS = 50;
+    private static final TypeReference<Map<String, NotificationTemplate>> CATALOG_TYPE = new TypeReference<>() {
+    };
+
+    private CatalogFormatBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, NotificationTemplate> catalog = sampleCatalog(TEMPLATES);
+        List<Format> formats = List.of(
+                new Format("json", new ObjectMapper()),
+                new Format("cbor", new ObjectMapper(new CBORFactory())),
+                new Format("smile", new ObjectMapper(new SmileFactory())));
+
+        System.out.printf("%d templates, %d rondas medidas%n", TEMPLATES, MEASURED_ROUNDS);
+        System.out.printf("%-6s %12s %14s %14s%n", "format", "bytes", "encode (ms)", "decode (ms)");
+        for (Format format : formats) {
+            byte[] payload = format.mapper().writeValueAsBytes(catalog);
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                format.mapper().readValue(format.mapper().writeValueAsBytes(catalog), CATALOG_TYPE);
+            }
+
+            long encodeNanos = 0;
+            long decodeNanos = 0;
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                long start = System.nanoTime();
+                payload = format.mapper().writeValueAsBytes(catalog);
+                encodeNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                Map<String, NotificationTemplate> decoded = format.mapper().readValue(payload, CATALOG_TYPE);
+                decodeNanos += System.nanoTime() - start;
+                if (decoded.size() != catalog.size()) {
+                    throw new IllegalStateException("Decodificación incompleta en " + format.name());
+                }
+            }
+            System.out.printf("%-6s %12d %14.3f %14.3f%n", format.name(), payload.length,
+                    encodeNanos / 1e6 / MEASURED_ROUNDS, decodeNanos / 1e6 / MEASURED_ROUNDS);
+        }
+    }
+
+    private static Map<String, NotificationTemplate> sampleCatalog(int size) {
+        Map<String, NotificationTemplate> catalog = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            String code = "TEMPLATE_" + i;
+            String body = "<html><body><h1>Hola {{nombre}}</h1><p>Su solicitud " + i
+                    + " fue procesada el {{fecha}}.</p><table><tr><td>Código</td><td>{{codigo}}</td></tr>"
+                    + "<tr><td>Estado</td><td>{{estado}}</td></tr></table>"
+                    + "<p>Universidad Católica de Oriente</p></body></html>";
+            catalog.put(code, new NotificationTemplate(code, i % 4 == 0 ? "SMS" : "EMAIL",
+                    "Notificación " + i, body, i % 4 == 0 ? "PLAIN_TEXT" : "HTML"));
+        }
+        return catalog;
+    }
+
+    private record Format(String name, ObjectMapper mapper) {
+    }
+}
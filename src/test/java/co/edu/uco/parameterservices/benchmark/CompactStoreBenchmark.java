@@ -0,0 +1,66 @@
+package co.edu.uco.parameterservices.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import co.edu.uco.parameterservices.catalog.notification.NotificationTemplateCodec;
+import co.edu.uco.parameterservices.catalog.notification.domain.NotificationTemplate;
+import co.edu.uco.parameterservices.catalog.support.CompactStore;
+
+/**
+ * Compara el heap retenido por entrada de la memoria local de templates: ConcurrentHashMap
+ * de objetos frente a CompactStore. Los textos se generan de cero en cada entrada (como al
+ * deserializar de Redis), así que tipo y formato no vienen internados.
+ * No es un test: se ejecuta a mano tras mvn test-compile, por ejemplo
+ * java -cp target/classes:target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)
+ *     co.edu.uco.parameterservices.benchmark.CompactStoreBenchmark
+ */
+public final class CompactStoreBenchmark {
+
+    private static final int TEMPLATES = 200_000;
+
+    private CompactStoreBenchmark() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.printf("%d templates%n", TEMPLATES);
+        System.out.printf("%-20s %14s %14s%n", "store", "heap (MB)", "bytes/entrada");
+        measure("ConcurrentHashMap", ConcurrentHashMap::new);
+        measure("CompactStore", () -> new CompactStore<>(NotificationTemplateCodec.INSTANCE));
+    }
+
+    private static void measure(String name, Supplier<Map<String, NotificationTemplate>> factory)
+            throws InterruptedException {
+        long before = usedHeap();
+        Map<String, NotificationTemplate> store = factory.get();
+        for (int i = 0; i < TEMPLATES; i++) {
+            NotificationTemplate template = sample(i);
+            store.put(template.getCode(), template);
+        }
+        long after = usedHeap();
+        if (store.get("TEMPLATE_" + (TEMPLATES - 1)) == null) {
+            throw new IllegalStateException("Entrada perdida en " + name);
+        }
+        System.out.printf("%-20s %14.1f %14d%n", name, (after - before) / 1e6, (after - before) / TEMPLATES);
+    }
+
+    private static NotificationTemplate sample(int i) {
+        String code = "TEMPLATE_" + i;
+        String body = "<html><body><h1>Hola {{nombre}}</h1><p>Su solicitud " + i
+                + " fue procesada el {{fecha}}.</p><p>Universidad Católica de Oriente</p></body></html>";
+        boolean sms = i % 4 == 0;
+        // new String(...) imita los valores recién deserializados, sin compartir instancias
+        return new NotificationTemplate(code, new String(sms ? "SMS" : "EMAIL"), "Notificación " + i, body,
+                new String(sms ? "PLAIN_TEXT" : "HTML"));
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,85 @@
+package co.edu.uco.parameterservices.catalog.message;
+
+import co.edu.uco.parameterservices.catalog.message.domain.Message;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para MessageBundles")
+class MessageBundlesTest {
+
+    private final AtomicLong version = new AtomicLong();
+
+    @Test
+    @DisplayName("Debería descartar un bundle construido mientras cambiaba un mensaje")
+    void shouldNotServeBundleBuiltDuringChange() {
+        // Arrange
+        MessageBundles bundles = newBundles();
+        AtomicInteger loads = new AtomicInteger();
+        bundles.bundle("es", tag -> {
+            if (loads.incrementAndGet() == 1) {
+                bundles.put("es", new Message("HOLA", "INFO", "Hola", "es"));
+                version.incrementAndGet();
+            }
+            return bundles.local(tag);
+        });
+
+        // Act
+        Map<String, Message> fresh = bundles.bundle("es", bundles::local);
+        Map<String, Message> cached = bundles.bundle("es", tag -> fail("debería venir de la caché"));
+
+        // Assert
+        assertEquals("Hola", fresh.get("HOLA").getText());
+        assertSame(fresh, cached);
+    }
+
+    @Test
+    @DisplayName("Debería acotar la caché de bundles aunque lleguen muchos locales distintos")
+    void shouldEvictLeastRecentlyUsedLocales() {
+        // Arrange
+        MessageBundles bundles = newBundles();
+        AtomicInteger loads = new AtomicInteger();
+        bundles.bundle("es", tag -> {
+            loads.incrementAndGet();
+            return Map.of();
+        });
+
+        // Act
+        for (int i = 0; i < MessageBundles.MAX_CACHED_LOCALES; i++) {
+            bundles.bundle("x-" + i, tag -> Map.of());
+        }
+        bundles.bundle("es", tag -> {
+            loads.incrementAndGet();
+            return Map.of();
+        });
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Debería reconstruir el bundle cuando otra réplica cambia la versión del catálogo")
+    void shouldRebuildWhenSharedVersionChanges() {
+        // Arrange
+        MessageBundles bundles = newBundles();
+        Map<String, Message> before = bundles.bundle("es", tag -> Map.of("HOLA", new Message("HOLA", "INFO", "Hola")));
+        version.incrementAndGet();
+
+        // Act
+        Map<String, Message> after = bundles.bundle("es",
+                tag -> Map.of("HOLA", new Message("HOLA", "INFO", "Buenas")));
+
+        // Assert
+        assertEquals("Hola", before.get("HOLA").getText());
+        assertEquals("Buenas", after.get("HOLA").getText());
+    }
+
+    private MessageBundles newBundles() {
+        return new MessageBundles(() -> String.valueOf(version.get()));
+    }
+}
@@ -0,0 +1,47 @@
+package co.edu.uco.parameterservices.catalog.message;
+
+import co.edu.uco.parameterservices.catalog.message.domain.Message;
+import co.edu.uco.parameterservices.catalog.support.CompactStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para CompactStore con mensajes")
+class MessageCompactStoreTest {
+
+    @Test
+    @DisplayName("Debería conservar los campos al crecer, reemplazar y eliminar entradas")
+    void shouldRoundTripEntriesAcrossResizesAndRemovals() {
+        // Arrange
+        CompactStore<Message> store = new CompactStore<>(MessageCodec.INSTANCE);
+
+        // Act
+        for (int i = 0; i < 5_000; i++) {
+            store.put("MSG_" + i, new Message("MSG_" + i, i % 2 == 0 ? "ERROR" : "INFO", "Texto " + i));
+        }
+        for (int i = 0; i < 5_000; i += 3) {
+            store.remove("MSG_" + i);
+        }
+        Message previous = store.put("MSG_1", new Message("MSG_1", "SUCCESS", "Canción ñandú 😀", "es-CO"));
+        store.put("código", new Message("código", "INFO", null));
+
+        // Assert
+        assertEquals(5_000 - 1_667 + 1, store.size());
+        assertEquals("Texto 1", previous.getText());
+        assertNull(store.get("MSG_0"));
+        assertFalse(store.containsKey("MSG_3"));
+        Message replaced = store.get("MSG_1");
+        assertEquals("SUCCESS", replaced.getType());
+        assertEquals("Canción ñandú 😀", replaced.getText());
+        assertEquals("es-CO", replaced.getLocale());
+        assertEquals("ERROR", store.get("MSG_4996").getType());
+        assertNull(store.get("código").getText());
+        Map<String, Message> copy = new TreeMap<>(store);
+        assertEquals(store.size(), copy.size());
+        assertEquals("Texto 4999", copy.get("MSG_4999").getText());
+    }
+}
@@ -1,6 +1,14 @@
 package co.edu.uco.parameterservices.catalog.notification;
 
 import co.edu.uco.parameterservices.catalog.notification.domain.NotificationTemplate;
+import co.edu.uco.parameterservices.catalog.support.CatalogObservations;
+import co.edu.uco.parameterservices.catalog.support.HedgedReads;
+import co.edu.uco.parameterservices.catalog.support.HotKeyTelemetry;
+import co.edu.uco.parameterservices.catalog.support.KnownKeys;
+import co.edu.uco.parameterservices.catalog.support.WriteBehindJournal;
+import co.edu.uco.parameterservices.config.CatalogProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,7 +18,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 
+import java.time.Duration;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -31,8 +41,12 @@ class NotificationCatalogTest {
 
     @BeforeEach
     void setUp() {
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        catalog = new NotificationCatalog(redisTemplate);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        CatalogProperties properties = new CatalogProperties();
+        catalog = new NotificationCatalog(redisTemplate, properties, new HotKeyTelemetry(properties),
+                mock(WriteBehindJournal.class), new CatalogObservations(ObservationRegistry.NOOP, properties),
+                new HedgedReads(properties, new SimpleMeterRegistry()),
+                new KnownKeys(properties, new SimpleMeterRegistry()));
     }
 
     @Test
@@ -94,7 +108,7 @@ class NotificationCatalogTest {
         );
 
         doThrow(new RuntimeException("Redis down"))
-            .when(valueOperations).set(anyString(), any(), any(), any());
+            .when(valueOperations).set(anyString(), any(), any(Duration.class));
 
         // Act
         catalog.synchronizeTemplate(template);
@@ -104,4 +118,24 @@ class NotificationCatalogTest {
         assertNotNull(retrieved);
         assertEquals("CUSTOM_EMAIL", retrieved.getCode());
     }
+
+    @Test
+    @DisplayName("Debería obtener templates por tipo desde el índice secundario")
+    void shouldReturnTemplatesByTypeFromIndex() {
+        // Arrange
+        catalog.synchronizeTemplate(new NotificationTemplate(
+            "REMINDER_SMS", "SMS", null, "Recordatorio {nombre}", "PLAIN_TEXT"));
+        catalog.synchronizeTemplate(new NotificationTemplate(
+            "WELCOME_SMS", "EMAIL", "Asunto", "<p>Hola</p>", "HTML"));
+
+        // Act
+        Map<String, NotificationTemplate> sms = catalog.getTemplatesByType("sms");
+        Map<String, NotificationTemplate> html = catalog.getTemplatesByFormat("HTML");
+
+        // Assert
+        assertEquals(Set.of("REMINDER_SMS"), sms.keySet());
+        assertTrue(html.containsKey("WELCOME_SMS"));
+        assertTrue(html.containsKey("WELCOME_EMAIL"));
+        assertFalse(html.containsKey("REMINDER_SMS"));
+    }
 }
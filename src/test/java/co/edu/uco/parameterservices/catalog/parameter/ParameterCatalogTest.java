@@ -0,0 +1,170 @@
+package co.edu.uco.parameterservices.catalog.parameter;
+
+import co.edu.uco.parameterservices.catalog.parameter.domain.FlagContext;
+import co.edu.uco.parameterservices.catalog.parameter.domain.FlagDecision;
+import co.edu.uco.parameterservices.catalog.parameter.domain.Parameter;
+import co.edu.uco.parameterservices.catalog.parameter.domain.ParameterType;
+import co.edu.uco.parameterservices.catalog.support.CatalogObservations;
+import co.edu.uco.parameterservices.catalog.support.CatalogVersion;
+import co.edu.uco.parameterservices.catalog.support.HedgedReads;
+import co.edu.uco.parameterservices.catalog.support.HotKeyTelemetry;
+import co.edu.uco.parameterservices.catalog.support.KnownKeys;
+import co.edu.uco.parameterservices.catalog.support.WriteBehindJournal;
+import co.edu.uco.parameterservices.config.CatalogProperties;
+import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.ScanArgs;
+import io.lettuce.core.ScanCursor;
+import io.lettuce.core.api.async.RedisKeyAsyncCommands;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests para ParameterCatalog")
+class ParameterCatalogTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    private ParameterCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        CatalogProperties properties = new CatalogProperties();
+        catalog = new ParameterCatalog(redisTemplate, properties, new HotKeyTelemetry(properties),
+                mock(WriteBehindJournal.class), new CatalogObservations(ObservationRegistry.NOOP, properties),
+                new HedgedReads(properties, new SimpleMeterRegistry()),
+                new KnownKeys(properties, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    @DisplayName("Debería devolver el valor tipado escrito en Redis por otra réplica")
+    void shouldReparseWhenRedisValueChanges() {
+        // Arrange
+        int before = catalog.getInt("numeroMaximoReintentosEnvioCorreo", -1);
+        when(valueOperations.get("parameter:numeroMaximoReintentosEnvioCorreo"))
+                .thenReturn(new Parameter("numeroMaximoReintentosEnvioCorreo", "9", ParameterType.INT));
+
+        // Act
+        int after = catalog.getInt("numeroMaximoReintentosEnvioCorreo", -1);
+
+        // Assert
+        assertEquals(5, before);
+        assertEquals(9, after);
+    }
+
+    @Test
+    @DisplayName("Debería recompilar los flags solo cuando cambia la versión compartida del catálogo")
+    void shouldRecompileFlagsWhenVersionChanges() throws Exception {
+        // Arrange
+        FlagContext context = new FlagContext("u1", "prod");
+        redisHolds(new Parameter("nuevoCheckout", "{\"enabled\": true}", ParameterType.FLAG));
+        FlagDecision before = catalog.evaluateFlag("nuevoCheckout", context);
+        redisHolds(new Parameter("nuevoCheckout", "{\"enabled\": false}", ParameterType.FLAG));
+        FlagDecision sameVersion = catalog.evaluateFlag("nuevoCheckout", context);
+        when(valueOperations.get(CatalogVersion.KEY_PREFIX + "parameters")).thenReturn(1L);
+
+        // Act
+        FlagDecision after = catalog.evaluateFlag("nuevoCheckout", context);
+
+        // Assert
+        assertEquals(FlagDecision.ROLLOUT_IN, before);
+        assertEquals(FlagDecision.ROLLOUT_IN, sameVersion);
+        assertEquals(FlagDecision.OFF, after);
+    }
+
+    @Test
+    @DisplayName("Debería listar y evaluar los flags de todo el catálogo sin un GET por flag")
+    void shouldEvaluateCatalogFlagsWithoutPerFlagReads() throws Exception {
+        // Arrange
+        redisHolds(new Parameter("nuevoCheckout", "{\"enabled\": true}", ParameterType.FLAG),
+                new Parameter("modoMantenimiento", "true", ParameterType.BOOLEAN));
+        FlagContext context = new FlagContext("u1", "prod");
+
+        // Act
+        List<String> keys = catalog.flagKeys();
+        Map<String, FlagDecision> decisions = catalog.evaluateFlags(List.of("nuevoCheckout", "modoMantenimiento"),
+                context);
+
+        // Assert
+        assertEquals(List.of("nuevoCheckout"), keys);
+        assertEquals(FlagDecision.ROLLOUT_IN, decisions.get("nuevoCheckout"));
+        assertEquals(FlagDecision.ON, decisions.get("modoMantenimiento"));
+        verify(valueOperations, never()).get("parameter:nuevoCheckout");
+        verify(valueOperations, never()).get("parameter:modoMantenimiento");
+    }
+
+    @Test
+    @DisplayName("Debería renovar en refresh-ahead solo las claves calientes con TTL dentro de la ventana")
+    void shouldRefreshOnlyHotEntriesInsideWindow() {
+        // Arrange
+        for (int i = 0; i < 2; i++) {
+            catalog.getParameter("correoAdministrador");
+            catalog.getParameter("FechaDefectoMaxima");
+        }
+        catalog.getParameter("numeroMaximoReintentosEnvioCorreo");
+        when(redisTemplate.getExpire("parameter:correoAdministrador", TimeUnit.MILLISECONDS)).thenReturn(60_000L);
+        when(redisTemplate.getExpire("parameter:FechaDefectoMaxima", TimeUnit.MILLISECONDS)).thenReturn(500_000L);
+        when(valueOperations.get("parameter:correoAdministrador"))
+                .thenReturn(new Parameter("correoAdministrador", "admin@uco.edu.co", ParameterType.EMAIL));
+
+        // Act
+        int refreshed = catalog.refreshHotEntries(2);
+
+        // Assert
+        assertEquals(1, refreshed);
+        verify(redisTemplate).expire(eq("parameter:correoAdministrador"), any(Duration.class));
+        verify(redisTemplate, never()).expire(eq("parameter:FechaDefectoMaxima"), any(Duration.class));
+        verify(redisTemplate, never()).getExpire(eq("parameter:numeroMaximoReintentosEnvioCorreo"), any());
+    }
+
+    /**
+     * Simula un catálogo en Redis con esos parámetros: un SCAN que los devuelve y su MGET
+     */
+    @SuppressWarnings("unchecked")
+    private void redisHolds(Parameter... parameters) throws Exception {
+        List<String> keys = new ArrayList<>();
+        KeyScanCursor<byte[]> cursor = new KeyScanCursor<>();
+        cursor.setFinished(true);
+        for (Parameter parameter : parameters) {
+            keys.add("parameter:" + parameter.getKey());
+            cursor.getKeys().add(("parameter:" + parameter.getKey()).getBytes(StandardCharsets.UTF_8));
+        }
+        RedisFuture<KeyScanCursor<byte[]>> scan = mock(RedisFuture.class);
+        when(scan.get(anyLong(), any(TimeUnit.class))).thenReturn(cursor);
+        RedisKeyAsyncCommands<byte[], byte[]> commands = mock(RedisKeyAsyncCommands.class);
+        when(commands.scan(any(ScanCursor.class), any(ScanArgs.class))).thenReturn(scan);
+        RedisConnection connection = mock(RedisConnection.class);
+        when(connection.getNativeConnection()).thenReturn(commands);
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenAnswer(invocation -> invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection));
+        when(valueOperations.multiGet(keys)).thenReturn(Arrays.asList((Object[]) parameters));
+    }
+}
@@ -0,0 +1,55 @@
+package co.edu.uco.parameterservices.catalog.parameter.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para FlagRule")
+class FlagRuleTest {
+
+    @Test
+    @DisplayName("Debería aplicar ambiente, exclusión e inclusión antes del porcentaje")
+    void shouldApplyRulesInOrder() {
+        // Arrange
+        FlagRule rule = (FlagRule) ParameterType.FLAG.parse("nuevoCheckout",
+                "{\"environments\": [\"prod\"], \"allow\": [\"vip\"], \"deny\": [\"bloqueado\"], \"rollout\": 0}");
+
+        // Act & Assert
+        assertEquals(FlagDecision.ENVIRONMENT, rule.evaluate("nuevoCheckout", new FlagContext("vip", "staging")));
+        assertEquals(FlagDecision.DENIED, rule.evaluate("nuevoCheckout", new FlagContext("bloqueado", "PROD")));
+        assertEquals(FlagDecision.ALLOWED, rule.evaluate("nuevoCheckout", new FlagContext("vip", "prod")));
+        assertEquals(FlagDecision.ROLLOUT_OUT, rule.evaluate("nuevoCheckout", new FlagContext("otro", "prod")));
+    }
+
+    @Test
+    @DisplayName("Debería activar un porcentaje estable de usuarios")
+    void shouldRolloutStablePercentage() {
+        // Arrange
+        FlagRule rule = FlagRule.compile("{\"rollout\": 25}");
+        FlagContext sample = new FlagContext("usuario-42", null);
+
+        // Act
+        int enabled = 0;
+        for (int i = 0; i < 20_000; i++) {
+            if (rule.evaluate("nuevoCheckout", new FlagContext("usuario-" + i, null)).enabled()) {
+                enabled++;
+            }
+        }
+
+        // Assert
+        assertEquals(0.25, enabled / 20_000.0, 0.02);
+        assertEquals(rule.evaluate("nuevoCheckout", sample), rule.evaluate("nuevoCheckout", sample));
+        assertEquals(FlagDecision.ROLLOUT_OUT, rule.evaluate("nuevoCheckout", new FlagContext(null, null)));
+    }
+
+    @Test
+    @DisplayName("Debería rechazar definiciones inválidas")
+    void shouldRejectInvalidDefinitions() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> ParameterType.FLAG.parse("f", "{\"rollot\": 10}"));
+        assertThrows(IllegalArgumentException.class, () -> ParameterType.FLAG.parse("f", "{\"rollout\": 150}"));
+        assertThrows(IllegalArgumentException.class, () -> ParameterType.FLAG.parse("f", "on"));
+        assertEquals(FlagDecision.OFF, FlagRule.compile("{\"enabled\": false}").evaluate("f", new FlagContext("u", null)));
+    }
+}
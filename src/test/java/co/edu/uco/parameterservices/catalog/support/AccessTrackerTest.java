@@ -0,0 +1,51 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para AccessTracker")
+class AccessTrackerTest {
+
+    @Test
+    @DisplayName("Debería marcar como calientes solo las claves que alcanzan el umbral y reiniciar el conteo")
+    void shouldDrainHotKeysAndResetCounts() {
+        // Arrange
+        AccessTracker tracker = new AccessTracker(100);
+        tracker.record("caliente");
+        tracker.record("caliente");
+        tracker.record("fria");
+
+        // Act
+        List<String> first = tracker.drainHotKeys(2);
+        tracker.record("caliente");
+        List<String> second = tracker.drainHotKeys(2);
+
+        // Assert
+        assertEquals(List.of("caliente"), first);
+        assertTrue(second.isEmpty(), "los accesos del intervalo anterior no deberían acumularse");
+    }
+
+    @Test
+    @DisplayName("Debería dejar de rastrear claves nuevas al alcanzar el límite")
+    void shouldCapTrackedKeys() {
+        // Arrange
+        AccessTracker tracker = new AccessTracker(2);
+
+        // Act
+        for (String key : List.of("a", "b", "c", "a", "b", "c")) {
+            tracker.record(key);
+        }
+        List<String> hot = tracker.drainHotKeys(2);
+        tracker.record("c");
+        tracker.record("c");
+
+        // Assert
+        assertEquals(2, hot.size());
+        assertFalse(hot.contains("c"));
+        assertEquals(List.of("c"), tracker.drainHotKeys(2));
+    }
+}
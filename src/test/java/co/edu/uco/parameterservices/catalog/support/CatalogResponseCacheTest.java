@@ -0,0 +1,90 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import co.edu.uco.parameterservices.config.CatalogProperties;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Tests para CatalogResponseCache")
+class CatalogResponseCacheTest {
+
+    private CatalogResponseCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ObjectProvider<Jackson2ObjectMapperBuilder> builders = mock(ObjectProvider.class);
+        when(builders.getObject()).thenAnswer(invocation -> new Jackson2ObjectMapperBuilder());
+        cache = new CatalogResponseCache(new ObjectMapper(), builders, new CatalogProperties());
+    }
+
+    @Test
+    @DisplayName("Debería reutilizar los bytes mientras la versión no cambie")
+    void shouldReuseBytesWhileVersionIsUnchanged() {
+        // Act
+        ResponseEntity<byte[]> first = cache.respond("parameters", "1.0", new HttpHeaders(), this::load);
+        ResponseEntity<byte[]> second = cache.respond("parameters", "1.0", new HttpHeaders(), this::load);
+        ResponseEntity<byte[]> changed = cache.respond("parameters", "2.0", new HttpHeaders(), this::load);
+
+        // Assert
+        assertSame(first.getBody(), second.getBody());
+        assertNotSame(first.getBody(), changed.getBody());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Debería responder 304 cuando el ETag coincide")
+    void shouldAnswerNotModifiedForMatchingEtag() {
+        // Arrange
+        String etag = cache.respond("parameters", "1.0", new HttpHeaders(), this::load).getHeaders().getETag();
+        HttpHeaders request = new HttpHeaders();
+        request.setIfNoneMatch(etag);
+
+        // Act
+        ResponseEntity<byte[]> response = cache.respond("parameters", "1.0", request, this::load);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(etag, response.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("Debería elegir el formato de mayor calidad y preferir tipos concretos a comodines")
+    void shouldNegotiateByQualityThenSpecificity() {
+        // Arrange
+        HttpHeaders weighted = new HttpHeaders();
+        weighted.set(HttpHeaders.ACCEPT, "application/json;q=0.5, application/cbor");
+        HttpHeaders wildcard = new HttpHeaders();
+        wildcard.set(HttpHeaders.ACCEPT, "*/*, application/cbor");
+
+        // Act
+        ResponseEntity<byte[]> byQuality = cache.respond("parameters", "1.0", weighted, this::load);
+        ResponseEntity<byte[]> bySpecificity = cache.respond("parameters", "1.0", wildcard, this::load);
+
+        // Assert
+        assertEquals(MediaType.APPLICATION_CBOR, byQuality.getHeaders().getContentType());
+        assertEquals(MediaType.APPLICATION_CBOR, bySpecificity.getHeaders().getContentType());
+    }
+
+    private Map<String, String> load() {
+        loads.incrementAndGet();
+        return Map.of("correoAdministrador", "admin@uco.edu.co");
+    }
+}
@@ -0,0 +1,63 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para CatalogSearchIndex")
+class CatalogSearchIndexTest {
+
+    private CatalogSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CatalogSearchIndex();
+        index.index("USR_002", "El usuario ya existe en el sistema");
+        index.index("USR_001", "Usuario registrado correctamente");
+        index.index("MSG_ERR", "Ocurrió un error inesperado");
+    }
+
+    @Test
+    @DisplayName("Debería buscar por prefijo de código en orden")
+    void shouldSearchByPrefix() {
+        assertEquals(List.of("USR_001", "USR_002"), index.search("usr_*", null));
+    }
+
+    @Test
+    @DisplayName("Debería buscar frases sin distinguir tildes ni mayúsculas")
+    void shouldSearchByPhrase() {
+        assertEquals(List.of("MSG_ERR"), index.search(null, "ocurrio UN error"));
+        assertEquals(List.of("USR_001", "USR_002"), index.search(null, "usuario"));
+        assertTrue(index.search(null, "error ocurrio").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debería actualizar los índices al eliminar o reemplazar")
+    void shouldUpdateIncrementally() {
+        // Act
+        index.remove("USR_001");
+        index.index("USR_002", "Cuenta duplicada");
+
+        // Assert
+        assertEquals(List.of("USR_002"), index.search("USR", null));
+        assertTrue(index.search(null, "usuario").isEmpty());
+        assertEquals(List.of("USR_002"), index.search("USR_", "duplicada"));
+    }
+
+    @Test
+    @DisplayName("Debería paginar los resultados")
+    void shouldPaginateResults() {
+        // Act
+        SearchPage<String> first = SearchPage.of(index.search("", "usuario"), 0, 1, code -> code);
+        SearchPage<String> second = SearchPage.of(index.search("", "usuario"), 1, 1, code -> code);
+
+        // Assert
+        assertEquals(List.of("USR_001"), first.items());
+        assertEquals(List.of("USR_002"), second.items());
+        assertEquals(2, second.total());
+    }
+}
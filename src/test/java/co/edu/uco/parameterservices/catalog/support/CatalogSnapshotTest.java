@@ -0,0 +1,71 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import co.edu.uco.parameterservices.catalog.parameter.domain.Parameter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Tests para CatalogSnapshot")
+class CatalogSnapshotTest {
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private ValueOperations<String, Object> valueOperations;
+    private CatalogPager<Parameter> pager;
+    private List<CatalogSnapshot.Source<?>> sources;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        pager = spy(new CatalogPager<>(redisTemplate, "parameter:", Parameter.class, Map::of));
+        doReturn(List.of("parameter:a")).when(pager).scanKeys(anyInt());
+        sources = List.of(new CatalogSnapshot.Source<>("parameters", pager,
+                new CatalogVersion(redisTemplate, "parameters"),
+                () -> Map.of("local", new Parameter("local", "1"))));
+    }
+
+    @Test
+    @DisplayName("Debería repetir la lectura si la versión cambió entre el SCAN y la transacción")
+    @SuppressWarnings("unchecked")
+    void shouldRetryWhenVersionChanges() {
+        // Arrange
+        when(valueOperations.multiGet(any())).thenReturn(List.of(1L), List.of(2L));
+        when(redisTemplate.executePipelined(any(SessionCallback.class)))
+                .thenReturn(List.of(List.of(List.of(2L), List.of(new Parameter("a", "viejo")))))
+                .thenReturn(List.of(List.of(List.of(2L), List.of(new Parameter("a", "nuevo")))));
+
+        // Act
+        Map<String, Map<String, ?>> snapshot = CatalogSnapshot.read(redisTemplate, sources);
+
+        // Assert
+        verify(redisTemplate, times(2)).executePipelined(any(SessionCallback.class));
+        assertEquals("nuevo", ((Parameter) snapshot.get("parameters").get("a")).getValue());
+    }
+
+    @Test
+    @DisplayName("Debería usar la memoria local cuando Redis no responde")
+    void shouldFallBackToLocalTier() {
+        // Arrange
+        when(valueOperations.multiGet(any())).thenThrow(new RedisConnectionFailureException("caído"));
+
+        // Act
+        Map<String, Map<String, ?>> snapshot = CatalogSnapshot.read(redisTemplate, sources);
+
+        // Assert
+        assertEquals("1", ((Parameter) snapshot.get("parameters").get("local")).getValue());
+    }
+}
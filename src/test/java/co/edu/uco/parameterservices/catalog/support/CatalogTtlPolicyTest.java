@@ -0,0 +1,63 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para CatalogTtlPolicy")
+class CatalogTtlPolicyTest {
+
+    @Test
+    @DisplayName("Debería mantener el TTL dentro de base ± jitter y repartir los valores")
+    void shouldKeepJitteredTtlWithinBounds() {
+        // Arrange
+        CatalogTtlPolicy policy = new CatalogTtlPolicy(Duration.ofMinutes(10), 0.1, Duration.ofMinutes(2));
+        Set<Long> distinct = new HashSet<>();
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            long ttl = policy.nextTtl().toMillis();
+            distinct.add(ttl);
+
+            // Assert
+            assertTrue(ttl >= 540_000 && ttl <= 660_000, "TTL fuera de rango: " + ttl);
+        }
+        assertTrue(distinct.size() > 1_000, "el jitter debería repartir los vencimientos");
+    }
+
+    @Test
+    @DisplayName("Debería usar el TTL base exacto sin jitter y validar la configuración")
+    void shouldUseBaseTtlWithoutJitter() {
+        // Arrange
+        CatalogTtlPolicy policy = new CatalogTtlPolicy(Duration.ofMinutes(10), 0, Duration.ofMinutes(2));
+
+        // Act
+        Duration ttl = policy.nextTtl();
+
+        // Assert
+        assertEquals(Duration.ofMinutes(10), ttl);
+        assertThrows(IllegalArgumentException.class,
+                () -> new CatalogTtlPolicy(Duration.ofMinutes(10), 1.0, Duration.ofMinutes(2)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CatalogTtlPolicy(Duration.ZERO, 0.1, Duration.ofMinutes(2)));
+    }
+
+    @Test
+    @DisplayName("Debería renovar solo las claves con TTL dentro de la ventana")
+    void shouldRefreshOnlyInsideWindow() {
+        // Arrange
+        CatalogTtlPolicy policy = new CatalogTtlPolicy(Duration.ofMinutes(10), 0.1, Duration.ofMinutes(2));
+
+        // Act & Assert
+        assertTrue(policy.isDueForRefresh(0));
+        assertTrue(policy.isDueForRefresh(120_000));
+        assertFalse(policy.isDueForRefresh(120_001));
+        assertFalse(policy.isDueForRefresh(-1));
+        assertFalse(policy.isDueForRefresh(-2));
+    }
+}
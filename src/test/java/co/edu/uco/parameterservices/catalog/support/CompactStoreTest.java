@@ -0,0 +1,175 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para CompactStore")
+class CompactStoreTest {
+
+    private record Entry(String code, String text, String kind, Integer order) {
+    }
+
+    private static final CompactStore.Codec<Entry> CODEC = new CompactStore.Codec<>() {
+        @Override
+        public void write(Entry entry, CompactStore.Writer out) {
+            out.writeString(entry.text());
+            out.writeSymbol(entry.kind());
+            out.writeInteger(entry.order());
+        }
+
+        @Override
+        public Entry read(String code, CompactStore.Reader in) {
+            return new Entry(code, in.readString(), in.readSymbol(), in.readInteger());
+        }
+    };
+
+    @Test
+    @DisplayName("Debería conservar nulos, vacíos, unicode y enteros extremos")
+    void shouldRoundTripNullAndUnicodeFields() {
+        // Arrange
+        CompactStore<Entry> store = new CompactStore<>(CODEC);
+        List<Entry> entries = List.of(
+                new Entry("nulos", null, null, null),
+                new Entry("vacío", "", "", 0),
+                new Entry("名前", "Ñandú 😀 — \u0000 fin", "TIPO_ü", -1),
+                new Entry("extremos", "x".repeat(300), "TIPO_ü", Integer.MIN_VALUE),
+                new Entry("máximo", "ok", null, Integer.MAX_VALUE));
+
+        // Act
+        entries.forEach(entry -> store.put(entry.code(), entry));
+
+        // Assert
+        for (Entry entry : entries) {
+            assertEquals(entry, store.get(entry.code()));
+        }
+        assertNull(store.get("inexistente"));
+        assertEquals(entries.size(), store.size());
+    }
+
+    @Test
+    @DisplayName("Debería encontrar todas las claves vivas tras crecer y reconstruir la tabla")
+    void shouldRehashAfterManyInsertsAndRemoves() {
+        // Arrange
+        CompactStore<Entry> store = new CompactStore<>(CODEC);
+
+        // Act
+        for (int i = 0; i < 20_000; i++) {
+            store.put("K" + i, new Entry("K" + i, "v" + i, i % 2 == 0 ? "PAR" : "IMPAR", i));
+        }
+        for (int i = 0; i < 20_000; i += 2) {
+            store.remove("K" + i);
+        }
+        for (int i = 20_000; i < 25_000; i++) {
+            store.put("K" + i, new Entry("K" + i, "v" + i, "NUEVO", i));
+        }
+
+        // Assert
+        assertEquals(15_000, store.size());
+        assertTrue(store.capacity() * 3L / 4 >= store.size());
+        for (int i = 0; i < 25_000; i++) {
+            Entry entry = store.get("K" + i);
+            if (i < 20_000 && i % 2 == 0) {
+                assertNull(entry, "K" + i);
+            } else {
+                assertEquals("v" + i, entry.text());
+                assertEquals(i, entry.order());
+            }
+        }
+        assertEquals(15_000, store.entrySet().size());
+    }
+
+    @Test
+    @DisplayName("Debería reutilizar los huecos borrados sin crecer con altas y bajas repetidas")
+    void shouldReuseTombstoneSlots() {
+        // Arrange
+        CompactStore<Entry> store = new CompactStore<>(CODEC);
+        for (int i = 0; i < 100; i++) {
+            store.put("fija" + i, new Entry("fija" + i, "f", null, i));
+        }
+        churn(store, 0, 1_000);
+        int capacity = store.capacity();
+
+        // Act
+        churn(store, 1_000, 50_000);
+        store.put("fija0", new Entry("fija0", "reemplazada", null, 0));
+        store.remove("fija1");
+        store.put("fija1", new Entry("fija1", "de nuevo", null, 1));
+
+        // Assert
+        assertEquals(capacity, store.capacity());
+        assertEquals(100, store.size());
+        assertEquals("reemplazada", store.get("fija0").text());
+        assertEquals("de nuevo", store.get("fija1").text());
+        for (int i = 2; i < 100; i++) {
+            assertEquals(i, store.get("fija" + i).order());
+        }
+    }
+
+    @Test
+    @DisplayName("Debería responder lecturas concurrentes correctas mientras se escribe y redimensiona")
+    void shouldServeConcurrentReadersDuringWrites() throws Exception {
+        // Arrange
+        CompactStore<Entry> store = new CompactStore<>(CODEC);
+        for (int i = 0; i < 1_000; i++) {
+            store.put("fija" + i, new Entry("fija" + i, "valor" + i, "FIJA", i));
+        }
+        store.put("alterna", new Entry("alterna", "A", "ALTERNA", 0));
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Integer>> readers = new ArrayList<>();
+
+        // Act
+        for (int r = 0; r < 3; r++) {
+            readers.add(executor.submit(() -> {
+                int reads = 0;
+                while (writing.get()) {
+                    int i = reads % 1_000;
+                    Entry entry = store.get("fija" + i);
+                    assertNotNull(entry, "fija" + i);
+                    assertEquals("valor" + i, entry.text());
+                    String alterna = store.get("alterna").text();
+                    assertTrue("A".equals(alterna) || "B".equals(alterna), alterna);
+                    reads++;
+                }
+                return reads;
+            }));
+        }
+        Future<?> writer = executor.submit(() -> {
+            for (int i = 0; i < 100_000; i++) {
+                store.put("nueva" + i, new Entry("nueva" + i, "n", "NUEVA", i));
+                store.put("alterna", new Entry("alterna", i % 2 == 0 ? "B" : "A", "ALTERNA", i));
+                if (i % 3 == 0) {
+                    store.remove("nueva" + (i / 2));
+                }
+            }
+        });
+        writer.get(30, TimeUnit.SECONDS);
+        writing.set(false);
+        int totalReads = 0;
+        for (Future<Integer> reader : readers) {
+            totalReads += reader.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertTrue(totalReads > 0);
+        assertEquals("valor999", store.get("fija999").text());
+    }
+
+    private static void churn(CompactStore<Entry> store, int from, int to) {
+        for (int i = from; i < to; i++) {
+            store.put("temporal" + i, new Entry("temporal" + i, "t", null, i));
+            store.remove("temporal" + i);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import co.edu.uco.parameterservices.config.CatalogProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para EdgeCacheRefresher")
+class EdgeCacheRefresherTest {
+
+    private final List<String> refreshed = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private EdgeCacheRefresher refresher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/catalog/", exchange -> {
+            refreshed.add(exchange.getRequestURI().getRawPath() + "|"
+                    + exchange.getRequestHeaders().getFirst(EdgeCacheRefresher.REFRESH_HEADER));
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+
+        CatalogProperties properties = new CatalogProperties();
+        properties.getEdgeCache().setRefreshUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/catalog/");
+        properties.getEdgeCache().setDebounce(Duration.ofMillis(100));
+        meterRegistry = new SimpleMeterRegistry();
+        refresher = new EdgeCacheRefresher(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        refresher.close();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Debería agrupar los cambios seguidos y refrescar cada ruta afectada una vez por variante")
+    void shouldCoalesceChangesAndRefreshAffectedPaths() throws Exception {
+        // Act
+        refresher.onCatalogChanged(new CatalogChangedEvent(HotKeyTelemetry.MESSAGES, "USR 001"));
+        refresher.onCatalogChanged(new CatalogChangedEvent(HotKeyTelemetry.MESSAGES, "USR 001"));
+        refresher.onCatalogChanged(CatalogChangedEvent.all(HotKeyTelemetry.MESSAGES));
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (refreshed.size() < 4 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        Thread.sleep(200);
+
+        // Assert
+        assertEquals(4, refreshed.size());
+        assertEquals(2, refreshed.stream().filter("/catalog/api/v1/messages|1"::equals).count());
+        assertEquals(2, refreshed.stream().filter("/catalog/api/v1/messages/USR%20001|1"::equals).count());
+        assertEquals(4.0, meterRegistry.get("catalog.edge.refresh").tag("outcome", "2xx").counter().count());
+    }
+}
@@ -0,0 +1,115 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import co.edu.uco.parameterservices.config.CatalogProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para HedgedReads")
+class HedgedReadsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private HedgedReads hedgedReads;
+
+    @BeforeEach
+    void setUp() {
+        CatalogProperties properties = new CatalogProperties();
+        properties.getHedge().setBudget(Duration.ofMillis(50));
+        meterRegistry = new SimpleMeterRegistry();
+        hedgedReads = new HedgedReads(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hedgedReads.shutdown();
+    }
+
+    @Test
+    @DisplayName("Debería devolver el valor de Redis cuando responde dentro del umbral")
+    void shouldReturnPrimaryWithinThreshold() {
+        // Act
+        String value = hedgedReads.read("parameters", () -> "redis", true, late -> fail("No hay resultado tardío"));
+
+        // Assert
+        assertEquals("redis", value);
+        assertEquals(1.0, winCount(HedgedReads.PRIMARY));
+    }
+
+    @Test
+    @DisplayName("Debería ceder a la copia local pasado el umbral y refrescarla con el resultado tardío")
+    void shouldHedgeToLocalAndKeepLateResult() throws Exception {
+        // Arrange
+        CompletableFuture<String> refreshed = new CompletableFuture<>();
+
+        // Act
+        long start = System.nanoTime();
+        assertThrows(QueryTimeoutException.class, () -> hedgedReads.read("parameters", () -> {
+            sleep(300);
+            return "tardío";
+        }, true, refreshed::complete));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        assertTrue(elapsedMillis < 250, "La lectura debió acotarse al presupuesto: " + elapsedMillis + " ms");
+        assertEquals("tardío", refreshed.get(2, TimeUnit.SECONDS));
+        assertEquals(1.0, winCount(HedgedReads.LOCAL));
+    }
+
+    @Test
+    @DisplayName("Debería descartar el resultado tardío si la copia local cambió durante la lectura")
+    void shouldDiscardLateResultOlderThanLocalWrite() throws Exception {
+        // Arrange
+        LocalWrites localWrites = new LocalWrites();
+        Map<String, String> local = new ConcurrentHashMap<>();
+        localWrites.write("clave", () -> local.put("clave", "inicial"));
+        CountDownLatch redisResponds = new CountDownLatch(1);
+        CompletableFuture<Boolean> applied = new CompletableFuture<>();
+        long mark = localWrites.mark();
+
+        // Act
+        assertThrows(QueryTimeoutException.class, () -> hedgedReads.read("parameters", () -> {
+            await(redisResponds);
+            return "viejo";
+        }, true, late -> applied.complete(
+                localWrites.writeIfUnchanged("clave", mark, () -> local.put("clave", late)))));
+        localWrites.write("clave", () -> local.put("clave", "nuevo"));
+        redisResponds.countDown();
+
+        // Assert
+        assertFalse(applied.get(2, TimeUnit.SECONDS));
+        assertEquals("nuevo", local.get("clave"));
+    }
+
+    private double winCount(String winner) {
+        return meterRegistry.get("catalog.read.hedge").tag("winner", winner).counter().count();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
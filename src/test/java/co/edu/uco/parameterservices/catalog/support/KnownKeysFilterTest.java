@@ -0,0 +1,110 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import co.edu.uco.parameterservices.config.CatalogProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Tests para KnownKeysFilter")
+class KnownKeysFilterTest {
+
+    private CatalogPager<?> pager;
+    private SimpleMeterRegistry meterRegistry;
+    private final AtomicReference<String> version = new AtomicReference<>("1.0");
+    private KnownKeys knownKeys;
+    private CatalogProperties properties;
+    private KnownKeysFilter filter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        pager = mock(CatalogPager.class);
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new CatalogProperties();
+        properties.getNegativeLookup().setExpectedKeys(1_000);
+        knownKeys = new KnownKeys(properties, meterRegistry);
+        filter = knownKeys.register("parameters", pager, () -> Set.of("local"), version::get);
+    }
+
+    @Test
+    @DisplayName("Debería descartar claves desconocidas solo después de construirse desde Redis")
+    @SuppressWarnings("unchecked")
+    void shouldRejectUnknownKeysOnceBuilt() {
+        // Arrange
+        doAnswer(invocation -> {
+            ((Consumer<List<String>>) invocation.getArgument(1)).accept(List.of("a", "b"));
+            return null;
+        }).when(pager).forEachKey(anyInt(), any());
+        boolean beforeBuild = filter.mightContain("typo");
+
+        // Act
+        boolean rebuilt = filter.refresh();
+
+        // Assert
+        assertTrue(beforeBuild);
+        assertTrue(rebuilt);
+        assertTrue(filter.mightContain("a"));
+        assertTrue(filter.mightContain("local"));
+        assertFalse(filter.mightContain("typo"));
+        assertFalse(filter.refresh());
+        assertEquals(1.0, meterRegistry.get("catalog.lookup.filtered").counter().count());
+    }
+
+    @Test
+    @DisplayName("Debería seguir consultando Redis si nunca pudo construirse")
+    void shouldStayPermissiveWhenRedisIsDown() {
+        // Arrange
+        doThrow(new IllegalStateException("down")).when(pager).forEachKey(anyInt(), any());
+
+        // Act
+        boolean rebuilt = filter.refresh();
+        filter.add("nuevo");
+
+        // Assert
+        assertFalse(rebuilt);
+        assertTrue(filter.mightContain("typo"));
+        assertTrue(filter.mightContain("nuevo"));
+    }
+
+    @Test
+    @DisplayName("Debería aceptar claves escritas en otra réplica y dejar pasar todo tras un cambio completo")
+    @SuppressWarnings("unchecked")
+    void shouldApplyChangesFromOtherReplicas() {
+        // Arrange
+        doAnswer(invocation -> {
+            ((Consumer<List<String>>) invocation.getArgument(1)).accept(List.of("a"));
+            return null;
+        }).when(pager).forEachKey(anyInt(), any());
+        filter.refresh();
+        KnownKeysReplication replication = new KnownKeysReplication(mock(StringRedisTemplate.class),
+                mock(RedisConnectionFactory.class), knownKeys, properties);
+
+        // Act
+        replication.apply(KnownKeysReplication.encode(new CatalogChangedEvent("parameters", "remota")));
+        boolean remoteKnown = filter.mightContain("remota");
+        boolean unknownBeforeImport = filter.mightContain("importada");
+        replication.apply(KnownKeysReplication.encode(CatalogChangedEvent.all("parameters")));
+        boolean unknownAfterImport = filter.mightContain("importada");
+        boolean rebuilt = filter.refresh();
+
+        // Assert
+        assertTrue(remoteKnown);
+        assertFalse(unknownBeforeImport);
+        assertTrue(unknownAfterImport);
+        assertTrue(rebuilt);
+        assertFalse(filter.mightContain("importada"));
+    }
+}
@@ -0,0 +1,54 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para WindowedHotKeySketch")
+class WindowedHotKeySketchTest {
+
+    @Test
+    @DisplayName("Debería ordenar las claves calientes por frecuencia")
+    void shouldRankHotKeysByFrequency() {
+        // Arrange
+        WindowedHotKeySketch sketch = new WindowedHotKeySketch(3, 4, 1024, 64);
+        for (int i = 0; i < 100; i++) {
+            sketch.record("correoAdministrador");
+        }
+        for (int i = 0; i < 40; i++) {
+            sketch.record("FechaDefectoMaxima");
+        }
+        for (int i = 0; i < 500; i++) {
+            sketch.record("clave-fria-" + i);
+        }
+
+        // Act
+        List<WindowedHotKeySketch.HotKey> top = sketch.topKeys(2, 3);
+
+        // Assert
+        assertEquals(2, top.size());
+        assertEquals("correoAdministrador", top.get(0).key());
+        assertEquals("FechaDefectoMaxima", top.get(1).key());
+        assertTrue(top.get(0).estimate() >= 100);
+    }
+
+    @Test
+    @DisplayName("Debería olvidar las ventanas que salen del anillo")
+    void shouldForgetExpiredWindows() {
+        // Arrange
+        WindowedHotKeySketch sketch = new WindowedHotKeySketch(2, 4, 256, 16);
+        sketch.record("MSG_OK");
+
+        // Act
+        sketch.rotate();
+        long afterOneRotation = sketch.topKeys(10, 2).get(0).estimate();
+        sketch.rotate();
+
+        // Assert
+        assertEquals(1, afterOneRotation);
+        assertTrue(sketch.topKeys(10, 2).isEmpty());
+    }
+}
@@ -0,0 +1,144 @@
+package co.edu.uco.parameterservices.catalog.support;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import co.edu.uco.parameterservices.catalog.parameter.domain.Parameter;
+import co.edu.uco.parameterservices.config.CatalogProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Tests para WriteBehindJournal")
+class WriteBehindJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private ValueOperations<String, Object> valueOperations;
+    private CatalogProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        doReturn(new GenericJackson2JsonRedisSerializer()).when(redisTemplate).getValueSerializer();
+        properties = new CatalogProperties();
+        properties.getJournal().setPath(directory.resolve("journal.ndjson").toString());
+        properties.getJournal().setFsync(false);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Debería conservar solo la última escritura por clave y sobrevivir a un reinicio")
+    void shouldCoalesceAndReloadPendingWrites() {
+        // Arrange
+        WriteBehindJournal journal = newJournal();
+        journal.set("parameters", "parameter:a", new Parameter("a", "1"), Duration.ofMinutes(10));
+        journal.set("parameters", "parameter:a", new Parameter("a", "2"), Duration.ofMinutes(10));
+        journal.delete("parameters", "parameter:b");
+
+        // Act
+        WriteBehindJournal restarted = newJournal();
+
+        // Assert
+        assertEquals(2, journal.depth());
+        assertEquals(2, restarted.depth());
+        assertEquals(2.0, meterRegistry.get("catalog.journal.depth").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Debería reenviar lo pendiente cuando Redis vuelve y vaciar el archivo")
+    @SuppressWarnings("unchecked")
+    void shouldReplayWhenRedisRecovers() {
+        // Arrange
+        WriteBehindJournal journal = newJournal();
+        journal.set("parameters", "parameter:a", new Parameter("a", "1"), Duration.ofMinutes(10));
+        journal.set("parameters", "parameter:b", new Parameter("b", "2"), Duration.ofMinutes(10));
+        when(redisTemplate.execute(any(RedisScript.class), any(), any(), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("caído"))
+                .thenReturn(0L);
+
+        // Act
+        int whileDown = journal.replay();
+        int afterRecovery = journal.replay();
+
+        // Assert
+        assertEquals(0, whileDown);
+        assertEquals(2, afterRecovery);
+        assertEquals(0, journal.depth());
+        assertFalse(Files.exists(directory.resolve("journal.ndjson")));
+    }
+
+    @Test
+    @DisplayName("Debería descartar lo pendiente de una clave escrita luego directamente en Redis")
+    void shouldDropSupersededWrites() {
+        // Arrange
+        WriteBehindJournal journal = newJournal();
+        journal.set("parameters", "parameter:a", new Parameter("a", "1"), Duration.ofMinutes(10));
+
+        // Act
+        journal.written("parameter:a");
+        boolean fileKeptUntilReplay = Files.exists(directory.resolve("journal.ndjson"));
+        journal.replay();
+
+        // Assert
+        assertEquals(0, journal.depth());
+        assertTrue(fileKeptUntilReplay);
+        assertEquals(0, newJournal().depth());
+        verify(valueOperations).set(eq(WriteBehindJournal.WRITTEN_AT_PREFIX + "parameter:a"), anyLong(),
+                eq(properties.getJournal().getStampTtl()));
+    }
+
+    @Test
+    @DisplayName("Debería omitir al reenviar las escrituras más viejas que lo que otra réplica dejó en Redis")
+    @SuppressWarnings("unchecked")
+    void shouldSkipEntriesOlderThanRedis() {
+        // Arrange
+        WriteBehindJournal journal = newJournal();
+        journal.set("parameters", "parameter:a", new Parameter("a", "viejo"), Duration.ofMinutes(10));
+        journal.set("parameters", "parameter:b", new Parameter("b", "2"), Duration.ofMinutes(10));
+        when(redisTemplate.execute(any(RedisScript.class), any(), any(), anyList(), any(Object[].class)))
+                .thenReturn(1L);
+
+        // Act
+        int replayed = journal.replay();
+
+        // Assert
+        assertEquals(1, replayed);
+        assertEquals(0, journal.depth());
+        assertEquals(1.0, meterRegistry.get("catalog.journal.superseded").counter().count());
+        verify(redisTemplate).execute(eq(WriteBehindJournal.REPLAY_SCRIPT), any(), any(),
+                eq(List.of("parameter:a", "parameter:b",
+                        WriteBehindJournal.WRITTEN_AT_PREFIX + "parameter:a",
+                        WriteBehindJournal.WRITTEN_AT_PREFIX + "parameter:b",
+                        CatalogVersion.KEY_PREFIX + "parameters")),
+                any(Object[].class));
+    }
+
+    private WriteBehindJournal newJournal() {
+        return new WriteBehindJournal(redisTemplate, new ObjectMapper(), properties, meterRegistry);
+    }
+}
@@ -0,0 +1,99 @@
+package co.edu.uco.parameterservices.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para AdaptiveConcurrencyLimit")
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private final AtomicLong clock = new AtomicLong();
+    private CatalogProperties.ConcurrencyLimit settings;
+
+    @BeforeEach
+    void setUp() {
+        settings = new CatalogProperties.ConcurrencyLimit();
+        settings.setWarmupSamples(0);
+    }
+
+    @Test
+    @DisplayName("Debería rechazar sin esperar cuando las peticiones en curso alcanzan el límite")
+    void shouldRejectAtLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = limit(2, 1, 10);
+
+        // Act
+        OptionalLong first = limit.tryAcquire();
+        OptionalLong second = limit.tryAcquire();
+        OptionalLong third = limit.tryAcquire();
+
+        // Assert
+        assertTrue(first.isPresent());
+        assertTrue(second.isPresent());
+        assertTrue(third.isEmpty());
+        assertEquals(2, limit.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Debería crecer con latencias normales y reducirse cuando la latencia se dispara")
+    void shouldIncreaseThenBackOff() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = limit(4, 2, 100);
+
+        // Act
+        for (int i = 0; i < 200; i++) {
+            completeBatch(limit, 10 * MILLIS);
+        }
+        int grown = limit.getLimit();
+        for (int i = 0; i < 20; i++) {
+            completeBatch(limit, 200 * MILLIS);
+        }
+
+        // Assert
+        assertTrue(grown > 4, "el límite debería crecer: " + grown);
+        assertTrue(limit.getLimit() < grown, "el límite debería bajar: " + limit.getLimit());
+        assertTrue(limit.getLimit() >= 2);
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Debería conceder permisos aunque nanoTime sea negativo")
+    void shouldAcquireWithNegativeClock() {
+        // Arrange
+        clock.set(-5_000 * MILLIS);
+        AdaptiveConcurrencyLimit limit = limit(1, 1, 10);
+
+        // Act
+        OptionalLong start = limit.tryAcquire();
+        clock.addAndGet(10 * MILLIS);
+        limit.release(start.orElseThrow());
+
+        // Assert
+        assertEquals(-5_000 * MILLIS, start.getAsLong());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    private AdaptiveConcurrencyLimit limit(int initial, int min, int max) {
+        return new AdaptiveConcurrencyLimit(new CatalogProperties.Limiter(initial, min, max), settings, clock::get);
+    }
+
+    // Ocupa todo el límite y completa las peticiones tras la latencia indicada
+    private void completeBatch(AdaptiveConcurrencyLimit limit, long latencyNanos) {
+        int permits = limit.getLimit();
+        long[] starts = new long[permits];
+        for (int i = 0; i < permits; i++) {
+            starts[i] = limit.tryAcquire().orElseThrow();
+        }
+        clock.addAndGet(latencyNanos);
+        for (long start : starts) {
+            limit.release(start);
+        }
+    }
+}
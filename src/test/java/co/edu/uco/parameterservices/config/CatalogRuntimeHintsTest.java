@@ -0,0 +1,30 @@
+package co.edu.uco.parameterservices.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para CatalogRuntimeHints")
+class CatalogRuntimeHintsTest {
+
+    @Test
+    @DisplayName("Debería registrar reflexión para los tipos guardados en Redis y el journal")
+    void shouldRegisterReflectionForStoredTypes() {
+        // Arrange
+        RuntimeHints hints = new RuntimeHints();
+
+        // Act
+        new CatalogRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Assert
+        for (Class<?> type : CatalogRuntimeHints.STORED_TYPES) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(type).test(hints), type.getName());
+        }
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of(CatalogRuntimeHints.JOURNAL_ENTRY)).test(hints));
+    }
+}
@@ -0,0 +1,74 @@
+package co.edu.uco.parameterservices.sender;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import co.edu.uco.parameterservices.catalog.notification.domain.NotificationTemplate;
+import co.edu.uco.parameterservices.config.CatalogProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Tests para DigestCoalescer")
+class DigestCoalescerTest {
+
+    @Test
+    @DisplayName("Debería renderizar los envíos agrupados escapando HTML e indicar los omitidos")
+    void shouldRenderDigestVariables() {
+        // Arrange
+        Map<String, String> first = new LinkedHashMap<>();
+        first.put("errorMessage", "<timeout>");
+        first.put("userId", "7");
+        DigestCoalescer.Digest digest = new DigestCoalescer.Digest(ScheduledSend.EMAIL, "ERROR_NOTIFICATION",
+                "admin@uco.edu.co", 5, List.of(
+                        new DigestCoalescer.Item(Instant.parse("2026-10-19T08:00:00Z"), first),
+                        new DigestCoalescer.Item(Instant.parse("2026-10-19T08:01:00Z"), Map.of("userId", "8"))),
+                "1|EMAIL|ERROR_NOTIFICATION|admin@uco.edu.co", 0);
+
+        // Act
+        Map<String, String> variables = DigestCoalescer.variables(digest, true);
+
+        // Assert
+        assertEquals("5", variables.get("count"));
+        assertEquals("<li>errorMessage: &lt;timeout&gt;, userId: 7</li><li>userId: 8</li>", variables.get("items"));
+        assertEquals("2026-10-19T08:00:00Z", variables.get("firstAt"));
+        assertEquals("2026-10-19T08:01:00Z", variables.get("lastAt"));
+        assertEquals("<p>... y 3 más</p>", variables.get("omitted"));
+    }
+
+    @Test
+    @DisplayName("Debería enviar sin agrupar si Redis no está disponible")
+    @SuppressWarnings("unchecked")
+    void shouldNotHoldSendsWhenRedisIsDown() {
+        // Arrange
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        DigestCoalescer coalescer = new DigestCoalescer(redisTemplate,
+                new ObjectMapper().registerModule(new JavaTimeModule()), new CatalogProperties(),
+                new SimpleMeterRegistry());
+        NotificationTemplate template = new NotificationTemplate("ERROR_NOTIFICATION", "EMAIL", "s", "b", "HTML");
+        template.setDigestWindowSeconds(300);
+        template.setDigestTemplate("ERROR_DIGEST");
+
+        // Act
+        boolean absorbed = coalescer.absorb(ScheduledSend.EMAIL, "admin@uco.edu.co", template, Map.of());
+
+        // Assert
+        assertFalse(absorbed);
+    }
+}
@@ -0,0 +1,137 @@
+package co.edu.uco.parameterservices.sender;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import co.edu.uco.parameterservices.config.CatalogProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Tests para IdempotentSends")
+class IdempotentSendsTest {
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private ValueOperations<String, Object> valueOperations;
+    private IdempotentSends idempotentSends;
+    private final AtomicInteger sends = new AtomicInteger();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        idempotentSends = new IdempotentSends(redisTemplate, new CatalogProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Debería enviar una sola vez y repetir la respuesta original sin consultar Redis")
+    void shouldSendOnceAndReplayFromMemory() {
+        // Arrange
+        when(valueOperations.setIfAbsent(anyString(), any(), any(Duration.class))).thenReturn(true);
+
+        // Act
+        ResponseEntity<Map<String, String>> first = idempotentSends.execute("email", "k-1", "f", this::send);
+        ResponseEntity<Map<String, String>> retry = idempotentSends.execute("email", "k-1", "f", this::send);
+
+        // Assert
+        assertEquals(1, sends.get());
+        assertEquals(first.getBody(), retry.getBody());
+        assertEquals("true", retry.getHeaders().getFirst(IdempotentSends.REPLAYED_HEADER));
+        verify(valueOperations, never()).get(anyString());
+        verify(valueOperations).set(eq("idempotency:email:k-1"), any(IdempotencyRecord.class), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("Debería renovar el reclamo mientras un envío lento sigue en curso y dejar de hacerlo al terminar")
+    @SuppressWarnings("unchecked")
+    void shouldRenewClaimWhileSendIsSlow() throws Exception {
+        // Arrange
+        CatalogProperties properties = new CatalogProperties();
+        properties.getIdempotency().setInFlightTtl(Duration.ofMillis(150));
+        IdempotentSends slowSends = new IdempotentSends(redisTemplate, properties, new SimpleMeterRegistry());
+        when(valueOperations.setIfAbsent(anyString(), any(), any(Duration.class))).thenReturn(true);
+
+        // Act
+        slowSends.execute("sms", "k-3", "f", () -> {
+            sleep(400);
+            return send();
+        });
+        verify(redisTemplate, atLeastOnce()).expire("idempotency:sms:k-3", Duration.ofMillis(150));
+        clearInvocations(redisTemplate);
+        Thread.sleep(300);
+
+        // Assert
+        verify(redisTemplate, never()).expire(anyString(), any(Duration.class));
+        slowSends.shutdown();
+    }
+
+    @Test
+    @DisplayName("Debería repetir el resultado guardado por otra réplica y rechazar otro contenido")
+    void shouldReplayStoredResultAndRejectDifferentPayload() {
+        // Arrange
+        when(valueOperations.setIfAbsent(anyString(), any(), any(Duration.class))).thenReturn(false);
+        when(valueOperations.get("idempotency:sms:k-2"))
+                .thenReturn(new IdempotencyRecord("f", 200, Map.of("status", "success")));
+
+        // Act
+        ResponseEntity<Map<String, String>> retry = idempotentSends.execute("sms", "k-2", "f", this::send);
+        ResponseEntity<Map<String, String>> reused = idempotentSends.execute("sms", "k-2", "otra", this::send);
+
+        // Assert
+        assertEquals(0, sends.get());
+        assertEquals(HttpStatus.OK, retry.getStatusCode());
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, reused.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Debería calcular la misma huella sin importar el orden de las variables e incluir sendAt")
+    void shouldFingerprintCanonicalContent() {
+        // Arrange
+        Map<String, String> ordered = new LinkedHashMap<>();
+        ordered.put("nombre", "Ana");
+        ordered.put("curso", "Redes");
+        Map<String, String> reversed = new LinkedHashMap<>();
+        reversed.put("curso", "Redes");
+        reversed.put("nombre", "Ana");
+        Instant sendAt = Instant.parse("2026-10-20T08:00:00Z");
+
+        // Act
+        String first = IdempotentSends.fingerprint("ana@uco.edu.co", "WELCOME_EMAIL", ordered, sendAt);
+        String second = IdempotentSends.fingerprint("ana@uco.edu.co", "WELCOME_EMAIL", reversed, sendAt);
+        String later = IdempotentSends.fingerprint("ana@uco.edu.co", "WELCOME_EMAIL", ordered,
+                sendAt.plusSeconds(3600));
+
+        // Assert
+        assertEquals(first, second);
+        assertEquals(64, first.length());
+        assertNotEquals(first, later);
+    }
+
+    private ResponseEntity<Map<String, String>> send() {
+        return ResponseEntity.ok(Map.of("status", "success", "n", String.valueOf(sends.incrementAndGet())));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
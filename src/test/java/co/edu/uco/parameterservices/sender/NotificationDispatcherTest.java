@@ -0,0 +1,102 @@
+package co.edu.uco.parameterservices.sender;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import co.edu.uco.parameterservices.catalog.notification.domain.NotificationTemplate;
+import co.edu.uco.parameterservices.catalog.notification.service.NotificationService;
+import co.edu.uco.parameterservices.sender.sms.SmsRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Tests para NotificationDispatcher")
+class NotificationDispatcherTest {
+
+    @Test
+    @DisplayName("Debería confirmar solo los resúmenes entregados y reintentar los que fallaron")
+    void shouldAcknowledgeOnlyDeliveredDigests() {
+        // Arrange
+        NotificationService notificationService = mock(NotificationService.class);
+        EmailSenderService senderService = mock(EmailSenderService.class);
+        DigestCoalescer digests = mock(DigestCoalescer.class);
+        NotificationTemplate template = new NotificationTemplate("ERROR_NOTIFICATION", "EMAIL", "s", "b", "HTML");
+        template.setDigestWindowSeconds(300);
+        template.setDigestTemplate("ERROR_DIGEST");
+        when(notificationService.findByCode("ERROR_NOTIFICATION")).thenReturn(template);
+        when(notificationService.findByCode("ERROR_DIGEST"))
+                .thenReturn(new NotificationTemplate("ERROR_DIGEST", "EMAIL", "Resumen", "{items}", "HTML"));
+        when(notificationService.processTemplate(eq("ERROR_DIGEST"), any())).thenReturn("cuerpo");
+        doThrow(new IllegalStateException("SMTP caído")).when(senderService)
+                .sendEmail(eq("caido@uco.edu.co"), any(), any(), any());
+        DigestCoalescer.Digest failing = digest("1", "caido@uco.edu.co");
+        DigestCoalescer.Digest delivered = digest("2", "admin@uco.edu.co");
+        when(digests.claimDue()).thenReturn(List.of(failing, delivered));
+        NotificationDispatcher dispatcher = new NotificationDispatcher(notificationService, senderService, digests);
+
+        // Act
+        dispatcher.flushDigests();
+
+        // Assert
+        verify(digests).retry(failing);
+        verify(digests, never()).delivered(failing);
+        verify(digests).delivered(delivered);
+        verify(senderService).sendEmail(eq("admin@uco.edu.co"), any(), eq("cuerpo"), eq("HTML"));
+    }
+
+    @Test
+    @DisplayName("Debería rechazar un SMS con template inexistente sin enviarlo")
+    void shouldRejectSmsWithUnknownTemplate() {
+        // Arrange
+        NotificationService notificationService = mock(NotificationService.class);
+        EmailSenderService senderService = mock(EmailSenderService.class);
+        NotificationDispatcher dispatcher = new NotificationDispatcher(notificationService, senderService,
+                mock(DigestCoalescer.class));
+
+        // Act
+        ResponseEntity<Map<String, String>> response = dispatcher.deliverSms("3001234567", "NO_EXISTE", Map.of());
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(senderService, never()).sendSms(any(), any());
+    }
+
+    @Test
+    @DisplayName("Debería responder 4xx, y no 500, a un SMS demasiado largo o rechazado por el proveedor")
+    void shouldMapSmsClientErrorsTo4xx() {
+        // Arrange
+        NotificationService notificationService = mock(NotificationService.class);
+        EmailSenderService senderService = mock(EmailSenderService.class);
+        when(notificationService.findByCode("OTP"))
+                .thenReturn(new NotificationTemplate("OTP", "SMS", null, "Código {code}", "PLAIN_TEXT"));
+        when(notificationService.processTemplate(eq("OTP"), any())).thenReturn("Código 1234");
+        doThrow(new IllegalArgumentException("El SMS ocupa 12 segmentos; el máximo es 10"))
+                .when(senderService).sendSms(eq("3000000001"), any());
+        doThrow(new SmsRejectedException("SMS rechazado por http: número inválido"))
+                .when(senderService).sendSms(eq("3000000002"), any());
+        NotificationDispatcher dispatcher = new NotificationDispatcher(notificationService, senderService,
+                mock(DigestCoalescer.class));
+
+        // Act
+        ResponseEntity<Map<String, String>> tooLong = dispatcher.deliverSms("3000000001", "OTP", Map.of());
+        ResponseEntity<Map<String, String>> rejected = dispatcher.deliverSms("3000000002", "OTP", Map.of());
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, tooLong.getStatusCode());
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, rejected.getStatusCode());
+    }
+
+    private static DigestCoalescer.Digest digest(String sequence, String to) {
+        return new DigestCoalescer.Digest(ScheduledSend.EMAIL, "ERROR_NOTIFICATION", to, 1,
+                List.of(new DigestCoalescer.Item(Instant.parse("2026-10-19T08:00:00Z"), Map.of("userId", "7"))),
+                sequence + "|email|ERROR_NOTIFICATION|" + to, 0);
+    }
+}
@@ -0,0 +1,178 @@
+package co.edu.uco.parameterservices.sender;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import co.edu.uco.parameterservices.catalog.notification.NotificationCatalog;
+import co.edu.uco.parameterservices.catalog.support.CatalogObservations;
+import co.edu.uco.parameterservices.catalog.support.HedgedReads;
+import co.edu.uco.parameterservices.catalog.support.HotKeyTelemetry;
+import co.edu.uco.parameterservices.catalog.support.KnownKeys;
+import co.edu.uco.parameterservices.catalog.support.WriteBehindJournal;
+import co.edu.uco.parameterservices.config.CatalogProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Tests para ScheduledSendQueue")
+class ScheduledSendQueueTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-19T08:00:00Z");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private StringRedisTemplate redisTemplate;
+    private NotificationDispatcher dispatcher;
+    private SimpleMeterRegistry meterRegistry;
+    private ScheduledSendQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        dispatcher = mock(NotificationDispatcher.class);
+        meterRegistry = new SimpleMeterRegistry();
+        queue = new ScheduledSendQueue(redisTemplate, objectMapper, dispatcher, new CatalogProperties(),
+                meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Debería entregar lo reclamado, reprogramar lo que falló y contar aparte lo rechazado")
+    @SuppressWarnings("unchecked")
+    void shouldDeliverClaimedSendsAndRetryFailures() throws Exception {
+        // Arrange
+        ScheduledSend email = new ScheduledSend("a", ScheduledSend.EMAIL, NOW, "ana@uco.edu.co", "WELCOME", Map.of(), 0);
+        ScheduledSend sms = new ScheduledSend("b", ScheduledSend.SMS, NOW, "3001234567", "OTP", Map.of(), 0);
+        ScheduledSend unknown = new ScheduledSend("c", ScheduledSend.EMAIL, NOW, "ana@uco.edu.co", "NO_EXISTE",
+                Map.of(), 0);
+        claims("a", email, "b", sms, "c", unknown);
+        leaseHeldFor("a", "b", "c");
+        when(dispatcher.deliverEmail(any(), eq("WELCOME"), any())).thenReturn(ResponseEntity.ok(Map.of()));
+        when(dispatcher.deliverEmail(any(), eq("NO_EXISTE"), any()))
+                .thenReturn(ResponseEntity.status(404).body(Map.of("error", "Template no encontrado")));
+        when(dispatcher.deliverSms(any(), any(), any())).thenReturn(ResponseEntity.internalServerError().build());
+
+        // Act
+        int claimed = queue.deliverDue();
+
+        // Assert
+        assertEquals(3, claimed);
+        verify(dispatcher).deliverEmail("ana@uco.edu.co", "WELCOME", Map.of());
+        verify(dispatcher).deliverSms("3001234567", "OTP", Map.of());
+        verify(redisTemplate, times(3)).executePipelined(any(SessionCallback.class));
+        assertEquals(1.0, meterRegistry.get("notification.scheduled").tag("outcome", "sent").counter().count());
+        assertEquals(1.0, meterRegistry.get("notification.scheduled").tag("outcome", "retried").counter().count());
+        assertEquals(1.0, meterRegistry.get("notification.scheduled").tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Debería confirmar cada envío al entregarlo y omitir los que ya perdieron su lease")
+    @SuppressWarnings("unchecked")
+    void shouldAcknowledgeEachSendAndSkipExpiredLeases() throws Exception {
+        // Arrange
+        ScheduledSend first = new ScheduledSend("a", ScheduledSend.EMAIL, NOW, "ana@uco.edu.co", "WELCOME",
+                Map.of(), 0);
+        ScheduledSend expired = new ScheduledSend("b", ScheduledSend.EMAIL, NOW, "luis@uco.edu.co", "WELCOME",
+                Map.of(), 0);
+        claims("a", first, "b", expired);
+        leaseHeldFor("a");
+        when(dispatcher.deliverEmail(any(), any(), any())).thenReturn(ResponseEntity.ok(Map.of()));
+
+        // Act
+        int claimed = queue.deliverDue();
+
+        // Assert
+        assertEquals(2, claimed);
+        verify(dispatcher).deliverEmail("ana@uco.edu.co", "WELCOME", Map.of());
+        verify(dispatcher, never()).deliverEmail(eq("luis@uco.edu.co"), any(), any());
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+        assertEquals(1.0, meterRegistry.get("notification.scheduled").tag("outcome", "expired").counter().count());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar envíos más allá del horizonte permitido")
+    void shouldRejectSendsBeyondHorizon() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> queue.schedule(ScheduledSend.EMAIL,
+                NOW.plusSeconds(400L * 24 * 3600), "ana@uco.edu.co", "WELCOME", Map.of()));
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Debería conservar envíos programados y resúmenes al limpiar el catálogo de notificaciones")
+    @SuppressWarnings("unchecked")
+    void shouldSurviveNotificationCatalogClear() {
+        // Arrange
+        RedisTemplate<String, Object> catalogRedis = mock(RedisTemplate.class);
+        Set<String> pending = Set.of(ScheduledSendQueue.DUE_KEY, ScheduledSendQueue.PROCESSING_KEY,
+                ScheduledSendQueue.PAYLOAD_KEY, DigestCoalescer.DUE_KEY, DigestCoalescer.OPEN_PREFIX + "m",
+                DigestCoalescer.ITEMS_PREFIX + "m", DigestCoalescer.COUNT_PREFIX + "m");
+        Set<String> stored = new HashSet<>(pending);
+        stored.add("notification:WELCOME_EMAIL");
+        when(catalogRedis.keys(anyString())).thenAnswer(invocation -> {
+            String prefix = invocation.getArgument(0, String.class).replace("*", "");
+            return stored.stream().filter(key -> key.startsWith(prefix)).collect(Collectors.toSet());
+        });
+        when(catalogRedis.delete(anyCollection())).thenAnswer(invocation -> {
+            stored.removeAll(invocation.getArgument(0, Collection.class));
+            return 1L;
+        });
+        CatalogProperties properties = new CatalogProperties();
+        NotificationCatalog catalog = new NotificationCatalog(catalogRedis, properties, new HotKeyTelemetry(properties),
+                mock(WriteBehindJournal.class), new CatalogObservations(ObservationRegistry.NOOP, properties),
+                new HedgedReads(properties, new SimpleMeterRegistry()), new KnownKeys(properties, meterRegistry));
+
+        // Act
+        catalog.clearAll();
+
+        // Assert
+        assertFalse(stored.contains("notification:WELCOME_EMAIL"));
+        assertTrue(stored.containsAll(pending));
+    }
+
+    /**
+     * El script de reclamo devuelve esos envíos (id, envío, id, envío...)
+     */
+    private void claims(Object... idsAndSends) throws Exception {
+        List<String> claimed = new ArrayList<>();
+        for (int i = 0; i < idsAndSends.length; i += 2) {
+            claimed.add((String) idsAndSends[i]);
+            claimed.add(objectMapper.writeValueAsString(idsAndSends[i + 1]));
+        }
+        doReturn(claimed).when(redisTemplate)
+                .execute(eq(ScheduledSendQueue.CLAIM_SCRIPT), anyList(), any(), any(), any());
+    }
+
+    /**
+     * La renovación del lease tiene éxito solo para esos ids
+     */
+    private void leaseHeldFor(String... ids) {
+        Set<String> held = Set.of(ids);
+        doAnswer(invocation -> held.contains(invocation.getArgument(2, String.class)) ? 1L : 0L)
+                .when(redisTemplate)
+                .execute(eq(ScheduledSendQueue.RENEW_SCRIPT), anyList(), any(), any(), any());
+    }
+}
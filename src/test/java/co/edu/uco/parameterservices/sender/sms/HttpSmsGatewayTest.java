@@ -0,0 +1,97 @@
+package co.edu.uco.parameterservices.sender.sms;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import co.edu.uco.parameterservices.config.CatalogProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para HttpSmsGateway")
+class HttpSmsGatewayTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<JsonNode> batches = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private HttpSmsGateway gateway;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/sms/messages/batch", this::acceptBatch);
+        server.start();
+
+        CatalogProperties.Sms settings = new CatalogProperties.Sms();
+        settings.setProvider("stand-in");
+        settings.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/sms");
+        settings.setBatchSize(5);
+        settings.setLinger(Duration.ofMillis(50));
+        meterRegistry = new SimpleMeterRegistry();
+        gateway = new HttpSmsGateway(settings, objectMapper, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        gateway.close();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Debería agrupar los envíos en lotes del proveedor y enviar los textos segmentados")
+    void shouldSubmitBatchesWithSegmentedMessages() throws Exception {
+        // Arrange
+        List<SmsMessage> messages = IntStream.range(0, 10)
+                .mapToObj(i -> new SmsMessage("30000000" + i, i == 0 ? "x".repeat(200) : "Código " + i))
+                .toList();
+
+        // Act
+        List<SmsResult> results = gateway.sendAll(messages).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(10, results.size());
+        assertTrue(results.stream().allMatch(SmsResult::accepted));
+        assertEquals(2, results.get(0).segments());
+        assertEquals(2, batches.size());
+        // Los dos lotes salen en paralelo: el primero puede llegar después del segundo
+        JsonNode first = batches.stream()
+                .filter(batch -> "300000000".equals(batch.path("messages").path(0).path("to").asText()))
+                .findFirst().orElseThrow();
+        assertEquals(5, first.path("messages").size());
+        assertEquals("GSM7", first.path("messages").path(0).path("encoding").asText());
+        assertEquals(153, first.path("messages").path(0).path("parts").path(0).asText().length());
+        assertEquals(11.0, meterRegistry.get("sms.gateway.segments").tag("provider", "stand-in").counter().count());
+        assertEquals(2, meterRegistry.get("sms.gateway.latency").tag("kind", "batch").timer().count());
+    }
+
+    private void acceptBatch(HttpExchange exchange) throws IOException {
+        JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+        batches.add(request);
+        StringBuilder results = new StringBuilder("{\"results\":[");
+        for (int i = 0; i < request.path("messages").size(); i++) {
+            results.append(i == 0 ? "" : ",").append("{\"id\":\"m").append(i).append("\",\"status\":\"accepted\"}");
+        }
+        byte[] body = results.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+}
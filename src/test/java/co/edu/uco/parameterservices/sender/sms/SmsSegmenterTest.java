@@ -0,0 +1,42 @@
+package co.edu.uco.parameterservices.sender.sms;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests para SmsSegmenter")
+class SmsSegmenterTest {
+
+    @Test
+    @DisplayName("Debería contar los caracteres de extensión GSM como dos septetos sin partir el escape")
+    void shouldSegmentGsm7WithExtensionCharacters() {
+        // Arrange
+        String text = "a".repeat(152) + "€" + "b".repeat(10);
+
+        // Act
+        SmsSegmenter.Segmentation segmentation = SmsSegmenter.split(text);
+
+        // Assert
+        assertEquals(SmsSegmenter.Encoding.GSM7, segmentation.encoding());
+        assertEquals(2, segmentation.segments());
+        assertEquals("a".repeat(152), segmentation.parts().get(0));
+        assertEquals(text, String.join("", segmentation.parts()));
+    }
+
+    @Test
+    @DisplayName("Debería usar UCS-2 con emojis sin partir pares sustitutos")
+    void shouldSegmentUcs2WithoutSplittingSurrogates() {
+        // Arrange
+        String text = "x".repeat(66) + "😀" + "y".repeat(10);
+
+        // Act
+        SmsSegmenter.Segmentation segmentation = SmsSegmenter.split(text);
+
+        // Assert
+        assertEquals(SmsSegmenter.Encoding.UCS2, segmentation.encoding());
+        assertEquals(2, segmentation.segments());
+        assertEquals(66, segmentation.parts().get(0).length());
+        assertTrue(segmentation.parts().get(1).startsWith("😀"));
+    }
+}